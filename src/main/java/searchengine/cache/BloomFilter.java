@@ -0,0 +1,57 @@
+package searchengine.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        long optimalBits = (long) Math.ceil(-Math.max(expectedEntries, 1) * Math.log(falsePositiveRate)
+                / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / Math.max(expectedEntries, 1) * Math.log(2)));
+    }
+
+    public boolean mightContain(long fingerprint) {
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32);
+
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+
+        return true;
+    }
+
+    public boolean put(long fingerprint) {
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32);
+        boolean changed = false;
+
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            long mask = 1L << bit;
+            long previous = bits.getAndAccumulate((int) (bit >>> 6), mask, (current, m) -> current | m);
+            changed |= (previous & mask) == 0;
+        }
+
+        return changed;
+    }
+
+    public long getMemoryBytes() {
+        return bitCount / 8;
+    }
+
+    private long bitIndex(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+}
@@ -0,0 +1,66 @@
+package searchengine.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.DedupSettings;
+import searchengine.dto.metrics.DedupMetrics;
+import searchengine.utils.workers.HashWorker;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class DuplicateCache {
+
+    private final Map<Integer, SimHashIndex> vault = new ConcurrentHashMap<>();
+
+    private final DedupSettings settings;
+
+    @Autowired
+    public DuplicateCache(DedupSettings settings) {
+        this.settings = settings;
+    }
+
+    public Long fingerprint(Map<String, Integer> lemmas) {
+        if (!settings.isEnabled() || lemmas == null || lemmas.size() < settings.getMinLemmas()) return null;
+
+        return HashWorker.simHash(lemmas);
+    }
+
+    public SimHashIndex.Entry claim(int siteId, String path, long simHash) {
+        return getSiteIndex(siteId).claim(path, simHash);
+    }
+
+    public void register(int siteId, String path, long simHash) {
+        getSiteIndex(siteId).add(path, simHash);
+    }
+
+    public void clearSite(int siteId) {
+        vault.remove(siteId);
+    }
+
+    public void clearCache() {
+        vault.clear();
+    }
+
+    public List<DedupMetrics> getMetrics() {
+        return vault.entrySet().stream()
+                .map(e -> {
+                    SimHashIndex index = e.getValue();
+                    DedupMetrics metrics = new DedupMetrics();
+                    metrics.setSiteId(e.getKey());
+                    metrics.setFingerprints(index.size());
+                    metrics.setCheckedPages(index.getChecked());
+                    metrics.setDuplicatePages(index.getDuplicates());
+                    metrics.setDuplicateRatio(index.getChecked() == 0 ? 0 :
+                            (double) index.getDuplicates() / index.getChecked());
+
+                    return metrics;
+                }).toList();
+    }
+
+    private SimHashIndex getSiteIndex(int siteId) {
+        return vault.computeIfAbsent(siteId, id -> new SimHashIndex(settings.getMaxDistance()));
+    }
+}
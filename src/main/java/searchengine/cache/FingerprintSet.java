@@ -0,0 +1,147 @@
+package searchengine.cache;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+public class FingerprintSet {
+
+    private static final int STRIPES = 16;
+
+    private static final int INITIAL_STRIPE_CAPACITY = 1024;
+
+    private static final long EMPTY = 0L;
+
+    private static final long ZERO_SUBSTITUTE = 0x9E3779B97F4A7C15L;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final MemoryBudget budget;
+
+    private volatile boolean overflowed;
+
+    public FingerprintSet(MemoryBudget budget) {
+        this.budget = budget;
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    public AddResult add(long fingerprint, BloomFilter overflow) {
+        long key = fingerprint == EMPTY ? ZERO_SUBSTITUTE : fingerprint;
+        Stripe stripe = stripes[(int) (key >>> 60) & (STRIPES - 1)];
+
+        stripe.lock.lock();
+        try {
+            if (stripe.overflowed && overflow.mightContain(fingerprint)) return AddResult.PRESENT;
+
+            AddResult result = stripe.add(key, budget);
+            if (result != AddResult.NO_CAPACITY) return result;
+
+            stripe.overflowed = true;
+            overflowed = true;
+
+            return overflow.put(fingerprint) ? AddResult.ADDED_APPROXIMATELY : AddResult.PRESENT;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public boolean contains(long fingerprint) {
+        long key = fingerprint == EMPTY ? ZERO_SUBSTITUTE : fingerprint;
+        Stripe stripe = stripes[(int) (key >>> 60) & (STRIPES - 1)];
+
+        stripe.lock.lock();
+        try {
+            return stripe.contains(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) size += stripe.size;
+
+        return size;
+    }
+
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) bytes += stripe.table == null ? 0 : (long) stripe.table.length * Long.BYTES;
+
+        return bytes;
+    }
+
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    public void release() {
+        budget.release(getMemoryBytes());
+        for (Stripe stripe : stripes) {
+            stripe.table = null;
+            stripe.size = 0;
+        }
+    }
+
+    public enum AddResult {
+        ADDED,
+        ADDED_APPROXIMATELY,
+        PRESENT,
+        NO_CAPACITY
+    }
+
+    private static class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private long[] table;
+
+        private int size;
+
+        private boolean overflowed;
+
+        private AddResult add(long key, MemoryBudget budget) {
+            if (table == null) {
+                if (!budget.tryReserve((long) INITIAL_STRIPE_CAPACITY * Long.BYTES)) return AddResult.NO_CAPACITY;
+                table = new long[INITIAL_STRIPE_CAPACITY];
+            }
+
+            int slot = findSlot(table, key);
+            if (table[slot] == key) return AddResult.PRESENT;
+
+            if ((size + 1) * 4L > table.length * 3L) {
+                if (!grow(budget)) return AddResult.NO_CAPACITY;
+                slot = findSlot(table, key);
+            }
+
+            table[slot] = key;
+            size++;
+
+            return AddResult.ADDED;
+        }
+
+        private boolean contains(long key) {
+            return table != null && table[findSlot(table, key)] == key;
+        }
+
+        private boolean grow(MemoryBudget budget) {
+            long[] oldTable = table;
+            if (!budget.tryReserve((long) oldTable.length * 2 * Long.BYTES)) return false;
+
+            long[] newTable = new long[oldTable.length * 2];
+            for (long key : oldTable) {
+                if (key != EMPTY) newTable[findSlot(newTable, key)] = key;
+            }
+            table = newTable;
+            budget.release((long) oldTable.length * Long.BYTES);
+
+            return true;
+        }
+
+        private static int findSlot(long[] table, long key) {
+            int mask = table.length - 1;
+            int slot = (int) (key ^ (key >>> 29)) & mask;
+            while (table[slot] != EMPTY && table[slot] != key) slot = (slot + 1) & mask;
+
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package searchengine.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.DictionarySettings;
+import searchengine.config.PipelineSettings;
+import searchengine.dto.metrics.DictionaryMetrics;
+import searchengine.repositories.LemmaRepository;
+import searchengine.utils.workers.TransactionWorker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class LemmaCache {
+
+    private final Map<Integer, LemmaDictionary> vault = new ConcurrentHashMap<>();
+
+    private final LemmaRepository lemmaRepository;
+
+    private final DictionarySettings settings;
+
+    private final PipelineSettings pipelineSettings;
+
+    @Autowired
+    public LemmaCache(LemmaRepository lemmaRepository, DictionarySettings settings,
+                      PipelineSettings pipelineSettings) {
+        this.lemmaRepository = lemmaRepository;
+        this.settings = settings;
+        this.pipelineSettings = pipelineSettings;
+    }
+
+    public void open(int siteId) {
+        if (!settings.isEnabled()) return;
+
+        LemmaDictionary dictionary = new LemmaDictionary(lemmaRepository::allocateIds, settings.getIdBlockSize());
+        for (Object[] row : lemmaRepository.findIdsAndLemmasBySiteId(siteId)) {
+            dictionary.load(((Number) row[0]).intValue(), (String) row[1]);
+        }
+        vault.put(siteId, dictionary);
+    }
+
+    public void openBulk(int siteId) {
+        AtomicInteger nextStagedId = new AtomicInteger(1);
+        vault.put(siteId, new LemmaDictionary(nextStagedId::getAndAdd, settings.getIdBlockSize(), true));
+    }
+
+    public LemmaDictionary getDictionary(int siteId) {
+        return vault.get(siteId);
+    }
+
+    public void flush(int siteId) {
+        LemmaDictionary dictionary = vault.get(siteId);
+        if (dictionary != null) flush(dictionary);
+    }
+
+    public List<Integer> claimUnused(int siteId) {
+        LemmaDictionary dictionary = vault.get(siteId);
+        if (dictionary == null) return null;
+
+        List<Integer> ids = new ArrayList<>();
+        List<String> lemmas = new ArrayList<>();
+        for (Object[] row : lemmaRepository.findUnusedBySiteId(siteId)) {
+            String lemma = (String) row[1];
+            if (dictionary.hasPending(lemma)) continue;
+
+            ids.add(((Number) row[0]).intValue());
+            lemmas.add(lemma);
+        }
+        dictionary.evict(lemmas);
+
+        return ids;
+    }
+
+    public void evict(int siteId, List<String> lemmas) {
+        LemmaDictionary dictionary = vault.get(siteId);
+        if (dictionary != null) dictionary.evict(lemmas);
+    }
+
+    public void release(int siteId) {
+        LemmaDictionary dictionary = vault.remove(siteId);
+        if (dictionary != null) flush(dictionary);
+    }
+
+    public void discard(int siteId) {
+        vault.remove(siteId);
+    }
+
+    public void clearCache() {
+        vault.clear();
+    }
+
+    public List<DictionaryMetrics> getMetrics() {
+        return vault.entrySet().stream()
+                .map(e -> {
+                    LemmaDictionary dictionary = e.getValue();
+                    DictionaryMetrics metrics = new DictionaryMetrics();
+                    metrics.setSiteId(e.getKey());
+                    metrics.setSize(dictionary.size());
+                    metrics.setHits(dictionary.getHits());
+                    metrics.setMisses(dictionary.getMisses());
+                    metrics.setAllocatedBlocks(dictionary.getAllocatedBlocks());
+                    metrics.setPendingUpdates(dictionary.getPendingUpdates());
+                    metrics.setFlushes(dictionary.getFlushes());
+
+                    return metrics;
+                }).toList();
+    }
+
+    private void flush(LemmaDictionary dictionary) {
+        if (dictionary.isBulk()) return;
+
+        Map<LemmaDictionary.Entry, Integer> deltas = dictionary.drainPendingEntries();
+        if (deltas.isEmpty()) return;
+
+        TransactionWorker.onRollback(() -> deltas.forEach(dictionary::add));
+        List<String> rows = new ArrayList<>();
+        deltas.forEach((entry, delta) -> rows.add("[" + entry.getId() + "," + delta + "]"));
+
+        int batchSize = Math.max(1, pipelineSettings.getWriteBatchSize());
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            StringJoiner batch = new StringJoiner(",", "[", "]");
+            rows.subList(from, Math.min(rows.size(), from + batchSize)).forEach(batch::add);
+            lemmaRepository.addFrequencies(batch.toString());
+        }
+    }
+}
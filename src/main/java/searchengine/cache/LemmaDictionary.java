@@ -0,0 +1,202 @@
+package searchengine.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.IntUnaryOperator;
+
+public class LemmaDictionary {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Queue<Entry> dirty = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingUpdates = new AtomicInteger();
+
+    private final IntUnaryOperator blockAllocator;
+
+    private final int blockSize;
+
+    private final boolean bulk;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private int nextId;
+
+    private int blockEnd;
+
+    private long allocatedBlocks;
+
+    private long flushes;
+
+    public LemmaDictionary(IntUnaryOperator blockAllocator, int blockSize) {
+        this(blockAllocator, blockSize, false);
+    }
+
+    public LemmaDictionary(IntUnaryOperator blockAllocator, int blockSize, boolean bulk) {
+        this.blockAllocator = blockAllocator;
+        this.blockSize = Math.max(1, blockSize);
+        this.bulk = bulk;
+    }
+
+    public void load(int id, String lemma) {
+        Entry entry = new Entry(id);
+        entry.persisted = true;
+        entries.put(lemma, entry);
+    }
+
+    public Entry resolve(String lemma) {
+        Entry entry = entries.get(lemma);
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+
+        misses.increment();
+        Entry created = new Entry(allocateId());
+        created.persisted = bulk;
+        Entry existing = entries.putIfAbsent(lemma, created);
+
+        return existing == null ? created : existing;
+    }
+
+    public Integer getId(String lemma) {
+        Entry entry = entries.get(lemma);
+
+        return entry == null || !entry.persisted ? null : entry.id;
+    }
+
+    public void increment(Entry entry) {
+        add(entry, 1);
+    }
+
+    public void add(Entry entry, int delta) {
+        if (entry.pending.getAndAdd(delta) == 0) dirty.add(entry);
+        pendingUpdates.addAndGet(delta);
+    }
+
+    public boolean hasPending(String lemma) {
+        Entry entry = entries.get(lemma);
+
+        return entry != null && entry.pending.get() != 0;
+    }
+
+    public Map<Integer, Integer> drainPending() {
+        Map<Integer, Integer> deltas = new HashMap<>();
+        drainPendingEntries().forEach((entry, delta) -> deltas.merge(entry.id, delta, Integer::sum));
+
+        return deltas;
+    }
+
+    public Map<Entry, Integer> drainPendingEntries() {
+        Map<Entry, Integer> deltas = new HashMap<>();
+        Entry entry;
+        while ((entry = dirty.poll()) != null) {
+            int delta = entry.pending.getAndSet(0);
+            if (delta == 0) continue;
+
+            deltas.merge(entry, delta, Integer::sum);
+            pendingUpdates.addAndGet(-delta);
+        }
+        synchronized (this) {
+            if (!deltas.isEmpty()) flushes++;
+        }
+
+        return deltas;
+    }
+
+    public void forEach(BiConsumer<String, Entry> action) {
+        entries.forEach(action);
+    }
+
+    public void evict(Collection<String> lemmas) {
+        lemmas.forEach(entries::remove);
+    }
+
+    public boolean isBulk() {
+        return bulk;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getPendingUpdates() {
+        return pendingUpdates.get();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public synchronized long getAllocatedBlocks() {
+        return allocatedBlocks;
+    }
+
+    public synchronized long getFlushes() {
+        return flushes;
+    }
+
+    private int allocateId() {
+        synchronized (this) {
+            if (nextId < blockEnd) return nextId++;
+        }
+
+        int blockStart = blockAllocator.applyAsInt(blockSize);
+        synchronized (this) {
+            allocatedBlocks++;
+            if (nextId >= blockEnd) {
+                nextId = blockStart;
+                blockEnd = blockStart + blockSize;
+            }
+
+            return nextId++;
+        }
+    }
+
+    public static class Entry {
+
+        private volatile int id;
+
+        private volatile boolean persisted;
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Entry(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getPending() {
+            return pending.get();
+        }
+
+        public boolean isPersisted() {
+            return persisted;
+        }
+
+        public void persist(int id) {
+            this.id = id;
+            this.persisted = true;
+        }
+
+        public void unpersist() {
+            this.persisted = false;
+        }
+    }
+}
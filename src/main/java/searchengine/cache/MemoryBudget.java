@@ -0,0 +1,40 @@
+package searchengine.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MemoryBudget {
+
+    private final long limitBytes;
+
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    public MemoryBudget(long limitBytes) {
+        this.limitBytes = limitBytes;
+    }
+
+    public boolean tryReserve(long bytes) {
+        long used;
+        do {
+            used = usedBytes.get();
+            if (used + bytes > limitBytes) return false;
+        } while (!usedBytes.compareAndSet(used, used + bytes));
+
+        return true;
+    }
+
+    public void forceReserve(long bytes) {
+        usedBytes.addAndGet(bytes);
+    }
+
+    public void release(long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    public long getLimitBytes() {
+        return limitBytes;
+    }
+}
@@ -1,37 +1,83 @@
 package searchengine.cache;
 
-import java.util.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.VisitedCacheSettings;
+import searchengine.dto.metrics.VisitedCacheMetrics;
+import searchengine.utils.workers.UrlWorker;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
 public class PageCache {
 
-    private static final Map<Integer, Set<String>> vault = new HashMap<>();
+    private final Map<Integer, VisitedUrlSet> vault = new ConcurrentHashMap<>();
+
+    private final VisitedCacheSettings settings;
+
+    private final MemoryBudget budget;
+
+    @Autowired
+    public PageCache(VisitedCacheSettings settings) {
+        this.settings = settings;
+        this.budget = new MemoryBudget(settings.getMemoryBudget().toBytes());
+    }
+
+    public boolean claimPage(int siteId, String path) {
+        return claimPage(siteId, UrlWorker.getUrlFingerprint(path));
+    }
+
+    public boolean claimPage(int siteId, long fingerprint) {
+        return getSitePages(siteId).claim(fingerprint);
+    }
+
+    public boolean pageIndexed(int siteId, String path) {
+        return pageIndexed(siteId, UrlWorker.getUrlFingerprint(path));
+    }
+
+    public boolean pageIndexed(int siteId, long fingerprint) {
+        VisitedUrlSet sitePages = vault.get(siteId);
 
-    public static void addPageForSite(int siteId, String page) {
-        if (vault.containsKey(siteId)) {
-            Set<String> currentPages = vault.get(siteId);
-            currentPages.add(page);
-        } else {
-            Set<String> currentPages = new HashSet<>();
-            currentPages.add(page);
-            vault.put(siteId, currentPages);
-        }
+        return sitePages != null && sitePages.contains(fingerprint);
     }
 
-    public static Set<String> getSitePages(int siteId) {
-        return vault.get(siteId);
+    public void clearSitePagesCache(int siteId) {
+        VisitedUrlSet sitePages = vault.remove(siteId);
+        if (sitePages != null) sitePages.release(budget);
     }
 
-    public static boolean pageIndexed(int siteId, String path) {
-        if (!vault.containsKey(siteId)) return false;
+    public void clearCache() {
+        vault.keySet().forEach(this::clearSitePagesCache);
+    }
+
+    public List<VisitedCacheMetrics> getMetrics() {
+        return vault.entrySet().stream()
+                .map(e -> {
+                    VisitedUrlSet sitePages = e.getValue();
+                    VisitedCacheMetrics metrics = new VisitedCacheMetrics();
+                    metrics.setSiteId(e.getKey());
+                    metrics.setSize(sitePages.size());
+                    metrics.setHits(sitePages.getHits());
+                    metrics.setMisses(sitePages.getMisses());
+                    metrics.setMemoryBytes(sitePages.getMemoryBytes());
+                    metrics.setSaturated(sitePages.isSaturated());
+
+                    return metrics;
+                }).toList();
+    }
 
-        return vault.get(siteId).contains(path);
+    public long getMemoryBudgetUsed() {
+        return budget.getUsedBytes();
     }
 
-    public static void clearSitePagesCache(int siteId) {
-        vault.remove(siteId);
+    public long getMemoryBudgetLimit() {
+        return budget.getLimitBytes();
     }
 
-    public static void clearCache() {
-        vault.clear();
+    private VisitedUrlSet getSitePages(int siteId) {
+        return vault.computeIfAbsent(siteId, id -> new VisitedUrlSet(settings.getExpectedPagesPerSite(),
+                settings.getFalsePositiveRate(), budget));
     }
 }
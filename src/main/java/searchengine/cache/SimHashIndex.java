@@ -0,0 +1,108 @@
+package searchengine.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SimHashIndex {
+
+    private static final int MAX_BANDS = 8;
+
+    private final List<Map<Long, List<Entry>>> bandBuckets = new ArrayList<>();
+
+    private final int maxDistance;
+
+    private final int bands;
+
+    private final int bandBits;
+
+    private long size;
+
+    private long checked;
+
+    private long duplicates;
+
+    public SimHashIndex(int maxDistance) {
+        this.maxDistance = Math.max(0, Math.min(maxDistance, MAX_BANDS - 1));
+        this.bands = this.maxDistance + 1;
+        this.bandBits = Long.SIZE / bands;
+        for (int band = 0; band < bands; band++) bandBuckets.add(new HashMap<>());
+    }
+
+    public synchronized Entry claim(String path, long simHash) {
+        checked++;
+        Entry original = find(simHash);
+        if (original != null) {
+            duplicates++;
+            return original;
+        }
+
+        add(path, simHash);
+        return null;
+    }
+
+    public synchronized void add(String path, long simHash) {
+        Entry entry = new Entry(path, simHash);
+        for (int band = 0; band < bands; band++) {
+            bandBuckets.get(band).computeIfAbsent(bandValue(band, simHash), k -> new ArrayList<>(1)).add(entry);
+        }
+        size++;
+    }
+
+    public synchronized Entry find(long simHash) {
+        for (int band = 0; band < bands; band++) {
+            List<Entry> candidates = bandBuckets.get(band).get(bandValue(band, simHash));
+            if (candidates == null) continue;
+
+            for (Entry candidate : candidates) {
+                if (distance(candidate.simHash, simHash) <= maxDistance) return candidate;
+            }
+        }
+
+        return null;
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    public synchronized long getChecked() {
+        return checked;
+    }
+
+    public synchronized long getDuplicates() {
+        return duplicates;
+    }
+
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    private long bandValue(int band, long simHash) {
+        int shift = band * bandBits;
+        int bits = band == bands - 1 ? Long.SIZE - shift : bandBits;
+
+        return bits == Long.SIZE ? simHash : (simHash >>> shift) & ((1L << bits) - 1);
+    }
+
+    public static class Entry {
+
+        private final String path;
+
+        private final long simHash;
+
+        Entry(String path, long simHash) {
+            this.path = path;
+            this.simHash = simHash;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public long getSimHash() {
+            return simHash;
+        }
+    }
+}
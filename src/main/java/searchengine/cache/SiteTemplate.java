@@ -0,0 +1,74 @@
+package searchengine.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+public class SiteTemplate {
+
+    private final Map<Long, Integer> blockPages = new HashMap<>();
+
+    private final int warmupPages;
+
+    private final double templateShare;
+
+    private final int maxFingerprints;
+
+    private int pages;
+
+    private long keptChars;
+
+    private long removedChars;
+
+    public SiteTemplate(int warmupPages, double templateShare, int maxFingerprints) {
+        this.warmupPages = Math.max(1, warmupPages);
+        this.templateShare = templateShare;
+        this.maxFingerprints = Math.max(16, maxFingerprints);
+    }
+
+    public synchronized void learn(Collection<Long> fingerprints) {
+        pages++;
+        for (long fingerprint : new HashSet<>(fingerprints)) blockPages.merge(fingerprint, 1, Integer::sum);
+        if (blockPages.size() > maxFingerprints) prune();
+    }
+
+    public synchronized boolean isTemplate(long fingerprint) {
+        if (pages < warmupPages) return false;
+
+        return blockPages.getOrDefault(fingerprint, 0) >= Math.max(2, Math.ceil(templateShare * pages));
+    }
+
+    public synchronized void recordExtraction(long kept, long removed) {
+        keptChars += kept;
+        removedChars += removed;
+    }
+
+    public synchronized int getPages() {
+        return pages;
+    }
+
+    public synchronized int getTemplateBlocks() {
+        if (pages < warmupPages) return 0;
+
+        double threshold = Math.max(2, Math.ceil(templateShare * pages));
+        return (int) blockPages.values().stream().filter(count -> count >= threshold).count();
+    }
+
+    public synchronized long getKeptChars() {
+        return keptChars;
+    }
+
+    public synchronized long getRemovedChars() {
+        return removedChars;
+    }
+
+    private void prune() {
+        int minCount = 1;
+        while (blockPages.size() > maxFingerprints / 2) {
+            int limit = minCount;
+            blockPages.values().removeIf(count -> count <= limit);
+            minCount++;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package searchengine.cache;
+
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.BoilerplateSettings;
+import searchengine.dto.metrics.BoilerplateMetrics;
+import searchengine.utils.boilerplate.BlockSegmenter;
+import searchengine.utils.boilerplate.TextBlock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TemplateCache {
+
+    private final Map<Integer, SiteTemplate> vault = new ConcurrentHashMap<>();
+
+    private final BoilerplateSettings settings;
+
+    @Autowired
+    public TemplateCache(BoilerplateSettings settings) {
+        this.settings = settings;
+    }
+
+    public String extractMainText(int siteId, Document doc) {
+        if (doc == null) return "";
+        if (!settings.isEnabled()) return doc.text();
+
+        List<TextBlock> blocks = BlockSegmenter.segment(doc);
+        SiteTemplate template = getSiteTemplate(siteId);
+        template.learn(blocks.stream().map(TextBlock::getFingerprint).toList());
+
+        StringBuilder mainText = new StringBuilder(doc.title());
+        long removed = 0;
+        for (TextBlock block : blocks) {
+            if (isBoilerplate(template, block)) {
+                removed += block.getText().length();
+            } else {
+                mainText.append(' ').append(block.getText());
+            }
+        }
+        if (mainText.length() == doc.title().length()) return doc.text();
+
+        template.recordExtraction(mainText.length(), removed);
+        return mainText.toString();
+    }
+
+    public List<BoilerplateMetrics> getMetrics() {
+        return vault.entrySet().stream()
+                .map(e -> {
+                    SiteTemplate template = e.getValue();
+                    BoilerplateMetrics metrics = new BoilerplateMetrics();
+                    metrics.setSiteId(e.getKey());
+                    metrics.setPages(template.getPages());
+                    metrics.setTemplateBlocks(template.getTemplateBlocks());
+                    metrics.setKeptChars(template.getKeptChars());
+                    metrics.setRemovedChars(template.getRemovedChars());
+                    long total = template.getKeptChars() + template.getRemovedChars();
+                    metrics.setRemovedRatio(total == 0 ? 0 : (double) template.getRemovedChars() / total);
+
+                    return metrics;
+                }).toList();
+    }
+
+    private boolean isBoilerplate(SiteTemplate template, TextBlock block) {
+        return block.isSemantic() || block.getLinkDensity() > settings.getMaxLinkDensity() ||
+                template.isTemplate(block.getFingerprint());
+    }
+
+    private SiteTemplate getSiteTemplate(int siteId) {
+        return vault.computeIfAbsent(siteId, id -> new SiteTemplate(settings.getWarmupPages(),
+                settings.getTemplateShare(), settings.getMaxFingerprints()));
+    }
+}
@@ -0,0 +1,72 @@
+package searchengine.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class VisitedUrlSet {
+
+    private final BloomFilter filter;
+
+    private final FingerprintSet fingerprints;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong approximateClaims = new AtomicLong();
+
+    public VisitedUrlSet(int expectedEntries, double falsePositiveRate, MemoryBudget budget) {
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.fingerprints = new FingerprintSet(budget);
+        budget.forceReserve(filter.getMemoryBytes());
+    }
+
+    public boolean claim(long fingerprint) {
+        if (contains(fingerprint)) {
+            hits.incrementAndGet();
+            return false;
+        }
+
+        FingerprintSet.AddResult result = fingerprints.add(fingerprint, filter);
+        if (result == FingerprintSet.AddResult.PRESENT) {
+            hits.incrementAndGet();
+            return false;
+        }
+
+        if (result == FingerprintSet.AddResult.ADDED_APPROXIMATELY) {
+            approximateClaims.incrementAndGet();
+        } else {
+            filter.put(fingerprint);
+        }
+        misses.incrementAndGet();
+        return true;
+    }
+
+    public boolean contains(long fingerprint) {
+        return filter.mightContain(fingerprint) && (isSaturated() || fingerprints.contains(fingerprint));
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long size() {
+        return fingerprints.size() + approximateClaims.get();
+    }
+
+    public long getMemoryBytes() {
+        return filter.getMemoryBytes() + fingerprints.getMemoryBytes();
+    }
+
+    public boolean isSaturated() {
+        return fingerprints.isOverflowed();
+    }
+
+    public void release(MemoryBudget budget) {
+        fingerprints.release();
+        budget.release(filter.getMemoryBytes());
+    }
+}
@@ -0,0 +1,22 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.archive")
+public class ArchiveSettings {
+
+    private boolean enabled = false;
+
+    private String directory = "archive";
+
+    private DataSize maxSegmentSize = DataSize.ofGigabytes(1);
+
+    private int replayParallelism = Runtime.getRuntime().availableProcessors();
+}
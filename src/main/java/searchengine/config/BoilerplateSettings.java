@@ -0,0 +1,23 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.boilerplate")
+public class BoilerplateSettings {
+
+    private boolean enabled = true;
+
+    private int warmupPages = 20;
+
+    private double templateShare = 0.3;
+
+    private double maxLinkDensity = 0.5;
+
+    private int maxFingerprints = 50_000;
+}
@@ -0,0 +1,35 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.breaker")
+public class BreakerSettings {
+
+    private boolean enabled = true;
+
+    private int failureThreshold = 5;
+
+    private long openDuration = 30_000;
+
+    private long maxOpenDuration = 600_000;
+
+    private int maxTrips = 4;
+
+    private long probeWait = 1_000;
+
+    private int maxRetries = 2;
+
+    private long retryBackoff = 500;
+
+    private long maxRetryBackoff = 10_000;
+
+    private double retryBudgetRatio = 0.1;
+
+    private int minRetries = 10;
+}
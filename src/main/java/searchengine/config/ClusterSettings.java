@@ -0,0 +1,21 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.cluster")
+public class ClusterSettings {
+
+    private boolean enabled = false;
+
+    private String nodeId = "";
+
+    private long leaseDuration = 30_000;
+
+    private long heartbeatInterval = 10_000;
+}
@@ -0,0 +1,19 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.content-store")
+public class ContentStoreSettings {
+
+    private int compressionLevel = 6;
+
+    private int orphanGraceMinutes = 60;
+
+    private int cacheSize = 256;
+}
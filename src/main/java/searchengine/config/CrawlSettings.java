@@ -0,0 +1,25 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.crawl")
+public class CrawlSettings {
+
+    private CrawlMode mode = CrawlMode.FORK_JOIN;
+
+    private int maxConcurrentFetches = 256;
+
+    private int maxConcurrentFetchesPerSite = 32;
+
+    private int frontierCapacity = 100_000;
+
+    private int maxDepth = 64;
+
+    private int maxPages = 500_000;
+}
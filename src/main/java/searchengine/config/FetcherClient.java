@@ -0,0 +1,6 @@
+package searchengine.config;
+
+public enum FetcherClient {
+    HTTP_CLIENT,
+    JSOUP,
+}
@@ -0,0 +1,30 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.fetcher")
+public class FetcherSettings {
+
+    private FetcherClient client = FetcherClient.HTTP_CLIENT;
+
+    private int connectTimeout = 5000;
+
+    private int readTimeout = 15000;
+
+    private boolean http2 = true;
+
+    private boolean compression = true;
+
+    private DataSize maxBodySize = DataSize.ofMegabytes(5);
+
+    private String userAgent = "Mozilla/5.0 (Windows; U; WindowsNT 5.1; en-US; rv1.8.1.6) Gecko/20070725 Firefox/2.0.0.6";
+
+    private String referrer = "https://www.google.com";
+}
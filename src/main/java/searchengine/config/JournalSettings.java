@@ -0,0 +1,23 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.journal")
+public class JournalSettings {
+
+    private boolean enabled = true;
+
+    private String directory = "journal";
+
+    private int syncBatchSize = 256;
+
+    private long syncInterval = 1_000;
+
+    private boolean resumeOnStartup = false;
+}
@@ -0,0 +1,25 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.pipeline")
+public class PipelineSettings {
+
+    private int parseParallelism = Runtime.getRuntime().availableProcessors();
+
+    private int lemmatizeParallelism = Runtime.getRuntime().availableProcessors();
+
+    private int persistParallelism = 4;
+
+    private int queueCapacity = 256;
+
+    private boolean batchedWrites = true;
+
+    private int writeBatchSize = 1000;
+}
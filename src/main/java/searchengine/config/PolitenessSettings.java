@@ -0,0 +1,25 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.politeness")
+public class PolitenessSettings {
+
+    private int defaultDelay = 500;
+
+    private int maxDelay = 30_000;
+
+    private int burst = 1;
+
+    private int slowResponseThreshold = 2_000;
+
+    private double rateIncrease = 0.1;
+
+    private double rateDecreaseFactor = 0.5;
+}
@@ -0,0 +1,27 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.ranking")
+public class RankSettings {
+
+    private boolean enabled = true;
+
+    private double damping = 0.85;
+
+    private int maxIterations = 50;
+
+    private double tolerance = 1e-6;
+
+    private double weight = 0.5;
+
+    private int writeBatchSize = 1_000;
+
+    private int searchChunkSize = 256;
+}
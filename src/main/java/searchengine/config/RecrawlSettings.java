@@ -0,0 +1,31 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.recrawl")
+public class RecrawlSettings {
+
+    private boolean enabled = false;
+
+    private long tickInterval = 60_000;
+
+    private int fetchBudget = 600;
+
+    private long initialInterval = 86_400_000;
+
+    private long minInterval = 3_600_000;
+
+    private long maxInterval = 2_592_000_000L;
+
+    private double changedFactor = 0.5;
+
+    private double unchangedFactor = 1.5;
+
+    private long sitemapRefreshInterval = 3_600_000;
+}
@@ -0,0 +1,22 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.robots")
+public class RobotsSettings {
+
+    private boolean enabled = true;
+
+    private String agent = "SearchEngine";
+
+    private long cacheTtl = 86_400_000;
+
+    private DataSize maxSize = DataSize.ofKilobytes(512);
+}
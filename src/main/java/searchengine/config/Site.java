@@ -2,10 +2,17 @@ package searchengine.config;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.util.unit.DataSize;
 
 @Setter
 @Getter
 public class Site {
     private String url;
     private String name;
+    private Integer delay;
+    private int maxDepth = 64;
+    private int maxPages = 500_000;
+    private DataSize maxBodySize;
+    private Integer parallelism;
+    private Integer recrawlBudget;
 }
@@ -0,0 +1,22 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.sitemaps")
+public class SitemapSettings {
+
+    private boolean enabled = true;
+
+    private int maxFiles = 50;
+
+    private int maxUrls = 50_000;
+
+    private DataSize maxSize = DataSize.ofMegabytes(50);
+}
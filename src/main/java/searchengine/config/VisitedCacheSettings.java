@@ -0,0 +1,20 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.visited-cache")
+public class VisitedCacheSettings {
+
+    private DataSize memoryBudget = DataSize.ofMegabytes(64);
+
+    private int expectedPagesPerSite = 100_000;
+
+    private double falsePositiveRate = 0.01;
+}
@@ -0,0 +1,25 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.write-behind")
+public class WriteBehindSettings {
+
+    private boolean enabled = true;
+
+    private int capacity = 2048;
+
+    private int writers = 2;
+
+    private int batchSize = 256;
+
+    private long flushInterval = 1_000;
+
+    private long shutdownTimeout = 30_000;
+}
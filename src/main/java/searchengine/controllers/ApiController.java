@@ -4,9 +4,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import searchengine.dto.indexing.IndexingStatusResponse;
+import searchengine.dto.metrics.MetricsResponse;
 import searchengine.dto.search.SearchResponse;
 import searchengine.dto.statistics.StatisticsResponse;
 import searchengine.services.indexing.IndexingService;
+import searchengine.services.metrics.MetricsService;
 import searchengine.services.search.SearchService;
 import searchengine.services.statistics.StatisticsService;
 
@@ -20,12 +22,15 @@ public class ApiController {
 
     private final IndexingService indexingService;
 
+    private final MetricsService metricsService;
+
     @Autowired
     public ApiController(IndexingService indexingService, StatisticsService statisticsService,
-                         SearchService searchService) {
+                         SearchService searchService, MetricsService metricsService) {
         this.indexingService = indexingService;
         this.statisticsService = statisticsService;
         this.searchService = searchService;
+        this.metricsService = metricsService;
     }
 
     @GetMapping("/statistics")
@@ -33,9 +38,26 @@ public class ApiController {
         return ResponseEntity.ok(statisticsService.getStatistics());
     }
 
+    @GetMapping("/metrics")
+    public ResponseEntity<MetricsResponse> metrics() {
+        return ResponseEntity.ok(metricsService.getMetrics());
+    }
+
     @GetMapping("/startIndexing")
-    public ResponseEntity<IndexingStatusResponse> startIndexing() {
-        return ResponseEntity.ok(indexingService.startIndexing());
+    public ResponseEntity<IndexingStatusResponse> startIndexing(
+            @RequestParam(required = false, defaultValue = "false") boolean incremental) {
+        return ResponseEntity.ok(incremental ?
+                indexingService.startIncrementalIndexing() : indexingService.startIndexing());
+    }
+
+    @GetMapping("/resumeIndexing")
+    public ResponseEntity<IndexingStatusResponse> resumeIndexing() {
+        return ResponseEntity.ok(indexingService.resumeIndexing());
+    }
+
+    @GetMapping("/replayIndexing")
+    public ResponseEntity<IndexingStatusResponse> replayIndexing(@RequestParam(required = false) String url) {
+        return ResponseEntity.ok(indexingService.replayIndexing(url));
     }
 
     @GetMapping("/stopIndexing")
@@ -43,6 +65,27 @@ public class ApiController {
         return ResponseEntity.ok(indexingService.stopIndexing());
     }
 
+    @PostMapping("/indexSite")
+    public ResponseEntity<IndexingStatusResponse> indexSite(@RequestParam String url) {
+        return ResponseEntity.ok(indexingService.startSiteIndexing(url, false));
+    }
+
+    @PostMapping("/reindexSite")
+    public ResponseEntity<IndexingStatusResponse> reindexSite(@RequestParam String url) {
+        return ResponseEntity.ok(indexingService.startSiteIndexing(url, true));
+    }
+
+    @PostMapping("/stopSiteIndexing")
+    public ResponseEntity<IndexingStatusResponse> stopSiteIndexing(@RequestParam String url) {
+        return ResponseEntity.ok(indexingService.stopSiteIndexing(url));
+    }
+
+    @PostMapping("/addSite")
+    public ResponseEntity<IndexingStatusResponse> addSite(@RequestParam String url,
+                                                          @RequestParam(required = false) String name) {
+        return ResponseEntity.ok(indexingService.addSite(url, name));
+    }
+
     @PostMapping("/indexPage")
     public ResponseEntity<IndexingStatusResponse> indexPage(@RequestParam String url) {
         return ResponseEntity.ok(indexingService.indexPage(url));
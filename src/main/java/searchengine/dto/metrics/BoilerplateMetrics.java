@@ -0,0 +1,18 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class BoilerplateMetrics {
+    private int siteId;
+
+    private int pages;
+
+    private int templateBlocks;
+
+    private long keptChars;
+
+    private long removedChars;
+
+    private double removedRatio;
+}
@@ -0,0 +1,28 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class BulkLoadMetrics {
+    private boolean enabled;
+
+    private int loadingSites;
+
+    private long loads;
+
+    private long failedLoads;
+
+    private long lemmas;
+
+    private long foldedLemmas;
+
+    private long stagedRows;
+
+    private long mergedRows;
+
+    private long droppedRows;
+
+    private long chunks;
+
+    private long mergeMillis;
+}
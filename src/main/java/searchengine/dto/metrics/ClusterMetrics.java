@@ -0,0 +1,18 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ClusterMetrics {
+    private boolean enabled;
+
+    private String nodeId;
+
+    private int liveNodes;
+
+    private Integer runId;
+
+    private List<Integer> leasedSites;
+}
@@ -0,0 +1,17 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+import searchengine.utils.jobs.CrawlJobState;
+
+@Data
+public class CrawlJobMetrics {
+    private String siteUrl;
+
+    private Integer siteId;
+
+    private CrawlJobState state;
+
+    private boolean leased;
+
+    private long runningMillis;
+}
@@ -0,0 +1,23 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+import searchengine.config.CrawlMode;
+
+@Data
+public class CrawlThroughputMetrics {
+    private CrawlMode mode;
+
+    private boolean virtualThreadsSupported;
+
+    private long fetchedPages;
+
+    private long unchangedPages;
+
+    private long rejectedPages;
+
+    private long disallowedLinks;
+
+    private long duplicatePages;
+
+    private double pagesPerSecond;
+}
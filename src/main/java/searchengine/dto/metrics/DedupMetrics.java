@@ -0,0 +1,16 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class DedupMetrics {
+    private int siteId;
+
+    private long fingerprints;
+
+    private long checkedPages;
+
+    private long duplicatePages;
+
+    private double duplicateRatio;
+}
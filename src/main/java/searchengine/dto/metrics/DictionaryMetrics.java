@@ -0,0 +1,20 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class DictionaryMetrics {
+    private int siteId;
+
+    private int size;
+
+    private long hits;
+
+    private long misses;
+
+    private long allocatedBlocks;
+
+    private int pendingUpdates;
+
+    private long flushes;
+}
@@ -0,0 +1,31 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+import searchengine.config.FetcherClient;
+
+@Data
+public class FetcherMetrics {
+    private FetcherClient client;
+
+    private long requests;
+
+    private long failures;
+
+    private long inFlight;
+
+    private long connectionsOpened;
+
+    private double reuseRatio;
+
+    private long abortedResponses;
+
+    private long http2Responses;
+
+    private long compressedResponses;
+
+    private long bytesReceived;
+
+    private long bytesDecoded;
+
+    private double averageLatency;
+}
@@ -0,0 +1,16 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class FrontierMetrics {
+    private int siteId;
+
+    private int queued;
+
+    private int inFlight;
+
+    private int claimedPages;
+
+    private long droppedLinks;
+}
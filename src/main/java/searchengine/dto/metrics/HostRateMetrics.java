@@ -0,0 +1,16 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class HostRateMetrics {
+    private String host;
+
+    private double rate;
+
+    private double maxRate;
+
+    private long delay;
+
+    private long throttledResponses;
+}
@@ -0,0 +1,28 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class IndexWriteMetrics {
+    private boolean batched;
+
+    private long pages;
+
+    private long rows;
+
+    private long statements;
+
+    private long millis;
+
+    private double rowsPerSecond;
+
+    private long pageInserts;
+
+    private long pageConflicts;
+
+    private long pageInsertMillis;
+
+    private int concurrentPageInserts;
+
+    private int maxConcurrentPageInserts;
+}
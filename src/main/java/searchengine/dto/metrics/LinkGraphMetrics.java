@@ -0,0 +1,16 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class LinkGraphMetrics {
+    private int siteId;
+
+    private int pages;
+
+    private int links;
+
+    private int iterations;
+
+    private long millis;
+}
@@ -0,0 +1,44 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MetricsData {
+    private CrawlThroughputMetrics crawl;
+
+    private long visitedCacheMemoryUsed;
+
+    private long visitedCacheMemoryLimit;
+
+    private List<VisitedCacheMetrics> visitedCache;
+
+    private List<HostRateMetrics> hostRates;
+
+    private List<FrontierMetrics> frontiers;
+
+    private FetcherMetrics fetcher;
+
+    private List<PipelineStageMetrics> pipeline;
+
+    private IndexWriteMetrics indexWrites;
+
+    private WriteBehindMetrics writeBehind;
+
+    private BulkLoadMetrics bulkLoad;
+
+    private List<DictionaryMetrics> dictionary;
+
+    private ClusterMetrics cluster;
+
+    private List<DedupMetrics> dedup;
+
+    private List<BoilerplateMetrics> boilerplate;
+
+    private List<LinkGraphMetrics> linkGraph;
+
+    private List<CrawlJobMetrics> jobs;
+
+    private List<RecrawlMetrics> recrawl;
+}
@@ -0,0 +1,9 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class MetricsResponse {
+    private boolean result;
+    private MetricsData metrics;
+}
@@ -0,0 +1,24 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class PipelineStageMetrics {
+    private String stage;
+
+    private int parallelism;
+
+    private int busyWorkers;
+
+    private int queued;
+
+    private int capacity;
+
+    private long processed;
+
+    private long failed;
+
+    private double itemsPerSecond;
+
+    private double averageLatency;
+}
@@ -0,0 +1,22 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class RecrawlMetrics {
+    private int siteId;
+
+    private int duePages;
+
+    private long checkedPages;
+
+    private long changedPages;
+
+    private long unchangedPages;
+
+    private long removedPages;
+
+    private long failedPages;
+
+    private double changeRatio;
+}
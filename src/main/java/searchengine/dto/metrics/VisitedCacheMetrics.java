@@ -0,0 +1,18 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class VisitedCacheMetrics {
+    private int siteId;
+
+    private long size;
+
+    private long hits;
+
+    private long misses;
+
+    private long memoryBytes;
+
+    private boolean saturated;
+}
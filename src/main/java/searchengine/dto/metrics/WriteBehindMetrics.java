@@ -0,0 +1,24 @@
+package searchengine.dto.metrics;
+
+import lombok.Data;
+
+@Data
+public class WriteBehindMetrics {
+    private boolean enabled;
+
+    private int buffered;
+
+    private int capacity;
+
+    private long flushes;
+
+    private long flushedPages;
+
+    private double averageBatchSize;
+
+    private long rollbacks;
+
+    private long failedPages;
+
+    private long flushMillis;
+}
@@ -1,18 +1,35 @@
 package searchengine.dto.page;
 
 import lombok.Data;
-import org.jsoup.Connection;
+import org.jsoup.nodes.Document;
+import searchengine.model.Page;
 
 @Data
 public class PageResponse {
 
     private String path;
 
-    private Connection.Response response;
+    private String url;
 
     private int statusCode;
 
+    private String contentType;
+
     private String responseBody;
 
     private String causeOfError;
+
+    private String etag;
+
+    private String lastModified;
+
+    private boolean unchanged;
+
+    private boolean rejected;
+
+    private String canonicalPath;
+
+    private Document document;
+
+    private Page storedPage;
 }
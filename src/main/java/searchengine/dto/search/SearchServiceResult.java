@@ -1,5 +1,6 @@
 package searchengine.dto.search;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 @Data
@@ -16,4 +17,7 @@ public class SearchServiceResult {
     private String snippet;
 
     private float relevance;
+
+    @JsonIgnore
+    private String contentKey;
 }
@@ -2,6 +2,7 @@ package searchengine.dto.statistics;
 
 import lombok.Data;
 import searchengine.model.SiteStatus;
+import searchengine.utils.health.CircuitState;
 
 @Data
 public class DetailedStatisticsItem {
@@ -11,6 +12,10 @@ public class DetailedStatisticsItem {
 
     private SiteStatus status;
 
+    private CircuitState breaker;
+
+    private long retriesLeft;
+
     private long statusTime;
 
     private String error;
@@ -18,4 +23,6 @@ public class DetailedStatisticsItem {
     private int pages;
 
     private int lemmas;
+
+    private int aliases;
 }
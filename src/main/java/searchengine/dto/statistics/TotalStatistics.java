@@ -10,5 +10,7 @@ public class TotalStatistics {
 
     private int lemmas;
 
+    private int aliases;
+
     private boolean indexing;
 }
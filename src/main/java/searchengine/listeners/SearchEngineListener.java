@@ -4,8 +4,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
+import searchengine.config.JournalSettings;
 import searchengine.model.SiteStatus;
 import searchengine.repositories.SiteRepository;
+import searchengine.services.indexing.IndexingService;
+import searchengine.utils.cluster.LeaseManager;
+import searchengine.utils.recrawl.RecrawlScheduler;
 
 @Component
 public class SearchEngineListener implements ApplicationListener<ApplicationReadyEvent> {
@@ -14,15 +18,37 @@ public class SearchEngineListener implements ApplicationListener<ApplicationRead
 
     private final SiteRepository siteRepository;
 
+    private final IndexingService indexingService;
+
+    private final JournalSettings journalSettings;
+
+    private final LeaseManager leaseManager;
+
+    private final RecrawlScheduler recrawlScheduler;
+
     @Autowired
-    public SearchEngineListener(SiteRepository siteRepository) {
+    public SearchEngineListener(SiteRepository siteRepository, IndexingService indexingService,
+                                JournalSettings journalSettings, LeaseManager leaseManager,
+                                RecrawlScheduler recrawlScheduler) {
         this.siteRepository = siteRepository;
+        this.indexingService = indexingService;
+        this.journalSettings = journalSettings;
+        this.leaseManager = leaseManager;
+        this.recrawlScheduler = recrawlScheduler;
     }
 
     @Override
     public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (leaseManager.isEnabled()) {
+            indexingService.joinCluster();
+            return;
+        }
+
         siteRepository.findAll().stream()
                 .filter(site -> site.getStatus().equals(SiteStatus.INDEXING))
                 .forEach(site -> siteRepository.updateLastError(site.getId(), INCORRECT_SHUTDOWN_ERR_MSG));
+
+        if (journalSettings.isEnabled() && journalSettings.isResumeOnStartup()) indexingService.resumeIndexing();
+        recrawlScheduler.start();
     }
 }
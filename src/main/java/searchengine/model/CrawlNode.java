@@ -0,0 +1,21 @@
+package searchengine.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+@Entity
+@Table(name = "crawl_node")
+@Getter
+@Setter
+public class CrawlNode {
+
+    @Id
+    @Column(columnDefinition = "VARCHAR(64)", nullable = false)
+    private String id;
+
+    @Column(columnDefinition = "DATETIME(3)", nullable = false)
+    private Timestamp heartbeat;
+}
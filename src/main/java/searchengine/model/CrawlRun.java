@@ -0,0 +1,35 @@
+package searchengine.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+@Entity
+@Table(name = "crawl_run")
+@Getter
+@Setter
+public class CrawlRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(nullable = false)
+    private int id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "ENUM('PREPARING','RUNNING','FINISHED','STOPPED')", nullable = false)
+    private CrawlRunStatus status;
+
+    @Column(nullable = false)
+    private boolean incremental;
+
+    @Column(name = "requested_by", columnDefinition = "VARCHAR(64)", nullable = false)
+    private String requestedBy;
+
+    @Column(name = "created_at", columnDefinition = "DATETIME(3)", nullable = false)
+    private Timestamp createdAt;
+
+    @Column(unique = true)
+    private Boolean active;
+}
@@ -0,0 +1,8 @@
+package searchengine.model;
+
+public enum CrawlRunStatus {
+    PREPARING,
+    RUNNING,
+    FINISHED,
+    STOPPED,
+}
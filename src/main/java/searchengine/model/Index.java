@@ -25,4 +25,7 @@ public class Index {
 
     @Column(nullable = false)
     private float rank;
+
+    @Column(name = "page_rank", nullable = false)
+    private float pageRank = 1;
 }
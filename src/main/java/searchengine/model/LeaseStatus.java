@@ -0,0 +1,7 @@
+package searchengine.model;
+
+public enum LeaseStatus {
+    PENDING,
+    LEASED,
+    DONE,
+}
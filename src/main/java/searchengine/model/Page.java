@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import javax.persistence.*;
+import java.sql.Timestamp;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -28,9 +29,42 @@ public class Page {
     @Column(nullable = false)
     private int code;
 
-    @Column(columnDefinition = "MEDIUMTEXT", nullable = false)
+    @Transient
     private String content;
 
+    @Column(name = "content_key", columnDefinition = "CHAR(64)", nullable = false)
+    private String contentKey;
+
+    @Column(columnDefinition = "VARCHAR(255)")
+    private String etag;
+
+    @Column(name = "last_modified", columnDefinition = "VARCHAR(64)")
+    private String lastModified;
+
+    @Column(name = "content_hash")
+    private Long contentHash;
+
+    @Column(name = "simhash")
+    private Long simHash;
+
+    @Column(name = "page_rank")
+    private Float pageRank;
+
+    @Transient
+    private long[] outlinks;
+
+    @Column(name = "revisit_seconds")
+    private Long revisitSeconds;
+
+    @Column(name = "next_visit_at")
+    private Timestamp nextVisitAt;
+
+    @Column(name = "last_checked_at")
+    private Timestamp lastCheckedAt;
+
+    @Column(name = "last_changed_at")
+    private Timestamp lastChangedAt;
+
     @ManyToMany
     @JoinTable(name = "index",
             joinColumns = @JoinColumn(name = "page_id"),
@@ -0,0 +1,31 @@
+package searchengine.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "page_alias")
+@Getter
+@Setter
+public class PageAlias {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(nullable = false)
+    private int id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "site_id", nullable = false)
+    private Site site;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String path;
+
+    @Column(name = "original_path", columnDefinition = "TEXT", nullable = false)
+    private String originalPath;
+
+    @Column(nullable = false)
+    private int distance;
+}
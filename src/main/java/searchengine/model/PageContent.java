@@ -0,0 +1,25 @@
+package searchengine.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "page_content")
+@Getter
+@Setter
+public class PageContent {
+
+    @Id
+    @Column(name = "content_key", columnDefinition = "CHAR(64)", nullable = false)
+    private String contentKey;
+
+    @Column(name = "raw_size", nullable = false)
+    private int rawSize;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(columnDefinition = "LONGBLOB", nullable = false)
+    private byte[] body;
+}
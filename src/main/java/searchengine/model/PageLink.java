@@ -0,0 +1,26 @@
+package searchengine.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "page_link")
+@Getter
+@Setter
+public class PageLink {
+
+    @Id
+    @Column(name = "page_id", nullable = false)
+    private int pageId;
+
+    @Column(nullable = false)
+    private boolean resolved;
+
+    @Column(columnDefinition = "LONGBLOB", nullable = false)
+    private byte[] targets;
+
+    @Column(columnDefinition = "LONGBLOB")
+    private byte[] unresolved;
+}
@@ -0,0 +1,37 @@
+package searchengine.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+@Entity
+@Table(name = "site_lease")
+@Getter
+@Setter
+public class SiteLease {
+
+    @Id
+    @Column(name = "site_id", nullable = false)
+    private int siteId;
+
+    @Column(name = "run_id", nullable = false)
+    private int runId;
+
+    @Column(name = "node_id", columnDefinition = "VARCHAR(64)")
+    private String nodeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "ENUM('PENDING','LEASED','DONE')", nullable = false)
+    private LeaseStatus status;
+
+    @Column(nullable = false)
+    private long token;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "expires_at", columnDefinition = "DATETIME(3)")
+    private Timestamp expiresAt;
+}
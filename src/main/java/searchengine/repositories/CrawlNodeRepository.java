@@ -0,0 +1,25 @@
+package searchengine.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.model.CrawlNode;
+
+@Repository
+@Transactional
+public interface CrawlNodeRepository extends JpaRepository<CrawlNode, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO crawl_node (id, heartbeat) VALUES (:id, NOW(3)) " +
+            "ON DUPLICATE KEY UPDATE heartbeat = NOW(3)",
+            nativeQuery = true)
+    void heartbeat(@Param("id") String id);
+
+    @Query(value = "SELECT COUNT(*) FROM crawl_node " +
+            "WHERE heartbeat > NOW(3) - INTERVAL :ttl * 1000 MICROSECOND",
+            nativeQuery = true)
+    int countLive(@Param("ttl") long ttl);
+}
@@ -0,0 +1,38 @@
+package searchengine.repositories;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.model.CrawlRun;
+
+@Repository
+@Transactional
+public interface CrawlRunRepository extends CommonEntityRepository<CrawlRun> {
+
+    @Query("select r from CrawlRun r where r.active = true")
+    CrawlRun findActive();
+
+    @Modifying
+    @Query("update CrawlRun r set r.status = 'RUNNING' where r.id = :id and r.status = 'PREPARING'")
+    int markRunning(@Param("id") int id);
+
+    @Modifying
+    @Query("update CrawlRun r set r.status = 'STOPPED', r.active = null where r.active = true")
+    int stopActive();
+
+    @Modifying
+    @Query(value = "UPDATE crawl_run r SET r.status = 'FINISHED', r.active = NULL " +
+            "WHERE r.id = :id AND r.status = 'RUNNING' " +
+            "AND NOT EXISTS (SELECT 1 FROM site_lease l WHERE l.run_id = r.id AND l.status <> 'DONE')",
+            nativeQuery = true)
+    int finishIfDone(@Param("id") int id);
+
+    @Modifying
+    @Query(value = "UPDATE crawl_run r SET r.status = 'STOPPED', r.active = NULL " +
+            "WHERE r.status = 'PREPARING' AND NOT EXISTS (SELECT 1 FROM crawl_node n " +
+            "WHERE n.id = r.requested_by AND n.heartbeat > NOW(3) - INTERVAL :ttl * 1000 MICROSECOND)",
+            nativeQuery = true)
+    int abandonOrphaned(@Param("ttl") long ttl);
+}
@@ -8,7 +8,6 @@ import org.springframework.transaction.annotation.Transactional;
 import searchengine.model.Index;
 
 import java.util.List;
-import java.util.Set;
 
 @Repository
 @Transactional
@@ -24,9 +23,129 @@ public interface IndexRepository extends CommonEntityRepository<Index> {
     void save(@Param("siteId") int siteId, @Param("pagePath") String pagePath,
               @Param("lemma") String lemma, @Param("rank") float rank);
 
-    @Query("SELECT i FROM Index i " +
-            "WHERE i.page.id = :pageId " +
-            "AND i.lemma.id in :lemmasId")
-    Set<Index> findByPageIdAndLemmasId(@Param("pageId") int pageId, @Param("lemmasId") List<Integer> lemmasId);
+    @Modifying
+    @Query(value = "INSERT INTO `index` (page_id, lemma_id, `rank`, page_rank) " +
+            "SELECT :pageId, j.lemma_id, j.lemma_rank, " +
+            "(SELECT COALESCE(p.page_rank, 1) FROM page AS p WHERE p.id = :pageId) " +
+            "FROM JSON_TABLE(:rows, '$[*]' COLUMNS (" +
+            "lemma_id INT PATH '$[0]', lemma_rank FLOAT PATH '$[1]')) AS j " +
+            "ON DUPLICATE KEY UPDATE `rank` = `index`.`rank` + j.lemma_rank",
+            nativeQuery = true)
+    void saveAll(@Param("pageId") int pageId, @Param("rows") String rows);
+
+    @Modifying
+    @Query(value = "INSERT INTO index_staging (site_id, page_id, lemma_id, `rank`) " +
+            "SELECT :siteId, :pageId, j.lemma_id, j.lemma_rank FROM JSON_TABLE(:rows, '$[*]' COLUMNS (" +
+            "lemma_id INT PATH '$[0]', lemma_rank FLOAT PATH '$[1]')) AS j",
+            nativeQuery = true)
+    void stageAll(@Param("siteId") int siteId, @Param("pageId") int pageId, @Param("rows") String rows);
+
+    @Query(value = "SELECT MIN(page_id), MAX(page_id), COUNT(*) FROM index_staging WHERE site_id = :siteId",
+            nativeQuery = true)
+    List<Object[]> findStagedRange(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query(value = "SET unique_checks = 0, foreign_key_checks = 0", nativeQuery = true)
+    void deferChecks();
+
+    @Modifying
+    @Query(value = "SET unique_checks = 1, foreign_key_checks = 1", nativeQuery = true)
+    void restoreChecks();
+
+    @Modifying
+    @Query(value = "INSERT INTO `index` (page_id, lemma_id, `rank`, page_rank) " +
+            "SELECT s.page_id, m.lemma_id, SUM(s.`rank`), COALESCE(MAX(p.page_rank), 1) FROM index_staging AS s " +
+            "JOIN lemma_staging AS m ON m.site_id = s.site_id AND m.staged_id = s.lemma_id " +
+            "JOIN page AS p ON p.id = s.page_id " +
+            "WHERE s.site_id = :siteId AND s.page_id BETWEEN :fromPageId AND :toPageId " +
+            "GROUP BY s.page_id, m.lemma_id ORDER BY s.page_id, m.lemma_id",
+            nativeQuery = true)
+    int mergeStaged(@Param("siteId") int siteId, @Param("fromPageId") int fromPageId,
+                    @Param("toPageId") int toPageId);
+
+    default int mergeStagedWithDeferredChecks(int siteId, int fromPageId, int toPageId) {
+        deferChecks();
+        try {
+            return mergeStaged(siteId, fromPageId, toPageId);
+        } finally {
+            restoreChecks();
+        }
+    }
+
+    @Query(value = "SELECT COUNT(*) FROM index_staging AS s " +
+            "LEFT JOIN lemma_staging AS m ON m.site_id = s.site_id AND m.staged_id = s.lemma_id " +
+            "WHERE s.site_id = :siteId AND m.lemma_id IS NULL",
+            nativeQuery = true)
+    long countUnmappedStaged(@Param("siteId") int siteId);
+
+    @Query(value = "SELECT COUNT(*) - COUNT(DISTINCT i.page_id, i.lemma_id) FROM `index` AS i " +
+            "JOIN page AS p ON p.id = i.page_id WHERE p.site_id = :siteId",
+            nativeQuery = true)
+    long countDuplicatesBySiteId(@Param("siteId") int siteId);
+
+    @Query(value = "SELECT COUNT(*) FROM `index` AS i JOIN page AS p ON p.id = i.page_id " +
+            "LEFT JOIN lemma AS l ON l.id = i.lemma_id AND l.site_id = p.site_id " +
+            "WHERE p.site_id = :siteId AND l.id IS NULL",
+            nativeQuery = true)
+    long countForeignLemmasBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query(value = "DELETE FROM index_staging WHERE site_id = :siteId", nativeQuery = true)
+    void deleteStagedBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query(value = "DELETE FROM index_staging", nativeQuery = true)
+    void deleteAllStaged();
+
+    @Query(value = "SELECT COUNT(*) FROM `index` AS i JOIN page AS p ON p.id = i.page_id WHERE p.site_id = :siteId",
+            nativeQuery = true)
+    long countBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query("DELETE FROM Index i WHERE i.page.id = :pageId")
+    void deleteByPageId(@Param("pageId") int pageId);
+
+    @Modifying
+    @Query("DELETE FROM Index i WHERE i.page.id IN (SELECT p.id FROM Page p WHERE p.site.id = :siteId)")
+    void deleteBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query("UPDATE Index i SET i.rank = :rank WHERE i.id = :id")
+    void updateRank(@Param("id") int id, @Param("rank") float rank);
+
+    @Query("SELECT i FROM Index i JOIN FETCH i.lemma WHERE i.page.id = :pageId")
+    List<Index> findByPageIdWithLemma(@Param("pageId") int pageId);
+
+    @Query(value = "SELECT page_id, page_rank FROM `index` WHERE lemma_id = :lemmaId " +
+            "AND (page_rank < :afterRank OR page_rank = :afterRank AND page_id < :afterPageId) " +
+            "ORDER BY page_rank DESC, page_id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<Object[]> findPostingsByStaticRank(@Param("lemmaId") int lemmaId, @Param("afterRank") float afterRank,
+                                            @Param("afterPageId") int afterPageId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE `index` AS i JOIN JSON_TABLE(:rows, '$[*]' COLUMNS (" +
+            "id INT PATH '$[0]', page_rank FLOAT PATH '$[1]')) AS r ON i.page_id = r.id " +
+            "SET i.page_rank = r.page_rank",
+            nativeQuery = true)
+    void updatePageRanks(@Param("rows") String rows);
+
+    @Query(value = "SELECT page_id, SUM(`rank`) FROM `index` " +
+            "WHERE page_id IN :pageIds AND lemma_id IN :lemmaIds " +
+            "GROUP BY page_id HAVING COUNT(*) = :lemmaCount",
+            nativeQuery = true)
+    List<Object[]> sumRanksByPageIds(@Param("pageIds") List<Integer> pageIds,
+                                     @Param("lemmaIds") List<Integer> lemmaIds,
+                                     @Param("lemmaCount") int lemmaCount);
+
+    @Query(value = "SELECT COALESCE(SUM(max_rank), 0) FROM " +
+            "(SELECT MAX(`rank`) AS max_rank FROM `index` WHERE lemma_id IN :lemmaIds GROUP BY lemma_id) AS m",
+            nativeQuery = true)
+    double sumMaxRanks(@Param("lemmaIds") List<Integer> lemmaIds);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT page_id FROM `index` WHERE lemma_id IN :lemmaIds " +
+            "GROUP BY page_id HAVING COUNT(*) = :lemmaCount) AS matched",
+            nativeQuery = true)
+    int countPagesWithAllLemmas(@Param("lemmaIds") List<Integer> lemmaIds, @Param("lemmaCount") int lemmaCount);
 }
 
@@ -4,9 +4,13 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import searchengine.model.Lemma;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 @Transactional
 public interface LemmaRepository extends CommonEntityRepository<Lemma> {
@@ -18,6 +22,86 @@ public interface LemmaRepository extends CommonEntityRepository<Lemma> {
             nativeQuery = true)
     void save(@Param("siteId") int siteId, @Param("lemma") String lemma);
 
+    @Modifying
+    @Query(value = "INSERT INTO lemma (site_id, lemma, frequency) " +
+            "SELECT :siteId, j.lemma, 1 FROM JSON_TABLE(:lemmas, '$[*]' COLUMNS (" +
+            "lemma VARCHAR(255) PATH '$')) AS j " +
+            "ON DUPLICATE KEY UPDATE frequency = lemma.frequency + 1",
+            nativeQuery = true)
+    void saveAll(@Param("siteId") int siteId, @Param("lemmas") String lemmas);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO lemma (id, site_id, lemma, frequency) " +
+            "SELECT j.id, :siteId, j.lemma, 0 FROM JSON_TABLE(:rows, '$[*]' COLUMNS (" +
+            "id INT PATH '$[0]', lemma VARCHAR(255) PATH '$[1]')) AS j",
+            nativeQuery = true)
+    int createAllWithIds(@Param("siteId") int siteId, @Param("rows") String rows);
+
+    @Modifying
+    @Query(value = "INSERT INTO lemma (site_id, lemma, frequency) " +
+            "SELECT :siteId, j.lemma, 0 FROM JSON_TABLE(:lemmas, '$[*]' COLUMNS (" +
+            "lemma VARCHAR(255) PATH '$')) AS j " +
+            "ON DUPLICATE KEY UPDATE frequency = lemma.frequency",
+            nativeQuery = true)
+    void loadAll(@Param("siteId") int siteId, @Param("lemmas") String lemmas);
+
+    @Modifying
+    @Query(value = "INSERT INTO lemma_staging (site_id, staged_id, lemma_id) " +
+            "SELECT :siteId, j.staged_id, l.id FROM JSON_TABLE(:rows, '$[*]' COLUMNS (" +
+            "staged_id INT PATH '$[0]', lemma VARCHAR(255) PATH '$[1]')) AS j " +
+            "JOIN lemma AS l ON l.site_id = :siteId AND l.lemma = j.lemma",
+            nativeQuery = true)
+    void mapStagedIds(@Param("siteId") int siteId, @Param("rows") String rows);
+
+    @Modifying
+    @Query(value = "UPDATE lemma AS l JOIN (" +
+            "SELECT m.lemma_id, COUNT(DISTINCT s.page_id) AS pages FROM index_staging AS s " +
+            "JOIN lemma_staging AS m ON m.site_id = s.site_id AND m.staged_id = s.lemma_id " +
+            "JOIN page AS p ON p.id = s.page_id WHERE s.site_id = :siteId GROUP BY m.lemma_id) AS c " +
+            "ON c.lemma_id = l.id SET l.frequency = c.pages WHERE l.site_id = :siteId",
+            nativeQuery = true)
+    void setFrequenciesFromStaging(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query(value = "DELETE FROM lemma_staging WHERE site_id = :siteId", nativeQuery = true)
+    void deleteStagedIdsBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query(value = "DELETE FROM lemma_staging", nativeQuery = true)
+    void deleteAllStagedIds();
+
+    @Modifying
+    @Query(value = "UPDATE lemma AS l JOIN JSON_TABLE(:rows, '$[*]' COLUMNS (" +
+            "id INT PATH '$[0]', delta INT PATH '$[1]')) AS j ON l.id = j.id " +
+            "SET l.frequency = l.frequency + j.delta",
+            nativeQuery = true)
+    void addFrequencies(@Param("rows") String rows);
+
+    @Modifying
+    @Query(value = "UPDATE id_block SET next_id = LAST_INSERT_ID(" +
+            "GREATEST(next_id, (SELECT COALESCE(MAX(id), 0) + 1 FROM lemma)) + :size) " +
+            "WHERE name = 'lemma'",
+            nativeQuery = true)
+    void reserveIds(@Param("size") int size);
+
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    long findLastInsertId();
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    default int allocateIds(int size) {
+        reserveIds(size);
+        return (int) (findLastInsertId() - size);
+    }
+
+    @Query("select l.id, l.lemma from Lemma l where l.site.id = :siteId")
+    List<Object[]> findIdsAndLemmasBySiteId(@Param("siteId") int siteId);
+
+    @Query("select l.id, l.lemma from Lemma l where l.site.id = :siteId and l.frequency < 1")
+    List<Object[]> findUnusedBySiteId(@Param("siteId") int siteId);
+
+    @Query("select l.id, l.lemma from Lemma l where l.site.id = :siteId and l.lemma in :lemmas")
+    List<Object[]> findIdsBySiteIdAndLemmas(@Param("siteId") int siteId, @Param("lemmas") Collection<String> lemmas);
+
     @Query("select l from Lemma l where l.site.id = :siteId and l.lemma = :lemma")
     Lemma findBySiteIdAndLemma(@Param("siteId") int siteId, @Param("lemma") String lemma);
 
@@ -27,4 +111,30 @@ public interface LemmaRepository extends CommonEntityRepository<Lemma> {
     @Modifying
     @Query("update Lemma l set l.frequency = l.frequency - 1 where l.id = :id")
     void decrementFrequencyById(@Param("id") int id);
+
+    @Modifying
+    @Query(value = "UPDATE lemma AS l JOIN `index` AS i ON i.lemma_id = l.id " +
+            "SET l.frequency = l.frequency - 1 " +
+            "WHERE i.page_id = :pageId",
+            nativeQuery = true)
+    void decrementFrequencyByPageId(@Param("pageId") int pageId);
+
+    @Query(value = "SELECT COUNT(*) FROM lemma AS l LEFT JOIN (" +
+            "SELECT i.lemma_id, COUNT(*) AS pages FROM `index` AS i JOIN page AS p ON p.id = i.page_id " +
+            "WHERE p.site_id = :siteId GROUP BY i.lemma_id) AS c ON c.lemma_id = l.id " +
+            "WHERE l.site_id = :siteId AND l.frequency <> COALESCE(c.pages, 0)",
+            nativeQuery = true)
+    int countFrequencyMismatches(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query("delete from Lemma l where l.site.id = :siteId")
+    void deleteBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query("delete from Lemma l where l.site.id = :siteId and l.frequency < 1")
+    void deleteUnusedBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query("delete from Lemma l where l.id in :ids and l.frequency < 1")
+    void deleteUnusedByIds(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,28 @@
+package searchengine.repositories;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.model.PageAlias;
+
+@Repository
+@Transactional
+public interface PageAliasRepository extends CommonEntityRepository<PageAlias> {
+
+    @Modifying
+    @Query(value = "INSERT INTO page_alias (site_id, path, original_path, distance) " +
+            "VALUES (:siteId, :path, :originalPath, :distance) " +
+            "ON DUPLICATE KEY UPDATE original_path = :originalPath, distance = :distance",
+            nativeQuery = true)
+    void save(@Param("siteId") int siteId, @Param("path") String path,
+              @Param("originalPath") String originalPath, @Param("distance") int distance);
+
+    @Query("select count(a) from PageAlias a where a.site.id = :siteId")
+    int countBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query("delete from PageAlias a where a.site.id = :siteId")
+    void deleteBySiteId(@Param("siteId") int siteId);
+}
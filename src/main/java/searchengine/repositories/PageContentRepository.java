@@ -0,0 +1,36 @@
+package searchengine.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.model.PageContent;
+
+@Repository
+@Transactional
+public interface PageContentRepository extends JpaRepository<PageContent, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO page_content (content_key, raw_size, body) " +
+            "VALUES (:contentKey, :rawSize, :body) " +
+            "ON DUPLICATE KEY UPDATE created_at = NOW()",
+            nativeQuery = true)
+    void save(@Param("contentKey") String contentKey, @Param("rawSize") int rawSize, @Param("body") byte[] body);
+
+    @Query("select c.body from PageContent c where c.contentKey = :contentKey")
+    byte[] findBodyByKey(@Param("contentKey") String contentKey);
+
+    @Query(value = "SELECT COALESCE(SUM(raw_size), 0) FROM page_content", nativeQuery = true)
+    long sumRawSize();
+
+    @Query(value = "SELECT COALESCE(SUM(LENGTH(body)), 0) FROM page_content", nativeQuery = true)
+    long sumStoredSize();
+
+    @Modifying
+    @Query(value = "DELETE c FROM page_content AS c LEFT JOIN page AS p ON p.content_key = c.content_key " +
+            "WHERE p.id IS NULL AND c.created_at < NOW() - INTERVAL :graceMinutes MINUTE",
+            nativeQuery = true)
+    int deleteOrphaned(@Param("graceMinutes") int graceMinutes);
+}
@@ -0,0 +1,38 @@
+package searchengine.repositories;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.model.PageLink;
+
+import java.util.List;
+
+@Repository
+@Transactional
+public interface PageLinkRepository extends CommonEntityRepository<PageLink> {
+
+    @Modifying
+    @Query(value = "INSERT INTO page_link (page_id, resolved, targets) VALUES (:pageId, false, :targets) " +
+            "ON DUPLICATE KEY UPDATE resolved = false, targets = :targets, unresolved = NULL",
+            nativeQuery = true)
+    void save(@Param("pageId") int pageId, @Param("targets") byte[] targets);
+
+    @Query(value = "SELECT l.page_id, l.resolved, l.targets, l.unresolved FROM page_link AS l " +
+            "JOIN page AS p ON p.id = l.page_id WHERE p.site_id = :siteId",
+            nativeQuery = true)
+    List<Object[]> findBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query(value = "UPDATE page_link AS l JOIN JSON_TABLE(:rows, '$[*]' COLUMNS (" +
+            "page_id INT PATH '$.id', targets LONGTEXT PATH '$.targets', " +
+            "unresolved LONGTEXT PATH '$.unresolved')) AS r ON l.page_id = r.page_id " +
+            "SET l.resolved = true, l.targets = FROM_BASE64(r.targets), l.unresolved = FROM_BASE64(r.unresolved)",
+            nativeQuery = true)
+    void saveResolved(@Param("rows") String rows);
+
+    @Query(value = "SELECT COUNT(*) FROM page_link AS l JOIN page AS p ON p.id = l.page_id WHERE p.site_id = :siteId",
+            nativeQuery = true)
+    int countBySiteId(@Param("siteId") int siteId);
+}
@@ -1,17 +1,100 @@
 package searchengine.repositories;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import searchengine.model.Page;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 @Repository
 @Transactional
 public interface PageRepository extends CommonEntityRepository<Page> {
 
+    @Query("select p from Page p where p.site.id = :siteId and p.path = :path")
+    Page findBySiteIdAndPath(@Param("siteId") int siteId, @Param("path") String path);
+
+    @Modifying
+    @Query(value = "INSERT INTO page (site_id, path, code, content_key, etag, last_modified, " +
+            "content_hash, simhash) " +
+            "VALUES (:siteId, :path, :code, :contentKey, :etag, :lastModified, :contentHash, :simHash) " +
+            "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)",
+            nativeQuery = true)
+    int insertOrKeep(@Param("siteId") int siteId, @Param("path") String path, @Param("code") int code,
+                     @Param("contentKey") String contentKey, @Param("etag") String etag,
+                     @Param("lastModified") String lastModified, @Param("contentHash") Long contentHash,
+                     @Param("simHash") Long simHash);
+
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    long findLastInsertId();
+
+    default boolean insertIfAbsent(Page page) {
+        int inserted = insertOrKeep(page.getSite().getId(), page.getPath(), page.getCode(), page.getContentKey(),
+                page.getEtag(), page.getLastModified(), page.getContentHash(), page.getSimHash());
+        page.setId((int) findLastInsertId());
+
+        return inserted == 1;
+    }
+
+    @Query("select p.path from Page p where p.site.id = :siteId")
+    List<String> findPathsBySiteId(@Param("siteId") int siteId);
+
+    @Query("select p.id, p.path from Page p where p.site.id = :siteId")
+    List<Object[]> findIdsAndPathsBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query(value = "UPDATE page AS p JOIN JSON_TABLE(:ranks, '$[*]' COLUMNS (" +
+            "id INT PATH '$[0]', page_rank FLOAT PATH '$[1]')) AS r ON p.id = r.id " +
+            "SET p.page_rank = r.page_rank",
+            nativeQuery = true)
+    void updatePageRanks(@Param("ranks") String ranks);
+
+    @Query("select p.path, p.simHash from Page p where p.site.id = :siteId and p.simHash is not null")
+    List<Object[]> findSimHashesBySiteId(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query(value = "UPDATE page SET revisit_seconds = :initialSeconds, " +
+            "next_visit_at = DATE_ADD(NOW(), INTERVAL FLOOR(RAND() * :initialSeconds) SECOND) " +
+            "WHERE site_id = :siteId AND next_visit_at IS NULL", nativeQuery = true)
+    int scheduleUnvisited(@Param("siteId") int siteId, @Param("initialSeconds") long initialSeconds);
+
+    @Query(value = "SELECT path, revisit_seconds FROM page " +
+            "WHERE site_id = :siteId AND next_visit_at <= NOW() ORDER BY next_visit_at LIMIT :limit",
+            nativeQuery = true)
+    List<Object[]> findDuePages(@Param("siteId") int siteId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE page SET next_visit_at = NOW() WHERE site_id = :siteId AND path = :path " +
+            "AND next_visit_at > NOW() AND (last_checked_at IS NULL OR last_checked_at < :modifiedAt)",
+            nativeQuery = true)
+    int markDue(@Param("siteId") int siteId, @Param("path") String path, @Param("modifiedAt") Timestamp modifiedAt);
+
+    @Modifying
+    @Query(value = "UPDATE page SET revisit_seconds = :revisitSeconds, last_checked_at = NOW(), " +
+            "next_visit_at = DATE_ADD(NOW(), INTERVAL :revisitSeconds SECOND), " +
+            "last_changed_at = IF(:changed, NOW(), last_changed_at) " +
+            "WHERE site_id = :siteId AND path = :path", nativeQuery = true)
+    void updateSchedule(@Param("siteId") int siteId, @Param("path") String path,
+                        @Param("revisitSeconds") long revisitSeconds, @Param("changed") boolean changed);
+
+    @Modifying
+    @Query(value = "UPDATE page SET last_checked_at = NOW(), " +
+            "next_visit_at = DATE_ADD(NOW(), INTERVAL :delaySeconds SECOND) " +
+            "WHERE site_id = :siteId AND path = :path", nativeQuery = true)
+    void postponeVisit(@Param("siteId") int siteId, @Param("path") String path,
+                       @Param("delaySeconds") long delaySeconds);
+
+    @Query(value = "SELECT COUNT(*) FROM page WHERE site_id = :siteId AND next_visit_at <= NOW()",
+            nativeQuery = true)
+    int countDuePages(@Param("siteId") int siteId);
+
+    @Modifying
+    @Query("delete from Page p where p.site.id = :siteId")
+    void deleteBySiteId(@Param("siteId") int siteId);
+
     @Query("select count(p) from Page p where p.site.id = :siteId")
     int countBySiteId(@Param("siteId") int siteId);
 
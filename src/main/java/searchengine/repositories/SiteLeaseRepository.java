@@ -0,0 +1,74 @@
+package searchengine.repositories;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.model.SiteLease;
+
+import java.util.List;
+
+@Repository
+@Transactional
+public interface SiteLeaseRepository extends CommonEntityRepository<SiteLease> {
+
+    @Modifying
+    @Query(value = "INSERT INTO site_lease (site_id, run_id, node_id, status, token, attempts, expires_at) " +
+            "VALUES (:siteId, :runId, NULL, 'PENDING', 0, 0, NULL) " +
+            "ON DUPLICATE KEY UPDATE run_id = :runId, node_id = NULL, status = 'PENDING', attempts = 0, " +
+            "expires_at = NULL",
+            nativeQuery = true)
+    void open(@Param("siteId") int siteId, @Param("runId") int runId);
+
+    @Query(value = "SELECT * FROM site_lease WHERE run_id = :runId " +
+            "AND (status = 'PENDING' OR (status = 'LEASED' AND expires_at < NOW(3))) " +
+            "ORDER BY status DESC, site_id",
+            nativeQuery = true)
+    List<SiteLease> findClaimable(@Param("runId") int runId);
+
+    @Query("select count(l) from SiteLease l where l.runId = :runId")
+    int countByRunId(@Param("runId") int runId);
+
+    @Modifying
+    @Query(value = "UPDATE site_lease SET node_id = :nodeId, status = 'LEASED', token = token + 1, " +
+            "attempts = attempts + 1, expires_at = NOW(3) + INTERVAL :ttl * 1000 MICROSECOND " +
+            "WHERE site_id = :siteId AND token = :token " +
+            "AND (status = 'PENDING' OR (status = 'LEASED' AND expires_at < NOW(3)))",
+            nativeQuery = true)
+    int claim(@Param("siteId") int siteId, @Param("token") long token, @Param("nodeId") String nodeId,
+              @Param("ttl") long ttl);
+
+    @Modifying
+    @Query(value = "UPDATE site_lease SET expires_at = NOW(3) + INTERVAL :ttl * 1000 MICROSECOND " +
+            "WHERE site_id = :siteId AND token = :token AND node_id = :nodeId " +
+            "AND status = 'LEASED' AND expires_at > NOW(3)",
+            nativeQuery = true)
+    int renew(@Param("siteId") int siteId, @Param("token") long token, @Param("nodeId") String nodeId,
+              @Param("ttl") long ttl);
+
+    @Query(value = "SELECT COUNT(*) FROM site_lease " +
+            "WHERE site_id = :siteId AND token = :token AND node_id = :nodeId " +
+            "AND status = 'LEASED' AND expires_at > NOW(3) FOR SHARE",
+            nativeQuery = true)
+    int lockIfHeld(@Param("siteId") int siteId, @Param("token") long token, @Param("nodeId") String nodeId);
+
+    @Modifying
+    @Query(value = "UPDATE site_lease SET status = 'DONE', node_id = NULL, expires_at = NULL " +
+            "WHERE site_id = :siteId AND token = :token AND node_id = :nodeId " +
+            "AND status = 'LEASED' AND expires_at > NOW(3)",
+            nativeQuery = true)
+    int finish(@Param("siteId") int siteId, @Param("token") long token, @Param("nodeId") String nodeId);
+
+    @Modifying
+    @Query(value = "UPDATE site_lease SET expires_at = NOW(3) " +
+            "WHERE site_id = :siteId AND node_id = :nodeId AND status = 'LEASED'",
+            nativeQuery = true)
+    void release(@Param("siteId") int siteId, @Param("nodeId") String nodeId);
+
+    @Modifying
+    @Query(value = "UPDATE site_lease SET expires_at = NOW(3) " +
+            "WHERE node_id = :nodeId AND status = 'LEASED'",
+            nativeQuery = true)
+    void releaseAll(@Param("nodeId") String nodeId);
+}
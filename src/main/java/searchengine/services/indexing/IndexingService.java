@@ -3,6 +3,7 @@ package searchengine.services.indexing;
 import searchengine.dto.indexing.IndexingStatusResponse;
 import searchengine.model.Page;
 import searchengine.model.Site;
+import searchengine.utils.recrawl.RevisitOutcome;
 
 import java.util.Map;
 
@@ -10,9 +11,35 @@ public interface IndexingService {
 
     IndexingStatusResponse startIndexing();
 
+    IndexingStatusResponse startIncrementalIndexing();
+
     IndexingStatusResponse stopIndexing();
 
+    IndexingStatusResponse resumeIndexing();
+
+    IndexingStatusResponse replayIndexing(String url);
+
+    IndexingStatusResponse startSiteIndexing(String url, boolean reindex);
+
+    IndexingStatusResponse stopSiteIndexing(String url);
+
+    IndexingStatusResponse addSite(String url, String name);
+
     IndexingStatusResponse indexPage(String url);
 
+    void joinCluster();
+
+    RevisitOutcome refreshPage(Site site, String path);
+
+    Page findStoredPage(Site site, String path);
+
     void indexParsedData(Site site, Page page, Map<String, Integer> lemmasAndFrequencies);
+
+    void reindexParsedData(Site site, Page storedPage, Page page, Map<String, Integer> lemmasAndFrequencies);
+
+    void removeIndexedPage(Site site, String path);
+
+    void writeLeased(Site site, long leaseToken, Runnable write);
+
+    void recordAlias(Site site, String path, String originalPath, int distance);
 }
@@ -2,24 +2,49 @@ package searchengine.services.indexing;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import searchengine.cache.DuplicateCache;
+import searchengine.cache.LemmaCache;
 import searchengine.cache.PageCache;
+import searchengine.cache.TemplateCache;
 import searchengine.config.SitesList;
 import searchengine.model.*;
 import searchengine.repositories.IndexRepository;
 import searchengine.repositories.LemmaRepository;
+import searchengine.repositories.PageAliasRepository;
 import searchengine.repositories.PageRepository;
 import searchengine.repositories.SiteRepository;
 import searchengine.dto.indexing.IndexingStatusResponse;
+import searchengine.utils.archive.ArchiveSnapshot;
+import searchengine.utils.archive.CrawlArchive;
+import searchengine.utils.cluster.LeaseManager;
+import searchengine.utils.content.ContentStore;
+import searchengine.utils.executors.CrawlExecutor;
+import searchengine.utils.executors.CrawlExecutorFactory;
+import searchengine.utils.executors.CrawlThroughput;
+import searchengine.utils.fetchers.PageFetcherProvider;
+import searchengine.utils.frontier.FrontierRegistry;
+import searchengine.utils.frontier.JournalState;
+import searchengine.utils.graph.PageRankJob;
+import searchengine.utils.health.HostHealthRegistry;
+import searchengine.utils.jobs.CrawlJob;
+import searchengine.utils.jobs.CrawlJobRegistry;
+import searchengine.utils.parsers.CrawlContext;
 import searchengine.utils.parsers.WebsiteParser;
+import searchengine.utils.pipeline.BulkLoader;
+import searchengine.utils.pipeline.IndexWriter;
+import searchengine.utils.pipeline.WriteBehindBuffer;
+import searchengine.utils.politeness.PolitenessScheduler;
+import searchengine.utils.recrawl.RevisitOutcome;
 import searchengine.utils.responsegenerators.IndexingResponseGenerator;
+import searchengine.utils.robots.RobotsRegistry;
+import searchengine.utils.sitemaps.SitemapLoader;
+import searchengine.utils.urls.UrlCanonicalizer;
 import searchengine.utils.workers.UrlWorker;
 
 import java.sql.Timestamp;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class IndexingServiceImpl implements IndexingService {
@@ -32,104 +57,477 @@ public class IndexingServiceImpl implements IndexingService {
 
     private final IndexRepository indexRepository;
 
+    private final PageAliasRepository pageAliasRepository;
+
     private final SitesList configSites;
 
-    private static ForkJoinPool pool;
+    private final PageCache pageCache;
+
+    private final LemmaCache lemmaCache;
+
+    private final CrawlExecutorFactory crawlExecutorFactory;
+
+    private final FrontierRegistry frontierRegistry;
+
+    private final LeaseManager leaseManager;
+
+    private final DuplicateCache duplicateCache;
+
+    private final ContentStore contentStore;
+
+    private final CrawlJobRegistry crawlJobRegistry;
+
+    private final CrawlArchive crawlArchive;
+
+    private final PageRankJob pageRankJob;
+
+    private final IndexWriter indexWriter;
 
-    private static final Lock lock = new ReentrantLock();
+    private final WriteBehindBuffer writeBehindBuffer;
+
+    private final BulkLoader bulkLoader;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final CrawlContext crawlContext;
+
+    private static final String USER_STOPPED_INDEXING = "User stopped indexing";
 
     @Autowired
     public IndexingServiceImpl(SiteRepository siteRepository, PageRepository pageRepository,
                                LemmaRepository lemmaRepository, IndexRepository indexRepository,
-                               SitesList configSites) {
+                               PageAliasRepository pageAliasRepository,
+                               SitesList configSites, PageCache pageCache, LemmaCache lemmaCache,
+                               PolitenessScheduler politenessScheduler, CrawlExecutorFactory crawlExecutorFactory,
+                               CrawlThroughput throughput, FrontierRegistry frontierRegistry,
+                               PageFetcherProvider pageFetcherProvider, RobotsRegistry robotsRegistry,
+                               SitemapLoader sitemapLoader, LeaseManager leaseManager,
+                               DuplicateCache duplicateCache, ContentStore contentStore,
+                               CrawlJobRegistry crawlJobRegistry, CrawlArchive crawlArchive,
+                               TemplateCache templateCache, PageRankJob pageRankJob,
+                               HostHealthRegistry hostHealth, IndexWriter indexWriter,
+                               WriteBehindBuffer writeBehindBuffer, BulkLoader bulkLoader,
+                               TransactionTemplate transactionTemplate) {
         this.siteRepository = siteRepository;
         this.pageRepository = pageRepository;
         this.lemmaRepository = lemmaRepository;
         this.indexRepository = indexRepository;
+        this.pageAliasRepository = pageAliasRepository;
         this.configSites = configSites;
+        this.pageCache = pageCache;
+        this.lemmaCache = lemmaCache;
+        this.crawlExecutorFactory = crawlExecutorFactory;
+        this.frontierRegistry = frontierRegistry;
+        this.leaseManager = leaseManager;
+        this.duplicateCache = duplicateCache;
+        this.contentStore = contentStore;
+        this.crawlJobRegistry = crawlJobRegistry;
+        this.crawlArchive = crawlArchive;
+        this.pageRankJob = pageRankJob;
+        this.indexWriter = indexWriter;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.bulkLoader = bulkLoader;
+        this.transactionTemplate = transactionTemplate;
+        this.crawlContext = new CrawlContext(this, pageCache, politenessScheduler, hostHealth, throughput,
+                frontierRegistry, pageFetcherProvider.getFetcher(), robotsRegistry, sitemapLoader, duplicateCache,
+                crawlArchive, templateCache);
     }
 
     @Override
     public IndexingStatusResponse startIndexing() {
-        if (!WebsiteParser.isParsingStopped()) return IndexingResponseGenerator.indexingAlreadyStarted();
+        if (leaseManager.isEnabled()) return requestClusterRun(false);
 
-        PageCache.clearCache();
-        pool = new ForkJoinPool();
-        WebsiteParser.setParsingStopped(false);
-        CompletableFuture.runAsync(this::prepareForIndexing);
+        List<CrawlJob> jobs = crawlJobRegistry.reserveAll(getConfigSiteUrls());
+        if (jobs == null) return IndexingResponseGenerator.indexingAlreadyStarted();
+
+        CompletableFuture.runAsync(() -> {
+            List<Site> sites = createSites();
+            if (bulkLoader.isEnabled()) bulkLoader.begin(sites.stream().map(Site::getId).toList());
+            sites.forEach(site -> launch(findJob(jobs, site),
+                    new WebsiteParser(crawlContext, site, UrlWorker.appendSlashToUrlEnd(site.getUrl()))));
+        });
 
         return IndexingResponseGenerator.successResponse();
     }
 
-    private void prepareForIndexing() {
+    private List<Site> createSites() {
         clearTablesBeforeStartIndexing();
+        frontierRegistry.deleteJournals();
 
-        List<WebsiteParser> tasks = configSites.getSites().stream()
+        return configSites.getSites().stream()
                 .map(s -> {
                     Site site = new Site();
                     site.setStatus(SiteStatus.INDEXING);
                     site.setStatusTime(new Timestamp(System.currentTimeMillis()));
                     site.setUrl(UrlWorker.removeWwwFromUrl(s.getUrl()));
                     site.setName(s.getName());
-                    siteRepository.save(site);
 
-                    return new WebsiteParser(this, site, UrlWorker.appendSlashToUrlEnd(site.getUrl()));
+                    return siteRepository.save(site);
                 }).toList();
+    }
+
+    @Override
+    public IndexingStatusResponse startIncrementalIndexing() {
+        if (leaseManager.isEnabled()) return requestClusterRun(true);
+
+        List<CrawlJob> jobs = crawlJobRegistry.reserveAll(getConfigSiteUrls());
+        if (jobs == null) return IndexingResponseGenerator.indexingAlreadyStarted();
+
+        CompletableFuture.runAsync(() -> findSitesToRecrawl().forEach(site -> launch(findJob(jobs, site),
+                createRecrawlParser(site))));
+
+        return IndexingResponseGenerator.successResponse();
+    }
+
+    private List<Site> findSitesToRecrawl() {
+        frontierRegistry.deleteJournals();
+
+        return configSites.getSites().stream().map(this::findOrCreateSite).toList();
+    }
+
+    private Site findOrCreateSite(searchengine.config.Site configSite) {
+        String siteUrl = UrlWorker.removeWwwFromUrl(configSite.getUrl());
+        Site site = siteRepository.findByUrl(siteUrl);
+        if (site == null) {
+            site = saveSite(siteUrl);
+            site.setName(configSite.getName());
+
+            return siteRepository.save(site);
+        }
+
+        siteRepository.updateStatus(site.getId(), SiteStatus.INDEXING);
+        return site;
+    }
+
+    private WebsiteParser createRecrawlParser(Site site) {
+        WebsiteParser parser = new WebsiteParser(crawlContext, site, UrlWorker.appendSlashToUrlEnd(site.getUrl()));
+        parser.recrawl(pageRepository.findPathsBySiteId(site.getId()));
+
+        return parser;
+    }
+
+    @Override
+    public IndexingStatusResponse replayIndexing(String url) {
+        List<searchengine.config.Site> sitesToReplay = url == null ? configSites.getSites() :
+                Optional.ofNullable(findConfigSite(normalizeSiteUrl(url))).stream().toList();
+        if (sitesToReplay.isEmpty()) return IndexingResponseGenerator.siteNotAdded();
+
+        sitesToReplay = sitesToReplay.stream()
+                .filter(s -> crawlArchive.hasArchive(UrlWorker.removeWwwFromUrl(s.getUrl())))
+                .toList();
+        if (sitesToReplay.isEmpty()) return IndexingResponseGenerator.nothingToReplay();
+
+        List<CrawlJob> jobs = crawlJobRegistry.reserveAll(sitesToReplay.stream()
+                .map(s -> UrlWorker.removeWwwFromUrl(s.getUrl())).toList());
+        if (jobs == null) return IndexingResponseGenerator.indexingAlreadyStarted();
+
+        List<searchengine.config.Site> replayedSites = sitesToReplay;
+        CompletableFuture.runAsync(() -> replayedSites.forEach(configSite -> {
+            Site site = findOrCreateSite(configSite);
+            clearSiteData(site.getId());
+            launchReplay(findJob(jobs, site), site);
+        }));
+
+        return IndexingResponseGenerator.successResponse();
+    }
 
-        tasks.forEach(t -> CompletableFuture.runAsync(() -> processIndexingResult(t)));
+    private void launchReplay(CrawlJob job, Site site) {
+        ArchiveSnapshot snapshot = crawlArchive.openSnapshot(site.getUrl());
+        WebsiteParser parser = new WebsiteParser(crawlContext, site, UrlWorker.appendSlashToUrlEnd(site.getUrl()));
+        parser.replayFrom(snapshot);
+
+        launch(job, parser, crawlExecutorFactory.createReplay(crawlArchive.getReplayParallelism()));
+    }
+
+    @Override
+    public IndexingStatusResponse startSiteIndexing(String url, boolean reindex) {
+        String siteUrl = normalizeSiteUrl(url);
+        searchengine.config.Site configSite = findConfigSite(siteUrl);
+        if (configSite == null) return IndexingResponseGenerator.siteNotAdded();
+
+        CrawlJob job = crawlJobRegistry.reserve(siteUrl);
+        if (job == null) return IndexingResponseGenerator.indexingAlreadyStarted();
+
+        CompletableFuture.runAsync(() -> {
+            Site site = findOrCreateSite(configSite);
+            if (!reindex) {
+                launch(job, createRecrawlParser(site));
+                return;
+            }
+
+            clearSiteData(site.getId());
+            launch(job, new WebsiteParser(crawlContext, site, UrlWorker.appendSlashToUrlEnd(site.getUrl())));
+        });
+
+        return IndexingResponseGenerator.successResponse();
+    }
+
+    @Override
+    public IndexingStatusResponse stopSiteIndexing(String url) {
+        String siteUrl = normalizeSiteUrl(url);
+        if (!crawlJobRegistry.cancel(siteUrl)) return IndexingResponseGenerator.noIndexingRunning();
+
+        Site site = siteRepository.findByUrl(siteUrl);
+        if (site != null && site.getStatus() == SiteStatus.INDEXING) {
+            siteRepository.updateLastError(site.getId(), USER_STOPPED_INDEXING);
+        }
+
+        return IndexingResponseGenerator.successResponse();
+    }
+
+    @Override
+    public IndexingStatusResponse addSite(String url, String name) {
+        String siteUrl = normalizeSiteUrl(url);
+        if (findConfigSite(siteUrl) != null) return IndexingResponseGenerator.siteAlreadyAdded();
+
+        searchengine.config.Site configSite = new searchengine.config.Site();
+        configSite.setUrl(siteUrl);
+        configSite.setName(name == null || name.isBlank() ? siteUrl : name);
+        synchronized (configSites) {
+            List<searchengine.config.Site> sites = new ArrayList<>(configSites.getSites());
+            sites.add(configSite);
+            configSites.setSites(sites);
+        }
+
+        return startSiteIndexing(siteUrl, true);
+    }
+
+    private void launch(CrawlJob job, WebsiteParser parser) {
+        launch(job, parser, crawlExecutorFactory.create(findConfigSite(parser.getSite().getUrl())));
+    }
+
+    private void launch(CrawlJob job, WebsiteParser parser, CrawlExecutor executor) {
+        if (!job.attach(parser, executor)) {
+            bulkLoader.cancel(parser.getSite().getId());
+            executor.shutdown();
+            crawlJobRegistry.finish(job);
+            return;
+        }
+
+        CompletableFuture.runAsync(() -> processIndexingResult(job));
+    }
+
+    private CrawlJob findJob(List<CrawlJob> jobs, Site site) {
+        return jobs.stream().filter(job -> job.getSiteUrl().equals(site.getUrl())).findFirst().orElseThrow();
+    }
+
+    private List<String> getConfigSiteUrls() {
+        return configSites.getSites().stream().map(s -> UrlWorker.removeWwwFromUrl(s.getUrl())).toList();
+    }
+
+    private searchengine.config.Site findConfigSite(String siteUrl) {
+        return configSites.getSites().stream()
+                .filter(s -> UrlWorker.removeWwwFromUrl(s.getUrl()).equals(siteUrl))
+                .findFirst().orElse(null);
     }
 
-    private void processIndexingResult(WebsiteParser task) {
-        IndexingStatusResponse result = pool.invoke(task);
+    private String normalizeSiteUrl(String url) {
+        return UrlWorker.removeWwwFromUrl(UrlWorker.getBaseUrl(url.trim()));
+    }
 
+    @Override
+    public void joinCluster() {
+        leaseManager.start(this::onClusterTick);
+    }
+
+    private IndexingStatusResponse requestClusterRun(boolean incremental) {
+        CrawlRun run = leaseManager.requestRun(incremental);
+        if (run == null) return IndexingResponseGenerator.indexingAlreadyStarted();
+
+        CompletableFuture.runAsync(() -> {
+            leaseManager.openLeases(run, run.isIncremental() ? findSitesToRecrawl() : createSites());
+            onClusterTick();
+        });
+
+        return IndexingResponseGenerator.successResponse();
+    }
+
+    private synchronized void onClusterTick() {
+        CrawlRun run = leaseManager.findActiveRun();
+        Integer joinedRunId = leaseManager.getRunId();
+        if (joinedRunId != null && (run == null || run.getId() != joinedRunId)) leaveClusterRun();
+        if (run == null) return;
+        if (leaseManager.getRunId() == null) leaseManager.join(run);
+
+        leaseManager.renewAll().forEach(crawlJobRegistry::cancelBySiteId);
+        leaseManager.claimShare(run).forEach(lease -> crawlLeasedSite(run, lease));
+        leaseManager.finishRunIfDone(run);
+    }
+
+    private void leaveClusterRun() {
+        leaseManager.leave();
+        crawlJobRegistry.cancelLeased();
+    }
+
+    private void crawlLeasedSite(CrawlRun run, SiteLease lease) {
+        Site site = siteRepository.findById(lease.getSiteId()).orElse(null);
+        if (site == null) return;
+
+        CrawlJob job = crawlJobRegistry.reserve(site.getUrl());
+        if (job == null) {
+            leaseManager.release(site.getId());
+            return;
+        }
+
+        job.setLeased(true);
+        siteRepository.updateStatus(site.getId(), SiteStatus.INDEXING);
+        WebsiteParser parser = run.isIncremental() || lease.getAttempts() > 1 ? createRecrawlParser(site) :
+                new WebsiteParser(crawlContext, site, UrlWorker.appendSlashToUrlEnd(site.getUrl()));
+        parser.setLeaseToken(lease.getToken());
+        launch(job, parser);
+    }
+
+    private void processIndexingResult(CrawlJob job) {
+        WebsiteParser task = job.getParser();
         int siteId = task.getSite().getId();
-        if (result.isResult()) {
-            siteRepository.updateStatus(siteId, SiteStatus.INDEXED);
+        pageCache.clearSitePagesCache(siteId);
+        loadFingerprints(task.getSite());
+        boolean bulkLoad = bulkLoader.isLoading(siteId);
+        if (bulkLoad) {
+            bulkLoader.open(siteId);
         } else {
-            siteRepository.updateLastError(siteId, result.getError());
+            lemmaCache.open(siteId);
+        }
+        IndexingStatusResponse result = job.getExecutor().crawl(task);
+        writeBehindBuffer.awaitIdle(task);
+        if (bulkLoad && !bulkLoader.finish(siteId) && result.isResult()) {
+            result = IndexingResponseGenerator.bulkLoadFailed();
+        }
+        lemmaCache.release(siteId);
+
+        if (job.isLeased() && !leaseManager.finish(siteId)) {
+            frontierRegistry.remove(siteId);
+        } else {
+            if (result.isResult()) {
+                pageRankJob.run(task.getSite());
+                siteRepository.updateStatus(siteId, SiteStatus.INDEXED);
+            } else {
+                siteRepository.updateLastError(siteId, result.getError());
+            }
+            if (job.isCancelled()) {
+                frontierRegistry.remove(siteId);
+            } else {
+                frontierRegistry.complete(siteId);
+            }
+            contentStore.collectGarbage();
         }
-        PageCache.clearSitePagesCache(siteId);
 
-        if (siteRepository.findAll().stream()
-                .noneMatch(site -> site.getStatus().equals(SiteStatus.INDEXING))) {
-            pool.shutdown();
-            WebsiteParser.setParsingStopped(true);
+        pageCache.clearSitePagesCache(siteId);
+        duplicateCache.clearSite(siteId);
+        crawlArchive.close(siteId);
+        job.getExecutor().shutdown();
+        crawlJobRegistry.finish(job);
+    }
+
+    private void loadFingerprints(Site site) {
+        duplicateCache.clearSite(site.getId());
+        for (Object[] row : pageRepository.findSimHashesBySiteId(site.getId())) {
+            duplicateCache.register(site.getId(), (String) row[0], (Long) row[1]);
         }
     }
 
     @Override
     public IndexingStatusResponse stopIndexing() {
-        if (WebsiteParser.isParsingStopped()) return IndexingResponseGenerator.noIndexingRunning();
+        if (leaseManager.isEnabled()) return stopClusterRun();
+        if (!crawlJobRegistry.cancelAll()) return IndexingResponseGenerator.noIndexingRunning();
+
+        markIndexingSitesStopped();
+
+        return IndexingResponseGenerator.successResponse();
+    }
+
+    private synchronized IndexingStatusResponse stopClusterRun() {
+        if (!leaseManager.stopRun()) return IndexingResponseGenerator.noIndexingRunning();
+
+        leaveClusterRun();
+        markIndexingSitesStopped();
+
+        return IndexingResponseGenerator.successResponse();
+    }
 
-        WebsiteParser.setParsingStopped(true);
-        pool.shutdown();
-        PageCache.clearCache();
+    private void markIndexingSitesStopped() {
         siteRepository.findAll().stream()
                 .filter(site -> site.getStatus().equals(SiteStatus.INDEXING))
-                .forEach(site -> siteRepository.updateLastError(site.getId(), "User stopped indexing"));
+                .forEach(site -> siteRepository.updateLastError(site.getId(), USER_STOPPED_INDEXING));
+    }
+
+    @Override
+    public IndexingStatusResponse resumeIndexing() {
+        if (leaseManager.isEnabled()) return requestClusterRun(true);
+
+        List<Site> sitesToResume = siteRepository.findAll().stream()
+                .filter(site -> site.getStatus() != SiteStatus.INDEXED && frontierRegistry.hasJournal(site.getId()))
+                .toList();
+        if (sitesToResume.isEmpty()) return IndexingResponseGenerator.nothingToResume();
+
+        List<CrawlJob> jobs = crawlJobRegistry.reserveAll(sitesToResume.stream().map(Site::getUrl).toList());
+        if (jobs == null) return IndexingResponseGenerator.indexingAlreadyStarted();
+
+        CompletableFuture.runAsync(() -> sitesToResume.forEach(site -> launch(findJob(jobs, site), resume(site))));
 
         return IndexingResponseGenerator.successResponse();
     }
 
+    private WebsiteParser resume(Site site) {
+        siteRepository.updateStatus(site.getId(), SiteStatus.INDEXING);
+        if (bulkLoader.hasInterruptedLoad(site.getId())) {
+            bulkLoader.discardInterruptedLoad(site.getId());
+            clearSiteData(site.getId());
+            return new WebsiteParser(crawlContext, site, UrlWorker.appendSlashToUrlEnd(site.getUrl()));
+        }
+        JournalState state = frontierRegistry.readJournal(site.getId());
+        state.getInterrupted().keySet().forEach(path -> removePageData(site.getId(), path));
+
+        WebsiteParser parser = new WebsiteParser(crawlContext, site, UrlWorker.appendSlashToUrlEnd(site.getUrl()));
+        parser.resumeFrom(state);
+
+        return parser;
+    }
+
+    private void removePageData(int siteId, String path) {
+        Page page = pageRepository.findBySiteIdAndPath(siteId, path);
+        if (page == null) return;
+
+        lemmaRepository.decrementFrequencyByPageId(page.getId());
+        indexRepository.deleteByPageId(page.getId());
+        deleteUnusedLemmas(siteId);
+        pageRepository.deleteById(page.getId());
+    }
+
+    private void touchSite(int siteId) {
+        if (!writeBehindBuffer.deferHeartbeat(siteId)) siteRepository.updateStatusTime(siteId);
+    }
+
+    private void deleteUnusedLemmas(int siteId) {
+        List<Integer> unusedIds = lemmaCache.claimUnused(siteId);
+        if (unusedIds == null) {
+            lemmaRepository.deleteUnusedBySiteId(siteId);
+        } else if (!unusedIds.isEmpty()) {
+            lemmaRepository.deleteUnusedByIds(unusedIds);
+        }
+    }
+
     @Override
     public IndexingStatusResponse indexPage(String url) {
         url = url.trim();
         String baseUrl = UrlWorker.getBaseUrl(url);
         Site site = findSiteToIndexPage(baseUrl);
         if (site == null) return IndexingResponseGenerator.siteNotAdded();
-        String pageUrl = UrlWorker.removeDomainFromUrl(site.getUrl(), UrlWorker.appendSlashToUrlEnd(url));
+        if (bulkLoader.isLoading(site.getId())) return IndexingResponseGenerator.indexingAlreadyStarted();
+        String pageUrl = new UrlCanonicalizer(site.getUrl()).canonicalize(url);
+        if (pageUrl == null) return IndexingResponseGenerator.contentUnavailable(url);
 
         clearTablesBeforeIndexPage(site, pageUrl);
-        WebsiteParser.setParsingStopped(false);
-        CompletableFuture.runAsync(() -> {
-            WebsiteParser task = new WebsiteParser(this, site, pageUrl);
-            task.indexPage();
-            WebsiteParser.setParsingStopped(true);
-        });
+        CompletableFuture.runAsync(() -> new WebsiteParser(crawlContext, site, pageUrl).indexPage());
 
         return IndexingResponseGenerator.successResponse();
     }
 
+    @Override
+    public RevisitOutcome refreshPage(Site site, String path) {
+        return new WebsiteParser(crawlContext, site, path).refreshPage();
+    }
+
     private Site findSiteToIndexPage(String baseUrl) {
         Site site = siteRepository.findByUrl(baseUrl);
         if (site == null) {
@@ -145,17 +543,33 @@ public class IndexingServiceImpl implements IndexingService {
 
     private void clearTablesBeforeStartIndexing() {
         indexRepository.deleteAllInBatch();
+        indexRepository.deleteAllStaged();
+        lemmaRepository.deleteAllStagedIds();
         lemmaRepository.deleteAllInBatch();
+        lemmaCache.clearCache();
+        pageAliasRepository.deleteAllInBatch();
         pageRepository.deleteAllInBatch();
+        contentStore.clear();
         siteRepository.deleteAllInBatch();
     }
 
+    private void clearSiteData(int siteId) {
+        frontierRegistry.remove(siteId);
+        indexRepository.deleteBySiteId(siteId);
+        lemmaRepository.deleteBySiteId(siteId);
+        lemmaCache.discard(siteId);
+        pageAliasRepository.deleteBySiteId(siteId);
+        pageRepository.deleteBySiteId(siteId);
+        contentStore.collectGarbage();
+    }
+
     private void clearTablesBeforeIndexPage(Site site, String pageUrl) {
         Page page = site.getPages().stream()
                 .filter(sitePage -> sitePage.getPath().equals(pageUrl))
                 .findFirst().orElse(null);
         if (page == null) return;
 
+        lemmaCache.flush(site.getId());
         List<Lemma> lemmasToRemove = new ArrayList<>();
         Set<Lemma> pageLemmas = page.getPageLemmas();
         indexRepository.deleteAllInBatch(page.getIndexes());
@@ -167,6 +581,7 @@ public class IndexingServiceImpl implements IndexingService {
             }
         }
         lemmasToRemove.forEach(site.getLemmas()::remove);
+        lemmaCache.evict(site.getId(), lemmasToRemove.stream().map(Lemma::getLemma).toList());
         lemmaRepository.deleteAllInBatch(lemmasToRemove);
         site.getPages().remove(page);
         pageRepository.delete(page);
@@ -184,24 +599,81 @@ public class IndexingServiceImpl implements IndexingService {
 
     @Override
     public void indexParsedData(Site site, Page page, Map<String, Integer> lemmasAndFrequencies) {
-        if (WebsiteParser.isParsingStopped()) return;
         int siteId = site.getId();
 
-        lock.lock();
-        try {
-            if (PageCache.pageIndexed(siteId, page.getPath())) return;
+        page.setContentKey(contentStore.put(page.getContent()));
+        if (!indexWriter.insertPage(page)) return;
 
-            pageRepository.save(page);
-            PageCache.addPageForSite(siteId, page.getPath());
-        } finally {
-            lock.unlock();
-        }
+        pageRankJob.saveLinks(page.getId(), page.getOutlinks());
 
-        lemmasAndFrequencies.forEach((l, f) -> {
-            lemmaRepository.save(siteId, l);
-            indexRepository.save(siteId, page.getPath(), l, f);
+        indexWriter.write(siteId, page.getId(), page.getPath(), lemmasAndFrequencies);
+
+        touchSite(siteId);
+    }
+
+    @Override
+    public Page findStoredPage(Site site, String path) {
+        return pageRepository.findBySiteIdAndPath(site.getId(), path);
+    }
+
+    @Override
+    public void writeLeased(Site site, long leaseToken, Runnable write) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!leaseManager.holds(site.getId(), leaseToken)) {
+                throw new IllegalStateException("Lease on site " + site.getUrl() + " is no longer held by this node");
+            }
+            write.run();
         });
+    }
 
-        siteRepository.updateStatusTime(siteId);
+    @Override
+    public void reindexParsedData(Site site, Page storedPage, Page page, Map<String, Integer> lemmasAndFrequencies) {
+        transactionTemplate.executeWithoutResult(status -> reindex(site, storedPage, page, lemmasAndFrequencies));
+    }
+
+    private void reindex(Site site, Page storedPage, Page page, Map<String, Integer> lemmasAndFrequencies) {
+        int siteId = site.getId();
+
+        storedPage.setCode(page.getCode());
+        storedPage.setContentKey(contentStore.put(page.getContent()));
+        storedPage.setContentHash(page.getContentHash());
+        storedPage.setSimHash(page.getSimHash());
+        storedPage.setEtag(page.getEtag());
+        storedPage.setLastModified(page.getLastModified());
+        pageRepository.save(storedPage);
+        pageRankJob.saveLinks(storedPage.getId(), page.getOutlinks());
+
+        Map<String, Integer> newLemmas = new HashMap<>(lemmasAndFrequencies);
+        List<Index> removedIndexes = new ArrayList<>();
+        for (Index index : indexRepository.findByPageIdWithLemma(storedPage.getId())) {
+            Lemma lemma = index.getLemma();
+            Integer rank = newLemmas.remove(lemma.getLemma());
+            if (rank == null) {
+                removedIndexes.add(index);
+                lemmaRepository.decrementFrequencyById(lemma.getId());
+            } else if (rank != index.getRank()) {
+                indexRepository.updateRank(index.getId(), rank);
+            }
+        }
+
+        if (!removedIndexes.isEmpty()) {
+            indexRepository.deleteAllInBatch(removedIndexes);
+            deleteUnusedLemmas(siteId);
+        }
+        indexWriter.write(siteId, storedPage.getId(), storedPage.getPath(), newLemmas);
+        lemmaCache.flush(siteId);
+
+        touchSite(siteId);
+    }
+
+    @Override
+    public void removeIndexedPage(Site site, String path) {
+        removePageData(site.getId(), path);
+        touchSite(site.getId());
+    }
+
+    @Override
+    public void recordAlias(Site site, String path, String originalPath, int distance) {
+        pageAliasRepository.save(site.getId(), path, originalPath, distance);
     }
 }
@@ -0,0 +1,7 @@
+package searchengine.services.metrics;
+
+import searchengine.dto.metrics.MetricsResponse;
+
+public interface MetricsService {
+    MetricsResponse getMetrics();
+}
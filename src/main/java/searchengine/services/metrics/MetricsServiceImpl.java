@@ -0,0 +1,134 @@
+package searchengine.services.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import searchengine.cache.DuplicateCache;
+import searchengine.cache.LemmaCache;
+import searchengine.cache.PageCache;
+import searchengine.cache.TemplateCache;
+import searchengine.dto.metrics.CrawlThroughputMetrics;
+import searchengine.dto.metrics.MetricsData;
+import searchengine.dto.metrics.MetricsResponse;
+import searchengine.utils.cluster.LeaseManager;
+import searchengine.utils.executors.CrawlExecutorFactory;
+import searchengine.utils.executors.CrawlThroughput;
+import searchengine.utils.executors.VirtualThreads;
+import searchengine.utils.fetchers.PageFetcherProvider;
+import searchengine.utils.frontier.FrontierRegistry;
+import searchengine.utils.graph.PageRankJob;
+import searchengine.utils.jobs.CrawlJobRegistry;
+import searchengine.utils.pipeline.BulkLoader;
+import searchengine.utils.pipeline.IndexWriter;
+import searchengine.utils.pipeline.IndexingPipeline;
+import searchengine.utils.pipeline.WriteBehindBuffer;
+import searchengine.utils.politeness.PolitenessScheduler;
+import searchengine.utils.recrawl.RecrawlScheduler;
+
+@Service
+public class MetricsServiceImpl implements MetricsService {
+
+    private final PageCache pageCache;
+
+    private final PolitenessScheduler politenessScheduler;
+
+    private final CrawlExecutorFactory crawlExecutorFactory;
+
+    private final CrawlThroughput throughput;
+
+    private final FrontierRegistry frontierRegistry;
+
+    private final PageFetcherProvider pageFetcherProvider;
+
+    private final IndexingPipeline pipeline;
+
+    private final LeaseManager leaseManager;
+
+    private final DuplicateCache duplicateCache;
+
+    private final CrawlJobRegistry crawlJobRegistry;
+
+    private final RecrawlScheduler recrawlScheduler;
+
+    private final TemplateCache templateCache;
+
+    private final PageRankJob pageRankJob;
+
+    private final IndexWriter indexWriter;
+
+    private final LemmaCache lemmaCache;
+
+    private final WriteBehindBuffer writeBehindBuffer;
+
+    private final BulkLoader bulkLoader;
+
+    @Autowired
+    public MetricsServiceImpl(PageCache pageCache, PolitenessScheduler politenessScheduler,
+                              CrawlExecutorFactory crawlExecutorFactory, CrawlThroughput throughput,
+                              FrontierRegistry frontierRegistry, PageFetcherProvider pageFetcherProvider,
+                              IndexingPipeline pipeline, LeaseManager leaseManager,
+                              DuplicateCache duplicateCache, CrawlJobRegistry crawlJobRegistry,
+                              RecrawlScheduler recrawlScheduler, TemplateCache templateCache,
+                              PageRankJob pageRankJob, IndexWriter indexWriter, LemmaCache lemmaCache,
+                              WriteBehindBuffer writeBehindBuffer, BulkLoader bulkLoader) {
+        this.pageCache = pageCache;
+        this.politenessScheduler = politenessScheduler;
+        this.crawlExecutorFactory = crawlExecutorFactory;
+        this.throughput = throughput;
+        this.frontierRegistry = frontierRegistry;
+        this.pageFetcherProvider = pageFetcherProvider;
+        this.pipeline = pipeline;
+        this.leaseManager = leaseManager;
+        this.duplicateCache = duplicateCache;
+        this.crawlJobRegistry = crawlJobRegistry;
+        this.recrawlScheduler = recrawlScheduler;
+        this.templateCache = templateCache;
+        this.pageRankJob = pageRankJob;
+        this.indexWriter = indexWriter;
+        this.lemmaCache = lemmaCache;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.bulkLoader = bulkLoader;
+    }
+
+    @Override
+    public MetricsResponse getMetrics() {
+        MetricsData metricsData = new MetricsData();
+        metricsData.setCrawl(configureCrawlMetrics());
+        metricsData.setVisitedCacheMemoryUsed(pageCache.getMemoryBudgetUsed());
+        metricsData.setVisitedCacheMemoryLimit(pageCache.getMemoryBudgetLimit());
+        metricsData.setVisitedCache(pageCache.getMetrics());
+        metricsData.setHostRates(politenessScheduler.getMetrics());
+        metricsData.setFrontiers(frontierRegistry.getMetrics());
+        metricsData.setFetcher(pageFetcherProvider.getFetcher().getMetrics());
+        metricsData.setPipeline(pipeline.getMetrics());
+        metricsData.setIndexWrites(indexWriter.getMetrics());
+        metricsData.setWriteBehind(writeBehindBuffer.getMetrics());
+        metricsData.setBulkLoad(bulkLoader.getMetrics());
+        metricsData.setDictionary(lemmaCache.getMetrics());
+        metricsData.setCluster(leaseManager.getMetrics());
+        metricsData.setDedup(duplicateCache.getMetrics());
+        metricsData.setBoilerplate(templateCache.getMetrics());
+        metricsData.setLinkGraph(pageRankJob.getMetrics());
+        metricsData.setJobs(crawlJobRegistry.getMetrics());
+        metricsData.setRecrawl(recrawlScheduler.getMetrics());
+
+        MetricsResponse response = new MetricsResponse();
+        response.setMetrics(metricsData);
+        response.setResult(true);
+
+        return response;
+    }
+
+    private CrawlThroughputMetrics configureCrawlMetrics() {
+        CrawlThroughputMetrics metrics = new CrawlThroughputMetrics();
+        metrics.setMode(crawlExecutorFactory.getMode());
+        metrics.setVirtualThreadsSupported(VirtualThreads.isSupported());
+        metrics.setFetchedPages(throughput.getFetchedPages());
+        metrics.setUnchangedPages(throughput.getUnchangedPages());
+        metrics.setRejectedPages(throughput.getRejectedPages());
+        metrics.setDisallowedLinks(throughput.getDisallowedLinks());
+        metrics.setDuplicatePages(throughput.getDuplicatePages());
+        metrics.setPagesPerSecond(throughput.getPagesPerSecond());
+
+        return metrics;
+    }
+}
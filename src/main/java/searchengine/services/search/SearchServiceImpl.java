@@ -2,6 +2,7 @@ package searchengine.services.search;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import searchengine.config.RankSettings;
 import searchengine.dto.search.LastSearch;
 import searchengine.repositories.IndexRepository;
 import searchengine.repositories.LemmaRepository;
@@ -10,6 +11,7 @@ import searchengine.repositories.SiteRepository;
 import searchengine.dto.search.SearchResponse;
 import searchengine.dto.search.SearchServiceResult;
 import searchengine.model.*;
+import searchengine.utils.content.ContentStore;
 import searchengine.utils.lemmas.Lemmatizator;
 import searchengine.utils.responsegenerators.SearchResponseGenerator;
 import searchengine.utils.workers.HtmlWorker;
@@ -36,16 +38,23 @@ public class SearchServiceImpl implements SearchService {
 
     private final IndexRepository indexRepository;
 
+    private final ContentStore contentStore;
+
+    private final RankSettings rankSettings;
+
     private final AtomicReference<Float> absRelevance = new AtomicReference<>(-1.0f);
 
     @Autowired
     public SearchServiceImpl(SiteRepository siteRepository, PageRepository pageRepository,
-                             LemmaRepository lemmaRepository, IndexRepository indexRepository) {
+                             LemmaRepository lemmaRepository, IndexRepository indexRepository,
+                             ContentStore contentStore, RankSettings rankSettings) {
 
         this.siteRepository = siteRepository;
         this.pageRepository = pageRepository;
         this.lemmaRepository = lemmaRepository;
         this.indexRepository = indexRepository;
+        this.contentStore = contentStore;
+        this.rankSettings = rankSettings;
     }
 
     @Override
@@ -53,13 +62,16 @@ public class SearchServiceImpl implements SearchService {
         if (query.isBlank()) return SearchResponseGenerator.emptyQuery();
         LocalDateTime startTime = LocalDateTime.now();
 
+        int required = offset + limit;
         lock.lock();
         try {
-            if (!query.equals(LastSearch.getQuery()) || !siteUrl.equals(LastSearch.getSite())) {
+            if (!query.equals(LastSearch.getQuery()) || !siteUrl.equals(LastSearch.getSite()) ||
+                    isTruncated(LastSearch.getResponse(), required)) {
                 LastSearch.clear();
                 LastSearch.setQuery(query);
                 LastSearch.setSite("");
-                LastSearch.setResponse(siteUrl.equals("") ? globalSearch(query) : siteSearch(query, siteUrl));
+                LastSearch.setResponse(siteUrl.equals("") ?
+                        globalSearch(query, required) : siteSearch(query, siteUrl, required));
             }
         } finally {
             lock.unlock();
@@ -72,6 +84,7 @@ public class SearchServiceImpl implements SearchService {
                     .skip(offset)
                     .limit(limit)
                     .toArray(SearchServiceResult[]::new));
+            fillTitlesAndSnippets(response.getData(), new HashSet<>(Lemmatizator.getLemmas(query).keySet()));
         }
 
         LocalDateTime endTime = LocalDateTime.now();
@@ -80,37 +93,82 @@ public class SearchServiceImpl implements SearchService {
         return response;
     }
 
-    private SearchResponse commonSearch(String query, String siteUrl) {
+    private boolean isTruncated(SearchResponse response, int required) {
+        return response != null && response.getData() != null &&
+                response.getData().length < Math.min(response.getCount(), required);
+    }
+
+    private SearchResponse commonSearch(String query, String siteUrl, int limit) {
         Site site = siteRepository.findByUrl(siteUrl);
         if (site == null || site.getStatus() == SiteStatus.INDEXING)
             return SearchResponseGenerator.siteNotIndexed();
         int siteId = site.getId();
         int pageCount = pageRepository.countBySiteId(siteId);
-        Set<String> searchQueryWords = new HashSet<>(Lemmatizator.getLemmas(query).keySet());
-        List<Lemma> lemmas = getQueryLemmasAscendingFrequency(query, siteId, pageCount);
-        List<Page> pages = getPagesWithAllLemmas(lemmas);
+        List<Integer> lemmaIds = getQueryLemmasAscendingFrequency(query, siteId, pageCount).stream()
+                .map(Lemma::getId)
+                .toList();
+        if (lemmaIds.isEmpty()) return SearchResponseGenerator.noResults();
 
-        if (pages.isEmpty()) return SearchResponseGenerator.noResults();
+        int matchedPages = indexRepository.countPagesWithAllLemmas(lemmaIds, lemmaIds.size());
+        if (matchedPages == 0) return SearchResponseGenerator.noResults();
 
-        Map<Page, Set<Index>> pageAndIndexes = new HashMap<>();
-        pages.forEach(page -> pageAndIndexes.put(page, indexRepository.findByPageIdAndLemmasId(page.getId(),
-                lemmas.parallelStream()
-                        .map(Lemma::getId)
-                        .toList())));
-        absRelevance.set(Math.max(absRelevance.get(), RelevanceWorker.getAbsRelevance(pageAndIndexes.values())));
+        List<Map.Entry<Integer, Float>> topPages = findTopPages(lemmaIds, Math.min(limit, matchedPages));
+        if (topPages.isEmpty()) return SearchResponseGenerator.noResults();
+        absRelevance.set(Math.max(absRelevance.get(), topPages.get(0).getValue()));
 
-        return SearchResponseGenerator
-                .resultsFound(pages.size(), searchResults(searchQueryWords, pageAndIndexes));
+        return SearchResponseGenerator.resultsFound(matchedPages, searchResults(site, topPages));
     }
 
-    private SearchResponse siteSearch(String query, String siteUrl) {
-        SearchResponse response = commonSearch(query, siteUrl);
+    private List<Map.Entry<Integer, Float>> findTopPages(List<Integer> lemmaIds, int limit) {
+        if (limit <= 0) return new ArrayList<>();
+
+        PriorityQueue<Map.Entry<Integer, Float>> topPages = new PriorityQueue<>(Map.Entry.comparingByValue());
+        float maxRelevance = (float) indexRepository.sumMaxRanks(lemmaIds);
+        int chunkSize = Math.max(rankSettings.getSearchChunkSize(), limit);
+        float lastPageRank = Float.MAX_VALUE;
+        int lastPageId = Integer.MAX_VALUE;
+
+        while (true) {
+            List<Object[]> postings = indexRepository.findPostingsByStaticRank(lemmaIds.get(0), lastPageRank,
+                    lastPageId, chunkSize);
+            if (postings.isEmpty()) break;
+
+            Map<Integer, Float> relevance = new HashMap<>();
+            List<Integer> pageIds = postings.stream().map(row -> ((Number) row[0]).intValue()).toList();
+            for (Object[] row : indexRepository.sumRanksByPageIds(pageIds, lemmaIds, lemmaIds.size())) {
+                relevance.put(((Number) row[0]).intValue(), ((Number) row[1]).floatValue());
+            }
+
+            for (Object[] row : postings) {
+                lastPageId = ((Number) row[0]).intValue();
+                lastPageRank = ((Number) row[1]).floatValue();
+                Float pageRelevance = relevance.get(((Number) row[0]).intValue());
+                if (pageRelevance == null) continue;
+
+                topPages.add(Map.entry(((Number) row[0]).intValue(),
+                        RelevanceWorker.applyStaticRank(pageRelevance, lastPageRank, rankSettings.getWeight())));
+                if (topPages.size() > limit) topPages.poll();
+            }
+
+            if (postings.size() < chunkSize) break;
+            if (topPages.size() == limit && topPages.peek().getValue() >=
+                    RelevanceWorker.applyStaticRank(maxRelevance, lastPageRank, rankSettings.getWeight())) break;
+        }
+
+        List<Map.Entry<Integer, Float>> ranked = new ArrayList<>(topPages);
+        ranked.sort(Map.Entry.<Integer, Float>comparingByValue().reversed());
+
+        return ranked;
+    }
+
+    private SearchResponse siteSearch(String query, String siteUrl, int limit) {
+        SearchResponse response = commonSearch(query, siteUrl, limit);
 
         if (!response.isResult()) return response;
         return calculateSearchResponsesRelevance(List.of(response)).get(0);
     }
 
-    private SearchResponse globalSearch(String query) {
+    private SearchResponse globalSearch(String query, int limit) {
         List<Site> sites = siteRepository.findAll().stream()
                 .filter(site -> site.getStatus() != SiteStatus.INDEXING)
                 .toList();
@@ -118,7 +176,7 @@ public class SearchServiceImpl implements SearchService {
         if (sites.isEmpty()) return SearchResponseGenerator.noSitesIndexed();
 
         List<SearchResponse> sitesResponses = sites.stream()
-                .map(site -> commonSearch(query, site.getUrl()))
+                .map(site -> commonSearch(query, site.getUrl(), limit))
                 .filter(SearchResponse::isResult)
                 .toList();
 
@@ -156,31 +214,34 @@ public class SearchServiceImpl implements SearchService {
         return res;
     }
 
-    private List<Page> getPagesWithAllLemmas(List<Lemma> lemmas) {
-        if (lemmas.isEmpty()) return new ArrayList<>();
-        if (lemmas.size() == 1) return lemmas.get(0).getLemmaPages().parallelStream().toList();
-        return lemmas.get(0).getLemmaPages().stream()
-                .filter(page -> page.getPageLemmas().containsAll(lemmas))
-                .toList();
-    }
+    private SearchServiceResult[] searchResults(Site site, List<Map.Entry<Integer, Float>> topPages) {
+        Map<Integer, Page> pages = new HashMap<>();
+        pageRepository.findAllById(topPages.stream().map(Map.Entry::getKey).toList())
+                .forEach(page -> pages.put(page.getId(), page));
 
-    private SearchServiceResult[] searchResults(Set<String> words,
-                                                Map<Page, Set<Index>> pageAndIndexes) {
-        return pageAndIndexes.keySet().parallelStream()
-                .map(page -> {
+        return topPages.stream()
+                .filter(entry -> pages.containsKey(entry.getKey()))
+                .map(entry -> {
+                    Page page = pages.get(entry.getKey());
                     SearchServiceResult result = new SearchServiceResult();
-                    result.setSite(page.getSite().getUrl());
-                    result.setSiteName(page.getSite().getName());
+                    result.setSite(site.getUrl());
+                    result.setSiteName(site.getName());
                     result.setUri(page.getPath());
-                    result.setTitle(HtmlWorker.getPageTitle(page.getContent()));
-                    result.setSnippet(SnippetWorker.getSnippet(words, HtmlWorker.clearFromHtml(page.getContent())));
-                    result.setRelevance((float) pageAndIndexes.get(page).parallelStream()
-                            .mapToDouble(Index::getRank)
-                            .sum());
+                    result.setContentKey(page.getContentKey());
+                    result.setRelevance(entry.getValue());
 
                     return result;
                 })
-                .sorted(Comparator.comparingDouble(SearchServiceResult::getRelevance).reversed())
                 .toArray(SearchServiceResult[]::new);
     }
+
+    private void fillTitlesAndSnippets(SearchServiceResult[] results, Set<String> words) {
+        Arrays.stream(results).parallel()
+                .filter(result -> result.getSnippet() == null)
+                .forEach(result -> {
+                    String content = contentStore.get(result.getContentKey());
+                    result.setTitle(HtmlWorker.getPageTitle(content));
+                    result.setSnippet(SnippetWorker.getSnippet(words, HtmlWorker.clearFromHtml(content)));
+                });
+    }
 }
@@ -10,8 +10,10 @@ import searchengine.dto.statistics.TotalStatistics;
 import searchengine.model.Site;
 import searchengine.model.SiteStatus;
 import searchengine.repositories.LemmaRepository;
+import searchengine.repositories.PageAliasRepository;
 import searchengine.repositories.PageRepository;
 import searchengine.repositories.SiteRepository;
+import searchengine.utils.health.HostHealthRegistry;
 import searchengine.utils.workers.UrlWorker;
 
 import java.util.List;
@@ -25,16 +27,23 @@ public class StatisticsServiceImpl implements StatisticsService {
 
     private final LemmaRepository lemmaRepository;
 
+    private final PageAliasRepository pageAliasRepository;
+
     private final SitesList configSites;
+
+    private final HostHealthRegistry hostHealth;
     
     @Autowired
     public StatisticsServiceImpl(SiteRepository siteRepository, PageRepository pageRepository,
-                                 LemmaRepository lemmaRepository, SitesList configSites) {
+                                 LemmaRepository lemmaRepository, PageAliasRepository pageAliasRepository,
+                                 SitesList configSites, HostHealthRegistry hostHealth) {
 
         this.siteRepository = siteRepository;
         this.pageRepository = pageRepository;
         this.lemmaRepository = lemmaRepository;
+        this.pageAliasRepository = pageAliasRepository;
         this.configSites = configSites;
+        this.hostHealth = hostHealth;
     }
 
     @Override
@@ -49,6 +58,7 @@ public class StatisticsServiceImpl implements StatisticsService {
 
                     totalStatistics.setPages(totalStatistics.getPages() + item.getPages());
                     totalStatistics.setLemmas(totalStatistics.getLemmas() + item.getLemmas());
+                    totalStatistics.setAliases(totalStatistics.getAliases() + item.getAliases());
 
                     return item;
         }).toList();
@@ -67,6 +77,7 @@ public class StatisticsServiceImpl implements StatisticsService {
         item.setStatus(SiteStatus.INDEXING);
         item.setError("Site has not been indexed yet");
         item.setStatusTime(System.currentTimeMillis());
+        item.setBreaker(hostHealth.getState(UrlWorker.getHost(configSite.getUrl())));
 
         return item;
     }
@@ -78,9 +89,12 @@ public class StatisticsServiceImpl implements StatisticsService {
         item.setUrl(site.getUrl());
         item.setPages(pageRepository.countBySiteId(siteId));
         item.setLemmas(lemmaRepository.countBySiteId(siteId));
+        item.setAliases(pageAliasRepository.countBySiteId(siteId));
         item.setStatus(site.getStatus());
         item.setError(site.getLastError() == null ? "" : site.getLastError());
         item.setStatusTime(site.getStatusTime().getTime());
+        item.setBreaker(hostHealth.getState(UrlWorker.getHost(site.getUrl())));
+        item.setRetriesLeft(hostHealth.getRemainingRetries(siteId));
 
         return item;
     }
@@ -0,0 +1,17 @@
+package searchengine.utils.archive;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+
+@Getter
+@RequiredArgsConstructor
+public class ArchiveLocation {
+
+    private final Path file;
+
+    private final long offset;
+
+    private final int length;
+}
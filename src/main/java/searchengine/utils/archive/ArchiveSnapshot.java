@@ -0,0 +1,37 @@
+package searchengine.utils.archive;
+
+import searchengine.dto.page.PageResponse;
+import searchengine.logging.ApplicationLogger;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+public class ArchiveSnapshot {
+
+    private final Map<String, ArchiveLocation> locations;
+
+    public ArchiveSnapshot(Map<String, ArchiveLocation> locations) {
+        this.locations = locations;
+    }
+
+    public Set<String> getPaths() {
+        return locations.keySet();
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    public PageResponse load(String path) {
+        ArchiveLocation location = locations.get(path);
+        if (location == null) return null;
+
+        try {
+            return WarcReader.read(location).toPageResponse();
+        } catch (IOException | RuntimeException e) {
+            ApplicationLogger.logError(e);
+            return null;
+        }
+    }
+}
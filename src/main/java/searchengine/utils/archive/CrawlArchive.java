@@ -0,0 +1,135 @@
+package searchengine.utils.archive;
+
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.ArchiveSettings;
+import searchengine.dto.page.PageResponse;
+import searchengine.logging.ApplicationLogger;
+import searchengine.model.Site;
+import searchengine.utils.workers.UrlWorker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+@Component
+public class CrawlArchive {
+
+    private final ArchiveSettings settings;
+
+    private final Map<Integer, WarcWriter> writers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger segmentSequence = new AtomicInteger();
+
+    @Autowired
+    public CrawlArchive(ArchiveSettings settings) {
+        this.settings = settings;
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    public void record(Site site, String path, PageResponse pageResponse) {
+        if (!settings.isEnabled() || pageResponse.isUnchanged() || pageResponse.isRejected()) return;
+
+        try {
+            WarcRecord record = WarcRecord.of(site.getUrl(), path, pageResponse);
+            WarcWriter writer = getWriter(site);
+            while (!writer.write(record)) writer = getWriter(site);
+            if (writer.size() >= settings.getMaxSegmentSize().toBytes()) rotate(site.getId(), writer);
+        } catch (IOException e) {
+            ApplicationLogger.logError(e);
+        }
+    }
+
+    public void close(int siteId) {
+        WarcWriter writer = writers.remove(siteId);
+        if (writer == null) return;
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            ApplicationLogger.logError(e);
+        }
+    }
+
+    private void rotate(int siteId, WarcWriter writer) {
+        if (!writers.remove(siteId, writer)) return;
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            ApplicationLogger.logError(e);
+        }
+    }
+
+    public boolean hasArchive(String siteUrl) {
+        return !listSegments(siteUrl).isEmpty();
+    }
+
+    public ArchiveSnapshot openSnapshot(String siteUrl) {
+        Map<String, ArchiveLocation> locations = new HashMap<>();
+        for (Path segment : listSegments(siteUrl)) {
+            try {
+                WarcReader.readIndex(segment, locations);
+            } catch (IOException | RuntimeException e) {
+                ApplicationLogger.logError(e);
+            }
+        }
+
+        return new ArchiveSnapshot(locations);
+    }
+
+    public int getReplayParallelism() {
+        return Math.max(1, settings.getReplayParallelism());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.keySet().forEach(this::close);
+    }
+
+    private WarcWriter getWriter(Site site) throws IOException {
+        WarcWriter writer = writers.get(site.getId());
+        if (writer != null) return writer;
+
+        synchronized (writers) {
+            writer = writers.get(site.getId());
+            if (writer == null) {
+                String name = String.format("%d-%05d%s", System.currentTimeMillis(),
+                        segmentSequence.incrementAndGet() % 100_000, WarcWriter.SEGMENT_EXTENSION);
+                writer = new WarcWriter(getSiteDirectory(site.getUrl()).resolve(name));
+                writers.put(site.getId(), writer);
+            }
+
+            return writer;
+        }
+    }
+
+    private List<Path> listSegments(String siteUrl) {
+        Path directory = getSiteDirectory(siteUrl);
+        if (!Files.isDirectory(directory)) return List.of();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(WarcWriter.SEGMENT_EXTENSION))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            ApplicationLogger.logError(e);
+            return List.of();
+        }
+    }
+
+    private Path getSiteDirectory(String siteUrl) {
+        return Paths.get(settings.getDirectory(), UrlWorker.getHost(siteUrl));
+    }
+}
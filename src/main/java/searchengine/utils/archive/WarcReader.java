@@ -0,0 +1,47 @@
+package searchengine.utils.archive;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+public class WarcReader {
+
+    public static WarcRecord read(ArchiveLocation location) throws IOException {
+        ByteBuffer member = ByteBuffer.allocate(location.getLength());
+        try (FileChannel channel = FileChannel.open(location.getFile(), StandardOpenOption.READ)) {
+            while (member.hasRemaining()) {
+                if (channel.read(member, location.getOffset() + member.position()) < 0) {
+                    throw new EOFException("Truncated archive segment " + location.getFile());
+                }
+            }
+        }
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(member.array()))) {
+            return WarcRecord.parse(in.readAllBytes());
+        }
+    }
+
+    public static void readIndex(Path segment, Map<String, ArchiveLocation> locations) throws IOException {
+        Path index = WarcWriter.getIndexFile(segment);
+        if (!Files.exists(index)) return;
+
+        long segmentSize = Files.size(segment);
+        try (BufferedReader reader = Files.newBufferedReader(index, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length != 3) continue;
+
+                ArchiveLocation location = new ArchiveLocation(segment, Long.parseLong(fields[1]),
+                        Integer.parseInt(fields[2]));
+                if (location.getOffset() + location.getLength() <= segmentSize) locations.put(fields[0], location);
+            }
+        }
+    }
+}
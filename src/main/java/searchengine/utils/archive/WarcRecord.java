@@ -0,0 +1,154 @@
+package searchengine.utils.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+import searchengine.dto.page.PageResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class WarcRecord {
+
+    private static final String VERSION = "WARC/1.0";
+
+    private static final String CRLF = "\r\n";
+
+    private static final byte[] HEADER_END = (CRLF + CRLF).getBytes(StandardCharsets.US_ASCII);
+
+    private String path;
+
+    private String targetUri;
+
+    private Instant date;
+
+    private int statusCode;
+
+    private String contentType;
+
+    private String etag;
+
+    private String lastModified;
+
+    private String body;
+
+    public static WarcRecord of(String siteUrl, String path, PageResponse pageResponse) {
+        WarcRecord warcRecord = new WarcRecord();
+        warcRecord.setPath(path);
+        warcRecord.setTargetUri(pageResponse.getUrl() == null ? siteUrl.concat(path) : pageResponse.getUrl());
+        warcRecord.setDate(Instant.now());
+        warcRecord.setStatusCode(pageResponse.getStatusCode());
+        warcRecord.setContentType(pageResponse.getContentType());
+        warcRecord.setEtag(pageResponse.getEtag());
+        warcRecord.setLastModified(pageResponse.getLastModified());
+        warcRecord.setBody(pageResponse.getResponseBody() == null ? "" : pageResponse.getResponseBody());
+
+        return warcRecord;
+    }
+
+    public PageResponse toPageResponse() {
+        PageResponse pageResponse = new PageResponse();
+        pageResponse.setPath(path);
+        pageResponse.setUrl(targetUri);
+        pageResponse.setStatusCode(statusCode);
+        pageResponse.setContentType(contentType);
+        pageResponse.setEtag(etag);
+        pageResponse.setLastModified(lastModified);
+        pageResponse.setResponseBody(body);
+
+        return pageResponse;
+    }
+
+    public byte[] toBytes() {
+        byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+        StringBuilder http = new StringBuilder("HTTP/1.1 ").append(statusCode).append(CRLF);
+        if (contentType != null) http.append("Content-Type: ").append(withUtf8(contentType)).append(CRLF);
+        if (etag != null) http.append("ETag: ").append(etag).append(CRLF);
+        if (lastModified != null) http.append("Last-Modified: ").append(lastModified).append(CRLF);
+        http.append("Content-Length: ").append(payload.length).append(CRLF).append(CRLF);
+        byte[] httpHeaders = http.toString().getBytes(StandardCharsets.UTF_8);
+
+        String warcHeaders = VERSION + CRLF +
+                "WARC-Type: response" + CRLF +
+                "WARC-Record-ID: <urn:uuid:" + UUID.randomUUID() + ">" + CRLF +
+                "WARC-Date: " + date + CRLF +
+                "WARC-Target-URI: " + targetUri + CRLF +
+                "X-Crawl-Path: " + path + CRLF +
+                "Content-Type: application/http; msgtype=response" + CRLF +
+                "Content-Length: " + (httpHeaders.length + payload.length) + CRLF + CRLF;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(warcHeaders.length() + httpHeaders.length +
+                payload.length + HEADER_END.length);
+        out.writeBytes(warcHeaders.getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(httpHeaders);
+        out.writeBytes(payload);
+        out.writeBytes(HEADER_END);
+
+        return out.toByteArray();
+    }
+
+    public static WarcRecord parse(byte[] data) {
+        int warcEnd = indexOf(data, HEADER_END, 0);
+        if (warcEnd < 0) throw new IllegalArgumentException("Malformed archive record");
+
+        Map<String, String> warcHeaders = parseHeaders(new String(data, 0, warcEnd, StandardCharsets.UTF_8));
+        if (!warcHeaders.containsKey(VERSION)) throw new IllegalArgumentException("Unsupported archive record");
+
+        int blockStart = warcEnd + HEADER_END.length;
+        int blockEnd = Math.min(data.length, blockStart + Integer.parseInt(warcHeaders.get("content-length")));
+        int httpEnd = indexOf(data, HEADER_END, blockStart);
+        if (httpEnd < 0 || httpEnd > blockEnd) throw new IllegalArgumentException("Malformed archive record");
+
+        String[] httpLines = new String(data, blockStart, httpEnd - blockStart, StandardCharsets.UTF_8).split(CRLF, 2);
+        Map<String, String> httpHeaders = parseHeaders(httpLines.length > 1 ? httpLines[1] : "");
+        int bodyStart = httpEnd + HEADER_END.length;
+
+        WarcRecord warcRecord = new WarcRecord();
+        warcRecord.setPath(warcHeaders.get("x-crawl-path"));
+        warcRecord.setTargetUri(warcHeaders.get("warc-target-uri"));
+        warcRecord.setDate(Instant.parse(warcHeaders.get("warc-date")));
+        warcRecord.setStatusCode(Integer.parseInt(httpLines[0].split(" ")[1]));
+        warcRecord.setContentType(httpHeaders.get("content-type"));
+        warcRecord.setEtag(httpHeaders.get("etag"));
+        warcRecord.setLastModified(httpHeaders.get("last-modified"));
+        warcRecord.setBody(new String(data, bodyStart, blockEnd - bodyStart, StandardCharsets.UTF_8));
+
+        return warcRecord;
+    }
+
+    private static Map<String, String> parseHeaders(String block) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String line : block.split(CRLF)) {
+            int colon = line.indexOf(':');
+            if (line.startsWith("WARC/") || colon < 0) {
+                headers.put(line.trim(), "");
+            } else {
+                headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+            }
+        }
+
+        return headers;
+    }
+
+    private static String withUtf8(String contentType) {
+        int parameters = contentType.indexOf(';');
+        return (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim() + "; charset=utf-8";
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer:
+        for (int i = from; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+
+        return -1;
+    }
+}
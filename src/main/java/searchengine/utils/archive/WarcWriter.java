@@ -0,0 +1,80 @@
+package searchengine.utils.archive;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+public class WarcWriter implements Closeable {
+
+    public static final String SEGMENT_EXTENSION = ".warc.gz";
+
+    public static final String INDEX_EXTENSION = ".cdx";
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final Writer index;
+
+    private boolean closed;
+
+    public WarcWriter(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.index = Files.newBufferedWriter(getIndexFile(file), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public static Path getIndexFile(Path segment) {
+        String name = segment.getFileName().toString();
+        return segment.resolveSibling(name.substring(0, name.length() - SEGMENT_EXTENSION.length()) + INDEX_EXTENSION);
+    }
+
+    public boolean write(WarcRecord record) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(record.toBytes());
+        }
+
+        return append(record.getPath(), buffer);
+    }
+
+    private synchronized boolean append(String path, ByteArrayOutputStream buffer) throws IOException {
+        if (closed) return false;
+
+        long offset = channel.size();
+        ByteBuffer member = ByteBuffer.wrap(buffer.toByteArray());
+        while (member.hasRemaining()) channel.write(member);
+        index.write(path + '\t' + offset + '\t' + buffer.size() + '\n');
+        index.flush();
+
+        return true;
+    }
+
+    public synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+
+        closed = true;
+        try {
+            index.close();
+        } finally {
+            channel.close();
+        }
+    }
+}
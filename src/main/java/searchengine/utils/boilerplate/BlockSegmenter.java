@@ -0,0 +1,77 @@
+package searchengine.utils.boilerplate;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import searchengine.utils.workers.HashWorker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class BlockSegmenter {
+
+    private static final Set<String> SKIPPED_TAGS = Set.of("script", "style", "noscript", "template", "svg",
+            "iframe", "head");
+
+    private static final Set<String> SEMANTIC_BOILERPLATE_TAGS = Set.of("nav", "header", "footer", "aside");
+
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    public static List<TextBlock> segment(Document doc) {
+        List<TextBlock> blocks = new ArrayList<>();
+        if (doc.body() != null) collect(doc.body(), false, blocks);
+
+        return blocks;
+    }
+
+    public static long fingerprint(String text) {
+        String normalized = SPACES.matcher(DIGITS.matcher(text.toLowerCase()).replaceAll("")).replaceAll(" ").trim();
+        return HashWorker.hash64(normalized);
+    }
+
+    private static void collect(Element element, boolean semantic, List<TextBlock> blocks) {
+        if (SKIPPED_TAGS.contains(element.normalName())) return;
+        semantic = semantic || SEMANTIC_BOILERPLATE_TAGS.contains(element.normalName());
+
+        StringBuilder text = new StringBuilder();
+        int linkChars = 0;
+        for (Node child : element.childNodes()) {
+            if (child instanceof TextNode textNode) {
+                text.append(textNode.text());
+            } else if (child instanceof Element childElement) {
+                if (SKIPPED_TAGS.contains(childElement.normalName())) continue;
+                if (childElement.isBlock()) {
+                    flush(text, linkChars, semantic, blocks);
+                    text.setLength(0);
+                    linkChars = 0;
+                    collect(childElement, semantic, blocks);
+                } else {
+                    text.append(' ').append(childElement.text()).append(' ');
+                    linkChars += countLinkChars(childElement);
+                }
+            }
+        }
+        flush(text, linkChars, semantic, blocks);
+    }
+
+    private static void flush(StringBuilder text, int linkChars, boolean semantic, List<TextBlock> blocks) {
+        String blockText = SPACES.matcher(text).replaceAll(" ").trim();
+        if (blockText.isEmpty()) return;
+
+        blocks.add(new TextBlock(blockText, fingerprint(blockText), Math.min(linkChars, blockText.length()), semantic));
+    }
+
+    private static int countLinkChars(Element element) {
+        if (element.normalName().equals("a")) return element.text().length();
+
+        int linkChars = 0;
+        for (Element link : element.select("a")) linkChars += link.text().length();
+
+        return linkChars;
+    }
+}
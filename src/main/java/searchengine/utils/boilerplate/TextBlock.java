@@ -0,0 +1,21 @@
+package searchengine.utils.boilerplate;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class TextBlock {
+
+    private final String text;
+
+    private final long fingerprint;
+
+    private final int linkChars;
+
+    private final boolean semantic;
+
+    public double getLinkDensity() {
+        return text.isEmpty() ? 0 : (double) linkChars / text.length();
+    }
+}
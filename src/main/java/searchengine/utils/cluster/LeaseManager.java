@@ -0,0 +1,225 @@
+package searchengine.utils.cluster;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import searchengine.config.ClusterSettings;
+import searchengine.dto.metrics.ClusterMetrics;
+import searchengine.logging.ApplicationLogger;
+import searchengine.model.CrawlRun;
+import searchengine.model.CrawlRunStatus;
+import searchengine.model.Site;
+import searchengine.model.SiteLease;
+import searchengine.repositories.CrawlNodeRepository;
+import searchengine.repositories.CrawlRunRepository;
+import searchengine.repositories.SiteLeaseRepository;
+
+import javax.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class LeaseManager {
+
+    private final Map<Integer, SiteLease> held = new ConcurrentHashMap<>();
+
+    private final ClusterSettings settings;
+
+    private final CrawlNodeRepository nodeRepository;
+
+    private final CrawlRunRepository runRepository;
+
+    private final SiteLeaseRepository leaseRepository;
+
+    private final String nodeId;
+
+    private ScheduledExecutorService timer;
+
+    private volatile Integer runId;
+
+    @Autowired
+    public LeaseManager(ClusterSettings settings, CrawlNodeRepository nodeRepository,
+                        CrawlRunRepository runRepository, SiteLeaseRepository leaseRepository) {
+        this.settings = settings;
+        this.nodeRepository = nodeRepository;
+        this.runRepository = runRepository;
+        this.leaseRepository = leaseRepository;
+        this.nodeId = settings.getNodeId().isBlank() ? generateNodeId() : settings.getNodeId();
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public synchronized void start(Runnable tick) {
+        if (!settings.isEnabled() || timer != null) return;
+
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cluster-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(() -> {
+            try {
+                nodeRepository.heartbeat(nodeId);
+                tick.run();
+            } catch (RuntimeException e) {
+                ApplicationLogger.logError(e);
+            }
+        }, 0, settings.getHeartbeatInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    public CrawlRun requestRun(boolean incremental) {
+        nodeRepository.heartbeat(nodeId);
+        runRepository.abandonOrphaned(settings.getLeaseDuration());
+
+        CrawlRun run = new CrawlRun();
+        run.setStatus(CrawlRunStatus.PREPARING);
+        run.setIncremental(incremental);
+        run.setRequestedBy(nodeId);
+        run.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+        run.setActive(true);
+        try {
+            return runRepository.save(run);
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    public void openLeases(CrawlRun run, List<Site> sites) {
+        sites.forEach(site -> leaseRepository.open(site.getId(), run.getId()));
+        runRepository.markRunning(run.getId());
+    }
+
+    public CrawlRun findActiveRun() {
+        runRepository.abandonOrphaned(settings.getLeaseDuration());
+        CrawlRun run = runRepository.findActive();
+
+        return run == null || run.getStatus() != CrawlRunStatus.RUNNING ? null : run;
+    }
+
+    public boolean stopRun() {
+        return runRepository.stopActive() > 0;
+    }
+
+    public void join(CrawlRun run) {
+        runId = run.getId();
+    }
+
+    public Integer getRunId() {
+        return runId;
+    }
+
+    public List<SiteLease> claimShare(CrawlRun run) {
+        int liveNodes = Math.max(1, nodeRepository.countLive(settings.getLeaseDuration()));
+        int total = leaseRepository.countByRunId(run.getId());
+        int share = (total + liveNodes - 1) / liveNodes - held.size();
+
+        List<SiteLease> claimed = new ArrayList<>();
+        for (SiteLease lease : leaseRepository.findClaimable(run.getId())) {
+            if (claimed.size() >= share) break;
+            if (leaseRepository.claim(lease.getSiteId(), lease.getToken(), nodeId, settings.getLeaseDuration()) == 0) {
+                continue;
+            }
+
+            lease.setToken(lease.getToken() + 1);
+            lease.setAttempts(lease.getAttempts() + 1);
+            lease.setNodeId(nodeId);
+            held.put(lease.getSiteId(), lease);
+            claimed.add(lease);
+        }
+
+        return claimed;
+    }
+
+    public List<Integer> renewAll() {
+        List<Integer> lost = new ArrayList<>();
+        for (SiteLease lease : held.values()) {
+            try {
+                if (leaseRepository.renew(lease.getSiteId(), lease.getToken(), nodeId,
+                        settings.getLeaseDuration()) > 0) continue;
+            } catch (DataAccessException e) {
+                ApplicationLogger.logError(e);
+                continue;
+            }
+            held.remove(lease.getSiteId());
+            lost.add(lease.getSiteId());
+        }
+
+        return lost;
+    }
+
+    public boolean holds(int siteId, long token) {
+        return leaseRepository.lockIfHeld(siteId, token, nodeId) > 0;
+    }
+
+    public boolean finish(int siteId) {
+        SiteLease lease = held.remove(siteId);
+
+        return lease != null && leaseRepository.finish(siteId, lease.getToken(), nodeId) > 0;
+    }
+
+    public void release(int siteId) {
+        if (held.remove(siteId) != null) leaseRepository.release(siteId, nodeId);
+    }
+
+    public void finishRunIfDone(CrawlRun run) {
+        runRepository.finishIfDone(run.getId());
+    }
+
+    public void leave() {
+        runId = null;
+        if (held.isEmpty()) return;
+
+        held.clear();
+        leaseRepository.releaseAll(nodeId);
+    }
+
+    public ClusterMetrics getMetrics() {
+        ClusterMetrics metrics = new ClusterMetrics();
+        metrics.setEnabled(settings.isEnabled());
+        metrics.setNodeId(nodeId);
+        metrics.setRunId(runId);
+        metrics.setLeasedSites(held.keySet().stream().sorted().toList());
+        if (settings.isEnabled()) metrics.setLiveNodes(nodeRepository.countLive(settings.getLeaseDuration()));
+
+        return metrics;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (timer == null) return;
+
+        timer.shutdownNow();
+        try {
+            leave();
+            nodeRepository.deleteById(nodeId);
+        } catch (RuntimeException e) {
+            ApplicationLogger.logError(e);
+        }
+    }
+
+    private static String generateNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+
+        return host + "-" + ProcessHandle.current().pid();
+    }
+}
@@ -0,0 +1,66 @@
+package searchengine.utils.content;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.ContentStoreSettings;
+import searchengine.repositories.PageContentRepository;
+import searchengine.utils.workers.CompressionWorker;
+import searchengine.utils.workers.HashWorker;
+import searchengine.utils.workers.TransactionWorker;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class ContentStore {
+
+    private final ContentStoreSettings settings;
+
+    private final PageContentRepository pageContentRepository;
+
+    private final Set<String> recentKeys;
+
+    @Autowired
+    public ContentStore(ContentStoreSettings settings, PageContentRepository pageContentRepository) {
+        this.settings = settings;
+        this.pageContentRepository = pageContentRepository;
+        this.recentKeys = Collections.newSetFromMap(Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                        return size() > settings.getCacheSize();
+                    }
+                }));
+    }
+
+    public String put(String content) {
+        String key = HashWorker.sha256(content);
+        if (recentKeys.contains(key)) return key;
+
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        pageContentRepository.save(key, raw.length, CompressionWorker.compress(raw, settings.getCompressionLevel()));
+        TransactionWorker.afterCommit(() -> recentKeys.add(key));
+
+        return key;
+    }
+
+    public String get(String key) {
+        if (key == null) return "";
+
+        byte[] body = pageContentRepository.findBodyByKey(key);
+        return body == null ? "" : new String(CompressionWorker.decompress(body), StandardCharsets.UTF_8);
+    }
+
+    public int collectGarbage() {
+        recentKeys.clear();
+        return pageContentRepository.deleteOrphaned(settings.getOrphanGraceMinutes());
+    }
+
+    public void clear() {
+        recentKeys.clear();
+        pageContentRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,11 @@
+package searchengine.utils.executors;
+
+import searchengine.dto.indexing.IndexingStatusResponse;
+import searchengine.utils.parsers.WebsiteParser;
+
+public interface CrawlExecutor {
+
+    IndexingStatusResponse crawl(WebsiteParser rootTask);
+
+    void shutdown();
+}
@@ -0,0 +1,47 @@
+package searchengine.utils.executors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.CrawlMode;
+import searchengine.config.CrawlSettings;
+import searchengine.config.Site;
+import searchengine.utils.pipeline.IndexingPipeline;
+
+import java.util.concurrent.Semaphore;
+
+@Component
+public class CrawlExecutorFactory {
+
+    private final CrawlSettings settings;
+
+    private final IndexingPipeline pipeline;
+
+    private final Semaphore globalFetches;
+
+    @Autowired
+    public CrawlExecutorFactory(CrawlSettings settings, IndexingPipeline pipeline) {
+        this.settings = settings;
+        this.pipeline = pipeline;
+        this.globalFetches = new Semaphore(Math.max(1, settings.getMaxConcurrentFetches()));
+    }
+
+    public CrawlExecutor create(Site configSite) {
+        Integer parallelism = configSite == null ? null : configSite.getParallelism();
+
+        return settings.getMode() == CrawlMode.VIRTUAL_THREADS ?
+                new VirtualThreadCrawlExecutor(pipeline, globalFetches,
+                        parallelism == null ? settings.getMaxConcurrentFetchesPerSite() : parallelism) :
+                new ForkJoinCrawlExecutor(pipeline,
+                        parallelism == null ? Runtime.getRuntime().availableProcessors() : parallelism);
+    }
+
+    public CrawlExecutor createReplay(int parallelism) {
+        return settings.getMode() == CrawlMode.VIRTUAL_THREADS ?
+                new VirtualThreadCrawlExecutor(pipeline, new Semaphore(parallelism), parallelism) :
+                new ForkJoinCrawlExecutor(pipeline, parallelism);
+    }
+
+    public CrawlMode getMode() {
+        return settings.getMode();
+    }
+}
@@ -0,0 +1,85 @@
+package searchengine.utils.executors;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class CrawlThroughput {
+
+    private final AtomicLong fetchedPages = new AtomicLong();
+
+    private final AtomicLong unchangedPages = new AtomicLong();
+
+    private final AtomicLong rejectedPages = new AtomicLong();
+
+    private final AtomicLong disallowedLinks = new AtomicLong();
+
+    private final AtomicLong duplicatePages = new AtomicLong();
+
+    private volatile long startNanos = System.nanoTime();
+
+    private volatile long stopNanos;
+
+    public void start() {
+        fetchedPages.set(0);
+        unchangedPages.set(0);
+        rejectedPages.set(0);
+        disallowedLinks.set(0);
+        duplicatePages.set(0);
+        startNanos = System.nanoTime();
+        stopNanos = 0;
+    }
+
+    public void stop() {
+        stopNanos = System.nanoTime();
+    }
+
+    public void recordFetch() {
+        fetchedPages.incrementAndGet();
+    }
+
+    public void recordUnchanged() {
+        unchangedPages.incrementAndGet();
+    }
+
+    public long getUnchangedPages() {
+        return unchangedPages.get();
+    }
+
+    public void recordRejected() {
+        rejectedPages.incrementAndGet();
+    }
+
+    public long getRejectedPages() {
+        return rejectedPages.get();
+    }
+
+    public void recordDisallowed() {
+        disallowedLinks.incrementAndGet();
+    }
+
+    public long getDisallowedLinks() {
+        return disallowedLinks.get();
+    }
+
+    public void recordDuplicate() {
+        duplicatePages.incrementAndGet();
+    }
+
+    public long getDuplicatePages() {
+        return duplicatePages.get();
+    }
+
+    public long getFetchedPages() {
+        return fetchedPages.get();
+    }
+
+    public double getPagesPerSecond() {
+        long end = stopNanos == 0 ? System.nanoTime() : stopNanos;
+        double seconds = (double) (end - startNanos) / TimeUnit.SECONDS.toNanos(1);
+
+        return seconds <= 0 ? 0 : fetchedPages.get() / seconds;
+    }
+}
@@ -0,0 +1,147 @@
+package searchengine.utils.executors;
+
+import searchengine.dto.indexing.IndexingStatusResponse;
+import searchengine.dto.page.PageResponse;
+import searchengine.logging.ApplicationLogger;
+import searchengine.utils.frontier.CrawlFrontier;
+import searchengine.utils.frontier.FrontierEntry;
+import searchengine.utils.pipeline.IndexingPipeline;
+import searchengine.utils.pipeline.PageTask;
+import searchengine.utils.parsers.WebsiteParser;
+import searchengine.utils.responsegenerators.IndexingResponseGenerator;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+public class ForkJoinCrawlExecutor implements CrawlExecutor {
+
+    private final ForkJoinPool pool;
+
+    private final IndexingPipeline pipeline;
+
+    public ForkJoinCrawlExecutor(IndexingPipeline pipeline, int parallelism) {
+        this.pipeline = pipeline;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    @Override
+    public IndexingStatusResponse crawl(WebsiteParser parser) {
+        parser.initFrontier();
+        int workers = pool.getParallelism();
+        CountDownLatch finishedWorkers = new CountDownLatch(workers);
+
+        for (int i = 0; i < workers; i++) submit(new Worker(parser, finishedWorkers));
+
+        try {
+            finishedWorkers.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            parser.getFrontier().close();
+        }
+
+        return parser.getResult();
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void submit(Worker worker) {
+        try {
+            pool.execute(worker);
+        } catch (RejectedExecutionException e) {
+            worker.finishedWorkers.countDown();
+        }
+    }
+
+    private class Worker implements Runnable, ForkJoinPool.ManagedBlocker {
+
+        private final WebsiteParser parser;
+
+        private final CountDownLatch finishedWorkers;
+
+        private FrontierEntry entry;
+
+        private boolean exhausted;
+
+        private Worker(WebsiteParser parser, CountDownLatch finishedWorkers) {
+            this.parser = parser;
+            this.finishedWorkers = finishedWorkers;
+        }
+
+        @Override
+        public void run() {
+            CrawlFrontier frontier = parser.getFrontier();
+            try {
+                ForkJoinPool.managedBlock(this);
+            } catch (InterruptedException e) {
+                frontier.close();
+                finishedWorkers.countDown();
+                return;
+            }
+
+            if (exhausted || parser.isCancelled()) {
+                if (entry != null) frontier.abandon(entry);
+                finishedWorkers.countDown();
+                return;
+            }
+
+            FrontierEntry fetched = entry;
+            entry = null;
+            CompletableFuture<PageResponse> fetch;
+            try {
+                fetch = parser.fetchPageAsync(fetched.getPath());
+            } catch (RuntimeException e) {
+                fetch = CompletableFuture.failedFuture(e);
+            }
+
+            fetch.whenComplete((pageResponse, e) -> resume(fetched, pageResponse, e));
+        }
+
+        private void resume(FrontierEntry fetched, PageResponse pageResponse, Throwable failure) {
+            try {
+                pool.execute(() -> handOff(fetched, pageResponse, failure));
+            } catch (RejectedExecutionException e) {
+                parser.getFrontier().abandon(fetched);
+                finishedWorkers.countDown();
+            }
+        }
+
+        private void handOff(FrontierEntry fetched, PageResponse pageResponse, Throwable failure) {
+            CrawlFrontier frontier = parser.getFrontier();
+            try {
+                if (failure != null) {
+                    throw failure instanceof RuntimeException e ? e : new CompletionException(failure);
+                }
+                pipeline.submit(new PageTask(parser, fetched, fetched.getPath(), pageResponse));
+            } catch (InterruptedException e) {
+                frontier.abandon(fetched);
+                finishedWorkers.countDown();
+                return;
+            } catch (RuntimeException e) {
+                ApplicationLogger.logError(e);
+                parser.recordError(IndexingResponseGenerator.failedToCompleteIndexingTasks().getError());
+                frontier.abandon(fetched);
+            }
+
+            submit(this);
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            entry = parser.getFrontier().take();
+            exhausted = entry == null;
+
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return entry != null || exhausted;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package searchengine.utils.executors;
+
+import searchengine.dto.indexing.IndexingStatusResponse;
+import searchengine.dto.page.PageResponse;
+import searchengine.logging.ApplicationLogger;
+import searchengine.utils.frontier.CrawlFrontier;
+import searchengine.utils.frontier.FrontierEntry;
+import searchengine.utils.pipeline.IndexingPipeline;
+import searchengine.utils.pipeline.PageTask;
+import searchengine.utils.parsers.WebsiteParser;
+import searchengine.utils.responsegenerators.IndexingResponseGenerator;
+
+import java.util.concurrent.*;
+
+public class VirtualThreadCrawlExecutor implements CrawlExecutor {
+
+    private final ExecutorService handoffExecutor = VirtualThreads.newPerTaskExecutor();
+
+    private final IndexingPipeline pipeline;
+
+    private final Semaphore globalFetches;
+
+    private final int maxConcurrentFetchesPerSite;
+
+    public VirtualThreadCrawlExecutor(IndexingPipeline pipeline, Semaphore globalFetches,
+                                      int maxConcurrentFetchesPerSite) {
+        this.pipeline = pipeline;
+        this.globalFetches = globalFetches;
+        this.maxConcurrentFetchesPerSite = Math.max(1, maxConcurrentFetchesPerSite);
+    }
+
+    @Override
+    public IndexingStatusResponse crawl(WebsiteParser parser) {
+        parser.initFrontier();
+        CrawlFrontier frontier = parser.getFrontier();
+        Semaphore siteFetches = new Semaphore(maxConcurrentFetchesPerSite);
+
+        try {
+            while (true) {
+                siteFetches.acquire();
+                FrontierEntry entry = frontier.take();
+                if (entry == null) break;
+
+                process(parser, entry).whenComplete((handedOff, e) -> {
+                    if (!Boolean.TRUE.equals(handedOff)) frontier.abandon(entry);
+                    siteFetches.release();
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            frontier.close();
+        }
+
+        return parser.getResult();
+    }
+
+    @Override
+    public void shutdown() {
+        handoffExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<Boolean> process(WebsiteParser parser, FrontierEntry entry) throws InterruptedException {
+        if (parser.isCancelled()) return CompletableFuture.completedFuture(false);
+
+        globalFetches.acquire();
+        CompletableFuture<PageResponse> fetch;
+        try {
+            fetch = parser.fetchPageAsync(entry.getPath());
+        } catch (RuntimeException e) {
+            fetch = CompletableFuture.failedFuture(e);
+        }
+
+        return fetch
+                .whenComplete((pageResponse, e) -> globalFetches.release())
+                .thenApplyAsync(pageResponse -> handOff(new PageTask(parser, entry, entry.getPath(), pageResponse)),
+                        handoffExecutor)
+                .exceptionally(e -> {
+                    ApplicationLogger.logError(e instanceof Exception ex ? ex : new CompletionException(e));
+                    parser.recordError(IndexingResponseGenerator.failedToCompleteIndexingTasks().getError());
+                    return false;
+                });
+    }
+
+    private boolean handOff(PageTask task) {
+        try {
+            pipeline.submit(task);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
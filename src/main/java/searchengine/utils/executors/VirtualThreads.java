@@ -0,0 +1,28 @@
+package searchengine.utils.executors;
+
+import searchengine.logging.ApplicationLogger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class VirtualThreads {
+
+    public static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    public static ExecutorService newPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            ApplicationLogger.logger.warn("Virtual threads are not available on this JVM, " +
+                    "falling back to a cached platform thread pool");
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package searchengine.utils.fetchers;
+
+import searchengine.config.FetcherClient;
+import searchengine.dto.metrics.FetcherMetrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConnectionStats {
+
+    private static final long KEEP_ALIVE_NANOS =
+            TimeUnit.SECONDS.toNanos(Long.getLong("jdk.httpclient.keepalive.timeout", 1200));
+
+    private final Map<String, HostConnections> hosts = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    private final AtomicLong inFlight = new AtomicLong();
+
+    private final AtomicLong connectionsOpened = new AtomicLong();
+
+    private final AtomicLong reusedConnections = new AtomicLong();
+
+    private final AtomicLong abortedResponses = new AtomicLong();
+
+    private final AtomicLong http2Responses = new AtomicLong();
+
+    private final AtomicLong compressedResponses = new AtomicLong();
+
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    private final AtomicLong bytesDecoded = new AtomicLong();
+
+    private final AtomicLong latencyNanos = new AtomicLong();
+
+    private final AtomicLong completed = new AtomicLong();
+
+    public void onRequest(String host) {
+        requests.incrementAndGet();
+        inFlight.incrementAndGet();
+        if (hosts.computeIfAbsent(host, h -> new HostConnections()).acquire()) {
+            reusedConnections.incrementAndGet();
+        } else {
+            connectionsOpened.incrementAndGet();
+        }
+    }
+
+    public void onResponse(String host, boolean multiplexed, boolean compressed,
+                           long wireBytes, long decodedBytes, long elapsedNanos) {
+        inFlight.decrementAndGet();
+        hosts.computeIfAbsent(host, h -> new HostConnections()).release(multiplexed, false);
+        if (multiplexed) http2Responses.incrementAndGet();
+        if (compressed) compressedResponses.incrementAndGet();
+        bytesReceived.addAndGet(wireBytes);
+        bytesDecoded.addAndGet(decodedBytes);
+        latencyNanos.addAndGet(elapsedNanos);
+        completed.incrementAndGet();
+    }
+
+    public void onFailure(String host) {
+        inFlight.decrementAndGet();
+        failures.incrementAndGet();
+        hosts.computeIfAbsent(host, h -> new HostConnections()).release(false, true);
+    }
+
+    public void onAborted(String host) {
+        inFlight.decrementAndGet();
+        abortedResponses.incrementAndGet();
+        hosts.computeIfAbsent(host, h -> new HostConnections()).release(false, true);
+    }
+
+    public FetcherMetrics toMetrics(FetcherClient client) {
+        long total = connectionsOpened.get() + reusedConnections.get();
+        long done = completed.get();
+
+        FetcherMetrics metrics = new FetcherMetrics();
+        metrics.setClient(client);
+        metrics.setRequests(requests.get());
+        metrics.setFailures(failures.get());
+        metrics.setInFlight(inFlight.get());
+        metrics.setConnectionsOpened(connectionsOpened.get());
+        metrics.setReuseRatio(total == 0 ? 0 : (double) reusedConnections.get() / total);
+        metrics.setAbortedResponses(abortedResponses.get());
+        metrics.setHttp2Responses(http2Responses.get());
+        metrics.setCompressedResponses(compressedResponses.get());
+        metrics.setBytesReceived(bytesReceived.get());
+        metrics.setBytesDecoded(bytesDecoded.get());
+        metrics.setAverageLatency(done == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMillis(latencyNanos.get()) / done);
+
+        return metrics;
+    }
+
+    private static class HostConnections {
+
+        private int open;
+
+        private int inFlight;
+
+        private boolean multiplexed;
+
+        private long lastActive;
+
+        private synchronized boolean acquire() {
+            if (System.nanoTime() - lastActive > KEEP_ALIVE_NANOS) open = inFlight;
+
+            boolean reused = open > 0 && (multiplexed || open > inFlight);
+            if (!reused) open++;
+            inFlight++;
+
+            return reused;
+        }
+
+        private synchronized void release(boolean multiplexed, boolean failed) {
+            inFlight--;
+            lastActive = System.nanoTime();
+            if (failed) open = Math.max(inFlight, open - 1);
+            if (multiplexed) {
+                this.multiplexed = true;
+                open = Math.min(open, 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package searchengine.utils.fetchers;
+
+import searchengine.config.FetcherSettings;
+import searchengine.config.Site;
+import searchengine.config.SitesList;
+import searchengine.utils.workers.UrlWorker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class FetchLimits {
+
+    private final Map<String, Long> maxBodySizes = new ConcurrentHashMap<>();
+
+    private final FetcherSettings settings;
+
+    private final SitesList configSites;
+
+    public FetchLimits(FetcherSettings settings, SitesList configSites) {
+        this.settings = settings;
+        this.configSites = configSites;
+    }
+
+    public long getMaxBodySize(String host) {
+        return maxBodySizes.computeIfAbsent(host, h -> configSites.getSites().stream()
+                .filter(s -> s.getMaxBodySize() != null && UrlWorker.getHost(s.getUrl()).equals(h))
+                .map(Site::getMaxBodySize)
+                .findFirst().orElse(settings.getMaxBodySize())
+                .toBytes());
+    }
+}
@@ -0,0 +1,218 @@
+package searchengine.utils.fetchers;
+
+import searchengine.config.FetcherClient;
+import searchengine.config.FetcherSettings;
+import searchengine.dto.metrics.FetcherMetrics;
+import searchengine.dto.page.PageResponse;
+import searchengine.utils.executors.VirtualThreads;
+import searchengine.utils.workers.HtmlWorker;
+import searchengine.utils.workers.UrlWorker;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+public class HttpClientPageFetcher implements PageFetcher {
+
+    private final FetcherSettings settings;
+
+    private final HttpClient client;
+
+    private final FetchLimits limits;
+
+    private final ConnectionStats stats = new ConnectionStats();
+
+    public HttpClientPageFetcher(FetcherSettings settings, FetchLimits limits) {
+        this.settings = settings;
+        this.limits = limits;
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(settings.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(settings.getConnectTimeout()));
+        if (VirtualThreads.isSupported()) builder.executor(VirtualThreads.newPerTaskExecutor());
+        this.client = builder.build();
+    }
+
+    @Override
+    public CompletableFuture<PageResponse> fetchAsync(String url, String etag, String lastModified) {
+        HttpRequest request;
+        try {
+            request = createRequest(url, etag, lastModified);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String host = UrlWorker.getHost(url);
+        long maxBodySize = limits.getMaxBodySize(host);
+        long start = System.nanoTime();
+        stats.onRequest(host);
+
+        return client.sendAsync(request, createBodyHandler(maxBodySize))
+                .thenApply(response -> {
+                    String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+                    byte[] body = response.body() == null ? null : decode(encoding, response.body(), maxBodySize);
+                    if (body == null) {
+                        stats.onAborted(host);
+                        return configureRejectedResponse(response);
+                    }
+
+                    stats.onResponse(host, response.version() == HttpClient.Version.HTTP_2, !encoding.isEmpty(),
+                            response.body().length, body.length, System.nanoTime() - start);
+
+                    return configurePageResponse(response, body);
+                })
+                .exceptionally(e -> {
+                    stats.onFailure(host);
+                    return null;
+                });
+    }
+
+    @Override
+    public CompletableFuture<byte[]> fetchBytesAsync(String url, long maxSize) {
+        HttpRequest request;
+        try {
+            request = createRequest(url, null, null);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String host = UrlWorker.getHost(url);
+        long start = System.nanoTime();
+        stats.onRequest(host);
+
+        return client.sendAsync(request, info -> info.statusCode() >= 300 ?
+                        LimitedBodySubscriber.rejecting() :
+                        LimitedBodySubscriber.of(maxSize,
+                                info.headers().firstValueAsLong("Content-Length").orElse(-1), false))
+                .thenApply(response -> {
+                    String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+                    byte[] body = response.body() == null ? null : decode(encoding, response.body(), maxSize);
+                    if (body == null) {
+                        stats.onAborted(host);
+                        return null;
+                    }
+
+                    stats.onResponse(host, response.version() == HttpClient.Version.HTTP_2, !encoding.isEmpty(),
+                            response.body().length, body.length, System.nanoTime() - start);
+                    return body;
+                })
+                .exceptionally(e -> {
+                    stats.onFailure(host);
+                    return null;
+                });
+    }
+
+    @Override
+    public FetcherMetrics getMetrics() {
+        return stats.toMetrics(FetcherClient.HTTP_CLIENT);
+    }
+
+    private HttpRequest createRequest(String url, String etag, String lastModified) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(settings.getReadTimeout()))
+                .header("User-Agent", settings.getUserAgent())
+                .header("Referer", settings.getReferrer())
+                .GET();
+        if (settings.isCompression()) builder.header("Accept-Encoding", "gzip, deflate");
+        if (etag != null) builder.header("If-None-Match", etag);
+        if (lastModified != null) builder.header("If-Modified-Since", lastModified);
+
+        return builder.build();
+    }
+
+    private static HttpResponse.BodyHandler<byte[]> createBodyHandler(long maxBodySize) {
+        return info -> {
+            String contentType = info.headers().firstValue("Content-Type").orElse(null);
+            long contentLength = info.headers().firstValueAsLong("Content-Length").orElse(-1);
+            boolean checkContent = info.statusCode() < 300;
+
+            if (contentLength > maxBodySize || (checkContent && !HtmlWorker.isHtml(contentType))) {
+                return LimitedBodySubscriber.rejecting();
+            }
+
+            return LimitedBodySubscriber.of(maxBodySize, contentLength, checkContent && contentType == null);
+        };
+    }
+
+    private static PageResponse configureRejectedResponse(HttpResponse<byte[]> response) {
+        PageResponse pageResponse = new PageResponse();
+        pageResponse.setUrl(response.uri().toString());
+        pageResponse.setStatusCode(response.statusCode());
+        pageResponse.setContentType(response.headers().firstValue("Content-Type").orElse(null));
+        pageResponse.setResponseBody("");
+        pageResponse.setRejected(true);
+
+        return pageResponse;
+    }
+
+    private PageResponse configurePageResponse(HttpResponse<byte[]> response, byte[] body) {
+        PageResponse pageResponse = new PageResponse();
+        pageResponse.setUrl(response.uri().toString());
+        pageResponse.setStatusCode(response.statusCode());
+        pageResponse.setContentType(response.headers().firstValue("Content-Type").orElse(null));
+        pageResponse.setResponseBody(new String(body, getCharset(pageResponse.getContentType(), body)));
+        pageResponse.setEtag(response.headers().firstValue("ETag").orElse(null));
+        pageResponse.setLastModified(response.headers().firstValue("Last-Modified").orElse(null));
+        pageResponse.setUnchanged(response.statusCode() == HtmlWorker.NOT_MODIFIED);
+
+        return pageResponse;
+    }
+
+    private static Charset getCharset(String contentType, byte[] body) {
+        String charset = HtmlWorker.getCharset(contentType);
+        if (charset == null) charset = HtmlWorker.detectCharset(body);
+
+        try {
+            return Charset.forName(charset);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static byte[] decode(String encoding, byte[] body, long limit) {
+        if (body.length == 0) return body;
+
+        try {
+            switch (encoding.trim().toLowerCase()) {
+                case "gzip", "x-gzip" -> {
+                    return readAll(new GZIPInputStream(new ByteArrayInputStream(body)), limit);
+                }
+                case "deflate" -> {
+                    try {
+                        return readAll(new InflaterInputStream(new ByteArrayInputStream(body)), limit);
+                    } catch (ZipException e) {
+                        return readAll(new InflaterInputStream(new ByteArrayInputStream(body), new Inflater(true)),
+                                limit);
+                    }
+                }
+                default -> {
+                    return body;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] readAll(InputStream in, long limit) throws IOException {
+        try (in) {
+            byte[] decoded = in.readNBytes((int) Math.min(limit + 1, Integer.MAX_VALUE - 8));
+
+            return decoded.length > limit ? null : decoded;
+        }
+    }
+}
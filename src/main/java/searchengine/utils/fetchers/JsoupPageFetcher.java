@@ -0,0 +1,160 @@
+package searchengine.utils.fetchers;
+
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.springframework.web.client.HttpStatusCodeException;
+import searchengine.config.FetcherClient;
+import searchengine.config.FetcherSettings;
+import searchengine.dto.metrics.FetcherMetrics;
+import searchengine.dto.page.PageResponse;
+import searchengine.utils.executors.VirtualThreads;
+import searchengine.utils.workers.HtmlWorker;
+import searchengine.utils.workers.UrlWorker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+public class JsoupPageFetcher implements PageFetcher {
+
+    private final FetcherSettings settings;
+
+    private final ExecutorService executor = VirtualThreads.newPerTaskExecutor();
+
+    private final FetchLimits limits;
+
+    private final ConnectionStats stats = new ConnectionStats();
+
+    public JsoupPageFetcher(FetcherSettings settings, FetchLimits limits) {
+        this.settings = settings;
+        this.limits = limits;
+    }
+
+    @Override
+    public CompletableFuture<PageResponse> fetchAsync(String url, String etag, String lastModified) {
+        return CompletableFuture.supplyAsync(() -> getResponse(url, etag, lastModified), executor);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> fetchBytesAsync(String url, long maxSize) {
+        return CompletableFuture.supplyAsync(() -> getBytes(url, maxSize), executor);
+    }
+
+    @Override
+    public FetcherMetrics getMetrics() {
+        return stats.toMetrics(FetcherClient.JSOUP);
+    }
+
+    private PageResponse getResponse(String url, String etag, String lastModified) {
+        String host = UrlWorker.getHost(url);
+        long maxBodySize = limits.getMaxBodySize(host);
+        long start = System.nanoTime();
+        stats.onRequest(host);
+
+        PageResponse pageResponse;
+        try {
+            Connection connection = connect(url, maxBodySize);
+            if (etag != null) connection.header("If-None-Match", etag);
+            if (lastModified != null) connection.header("If-Modified-Since", lastModified);
+            Connection.Response response = connection.execute();
+            if (isRejected(response, maxBodySize)) {
+                response.bodyStream().close();
+                stats.onAborted(host);
+                return configureRejectedResponse(response);
+            }
+
+            byte[] body = response.bodyAsBytes();
+            if (body.length > maxBodySize || (response.contentType() == null && response.statusCode() < 300
+                    && HtmlWorker.looksBinary(body, body.length))) {
+                stats.onAborted(host);
+                return configureRejectedResponse(response);
+            }
+
+            pageResponse = configurePageResponse(response);
+        } catch (HttpStatusCodeException e) {
+            pageResponse = configurePageResponse(url, e);
+        } catch (Throwable e) {
+            stats.onFailure(host);
+            return null;
+        }
+
+        long bytes = pageResponse.getResponseBody().length();
+        stats.onResponse(host, false, false, bytes, bytes, System.nanoTime() - start);
+
+        return pageResponse;
+    }
+
+    private byte[] getBytes(String url, long maxSize) {
+        String host = UrlWorker.getHost(url);
+        long start = System.nanoTime();
+        stats.onRequest(host);
+
+        try {
+            Connection.Response response = connect(url, maxSize).execute();
+            byte[] body = response.statusCode() < 300 ? response.bodyAsBytes() : null;
+            if (body == null || body.length > maxSize) {
+                stats.onAborted(host);
+                return null;
+            }
+
+            stats.onResponse(host, false, false, body.length, body.length, System.nanoTime() - start);
+            return body;
+        } catch (Throwable e) {
+            stats.onFailure(host);
+            return null;
+        }
+    }
+
+    private Connection connect(String url, long maxBodySize) {
+        return Jsoup
+                .connect(url)
+                .userAgent(settings.getUserAgent())
+                .referrer(settings.getReferrer())
+                .timeout(settings.getReadTimeout())
+                .maxBodySize((int) Math.min(maxBodySize + 1, Integer.MAX_VALUE))
+                .ignoreContentType(true)
+                .ignoreHttpErrors(true);
+    }
+
+    private static boolean isRejected(Connection.Response response, long maxBodySize) {
+        String contentLength = response.header("Content-Length");
+        if (contentLength != null && contentLength.matches("\\d+") && Long.parseLong(contentLength) > maxBodySize) {
+            return true;
+        }
+
+        return response.statusCode() < 300 && !HtmlWorker.isHtml(response.contentType());
+    }
+
+    private static PageResponse configureRejectedResponse(Connection.Response response) {
+        PageResponse pageResponse = new PageResponse();
+        pageResponse.setUrl(response.url().toString());
+        pageResponse.setStatusCode(response.statusCode());
+        pageResponse.setContentType(response.contentType());
+        pageResponse.setResponseBody("");
+        pageResponse.setRejected(true);
+
+        return pageResponse;
+    }
+
+    private static PageResponse configurePageResponse(Connection.Response response) {
+        PageResponse pageResponse = new PageResponse();
+        pageResponse.setUrl(response.url().toString());
+        pageResponse.setStatusCode(response.statusCode());
+        pageResponse.setContentType(response.contentType());
+        pageResponse.setResponseBody(response.body());
+        pageResponse.setEtag(response.header("ETag"));
+        pageResponse.setLastModified(response.header("Last-Modified"));
+        pageResponse.setUnchanged(response.statusCode() == HtmlWorker.NOT_MODIFIED);
+
+        return pageResponse;
+    }
+
+    private static PageResponse configurePageResponse(String url, HttpStatusCodeException e) {
+        PageResponse pageResponse = new PageResponse();
+        pageResponse.setUrl(url);
+        pageResponse.setStatusCode(e.getStatusCode().value());
+        pageResponse.setResponseBody(e.getResponseBodyAsString());
+        pageResponse.setCauseOfError(e.getStatusText());
+
+        return pageResponse;
+    }
+}
@@ -0,0 +1,95 @@
+package searchengine.utils.fetchers;
+
+import searchengine.utils.workers.HtmlWorker;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+public class LimitedBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+    private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+
+    private final long limit;
+
+    private final boolean sniff;
+
+    private Flow.Subscription subscription;
+
+    private byte[] buffer;
+
+    private int size;
+
+    private LimitedBodySubscriber(long limit, int expectedSize, boolean sniff) {
+        this.limit = limit;
+        this.sniff = sniff;
+        this.buffer = new byte[expectedSize > 0 ? expectedSize : 8192];
+    }
+
+    public static HttpResponse.BodySubscriber<byte[]> of(long limit, long contentLength, boolean sniff) {
+        return new LimitedBodySubscriber(limit, (int) Math.min(contentLength, limit), sniff);
+    }
+
+    public static HttpResponse.BodySubscriber<byte[]> rejecting() {
+        return new LimitedBodySubscriber(-1, 0, false);
+    }
+
+    @Override
+    public CompletionStage<byte[]> getBody() {
+        return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (limit < 0) {
+            reject();
+            return;
+        }
+
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> items) {
+        if (body.isDone()) return;
+
+        for (ByteBuffer item : items) {
+            int remaining = item.remaining();
+            if (size + (long) remaining > limit) {
+                reject();
+                return;
+            }
+            if (size + remaining > buffer.length) {
+                buffer = Arrays.copyOf(buffer, (int) Math.min(limit, Math.max(buffer.length * 2L, size + remaining)));
+            }
+            item.get(buffer, size, remaining);
+
+            boolean sniffed = size >= HtmlWorker.SNIFF_LENGTH;
+            size += remaining;
+            if (sniff && !sniffed && HtmlWorker.looksBinary(buffer, size)) {
+                reject();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        body.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        body.complete(size == buffer.length ? buffer : Arrays.copyOf(buffer, size));
+    }
+
+    private void reject() {
+        subscription.cancel();
+        body.complete(null);
+    }
+}
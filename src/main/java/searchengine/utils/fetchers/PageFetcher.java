@@ -0,0 +1,19 @@
+package searchengine.utils.fetchers;
+
+import searchengine.dto.metrics.FetcherMetrics;
+import searchengine.dto.page.PageResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PageFetcher {
+
+    CompletableFuture<PageResponse> fetchAsync(String url, String etag, String lastModified);
+
+    CompletableFuture<byte[]> fetchBytesAsync(String url, long maxSize);
+
+    default PageResponse fetch(String url) {
+        return fetchAsync(url, null, null).join();
+    }
+
+    FetcherMetrics getMetrics();
+}
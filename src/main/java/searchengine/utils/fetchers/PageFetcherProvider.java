@@ -0,0 +1,25 @@
+package searchengine.utils.fetchers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.FetcherClient;
+import searchengine.config.FetcherSettings;
+import searchengine.config.SitesList;
+
+@Component
+public class PageFetcherProvider {
+
+    private final PageFetcher fetcher;
+
+    @Autowired
+    public PageFetcherProvider(FetcherSettings settings, SitesList configSites) {
+        FetchLimits limits = new FetchLimits(settings, configSites);
+        this.fetcher = settings.getClient() == FetcherClient.JSOUP ?
+                new JsoupPageFetcher(settings, limits) :
+                new HttpClientPageFetcher(settings, limits);
+    }
+
+    public PageFetcher getFetcher() {
+        return fetcher;
+    }
+}
@@ -0,0 +1,268 @@
+package searchengine.utils.frontier;
+
+import searchengine.cache.PageCache;
+import searchengine.utils.workers.UrlWorker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class CrawlFrontier {
+
+    private static final long WAIT_MILLIS = 200;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    private final TreeSet<FrontierEntry> queue = new TreeSet<>(FrontierEntry.PRIORITY);
+
+    private final Map<Long, FrontierEntry> queued = new HashMap<>();
+
+    private final int siteId;
+
+    private final PageCache pageCache;
+
+    private final int capacity;
+
+    private final int maxDepth;
+
+    private final int maxPages;
+
+    private final FrontierJournal journal;
+
+    private long sequence;
+
+    private int inFlight;
+
+    private int claimedPages;
+
+    private long droppedLinks;
+
+    private long parkedUntil;
+
+    private boolean closed;
+
+    public CrawlFrontier(int siteId, PageCache pageCache, int capacity, int maxDepth, int maxPages) {
+        this(siteId, pageCache, capacity, maxDepth, maxPages, null);
+    }
+
+    public CrawlFrontier(int siteId, PageCache pageCache, int capacity, int maxDepth, int maxPages,
+                         FrontierJournal journal) {
+        this.siteId = siteId;
+        this.pageCache = pageCache;
+        this.capacity = Math.max(1, capacity);
+        this.maxDepth = maxDepth;
+        this.maxPages = maxPages;
+        this.journal = journal;
+    }
+
+    public void restore(JournalState state) {
+        lock.lock();
+        try {
+            state.getVisited().forEach(path -> {
+                if (pageCache.claimPage(siteId, path)) claimedPages++;
+            });
+            state.getPending().forEach((path, depth) -> {
+                FrontierEntry entry = new FrontierEntry(path, UrlWorker.getUrlFingerprint(path), depth, sequence++);
+                if (queue.size() < capacity && !queued.containsKey(entry.getFingerprint())) {
+                    queue.add(entry);
+                    queued.put(entry.getFingerprint(), entry);
+                }
+            });
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean offer(String path, int depth) {
+        long fingerprint = UrlWorker.getUrlFingerprint(path);
+        if (depth > maxDepth || pageCache.pageIndexed(siteId, fingerprint)) return false;
+
+        lock.lock();
+        try {
+            if (closed) return false;
+
+            FrontierEntry existing = queued.get(fingerprint);
+            if (existing != null) {
+                queue.remove(existing);
+                existing.addInlink();
+                queue.add(existing);
+                return true;
+            }
+
+            FrontierEntry entry = new FrontierEntry(path, fingerprint, depth, sequence++);
+            if (queue.size() >= capacity && !evictWorseThan(entry)) {
+                droppedLinks++;
+                return false;
+            }
+
+            queue.add(entry);
+            queued.put(fingerprint, entry);
+            if (journal != null) journal.enqueued(path, depth);
+            changed.signal();
+
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public FrontierEntry take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                long parkedMillis = parkedUntil - System.currentTimeMillis();
+                if (parkedMillis <= 0) {
+                    FrontierEntry entry = poll();
+                    if (entry != null) return entry;
+                }
+                if (isExhausted()) return null;
+
+                changed.await(parkedMillis > 0 ? Math.min(parkedMillis, WAIT_MILLIS) : WAIT_MILLIS,
+                        TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void complete(FrontierEntry entry) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (journal != null) journal.completed(entry.getPath());
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void abandon(FrontierEntry entry) {
+        lock.lock();
+        try {
+            inFlight--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void park(long untilMillis) {
+        lock.lock();
+        try {
+            parkedUntil = Math.max(parkedUntil, untilMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isParked() {
+        lock.lock();
+        try {
+            return parkedUntil > System.currentTimeMillis();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            if (journal != null) journal.close();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public FrontierJournal getJournal() {
+        return journal;
+    }
+
+    public int getSiteId() {
+        return siteId;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getClaimedPages() {
+        lock.lock();
+        try {
+            return claimedPages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDroppedLinks() {
+        lock.lock();
+        try {
+            return droppedLinks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private FrontierEntry poll() {
+        while (!closed && claimedPages < maxPages && !queue.isEmpty()) {
+            FrontierEntry entry = queue.pollFirst();
+            queued.remove(entry.getFingerprint());
+
+            if (pageCache.claimPage(siteId, entry.getFingerprint())) {
+                claimedPages++;
+                inFlight++;
+                if (journal != null) journal.claimed(entry.getPath(), entry.getDepth());
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    private boolean isExhausted() {
+        return closed || inFlight == 0 && (queue.isEmpty() || claimedPages >= maxPages);
+    }
+
+    private boolean evictWorseThan(FrontierEntry entry) {
+        FrontierEntry worst = queue.last();
+        if (FrontierEntry.PRIORITY.compare(entry, worst) >= 0) return false;
+
+        queue.pollLast();
+        queued.remove(worst.getFingerprint());
+        if (journal != null) journal.dropped(worst.getPath());
+        droppedLinks++;
+
+        return true;
+    }
+}
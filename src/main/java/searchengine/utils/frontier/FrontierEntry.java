@@ -0,0 +1,35 @@
+package searchengine.utils.frontier;
+
+import lombok.Getter;
+
+import java.util.Comparator;
+
+@Getter
+public class FrontierEntry {
+
+    static final Comparator<FrontierEntry> PRIORITY = Comparator
+            .comparingInt(FrontierEntry::getDepth)
+            .thenComparing(Comparator.comparingInt(FrontierEntry::getInlinks).reversed())
+            .thenComparingLong(FrontierEntry::getSequence);
+
+    private final String path;
+
+    private final long fingerprint;
+
+    private final int depth;
+
+    private final long sequence;
+
+    private int inlinks = 1;
+
+    FrontierEntry(String path, long fingerprint, int depth, long sequence) {
+        this.path = path;
+        this.fingerprint = fingerprint;
+        this.depth = depth;
+        this.sequence = sequence;
+    }
+
+    void addInlink() {
+        inlinks++;
+    }
+}
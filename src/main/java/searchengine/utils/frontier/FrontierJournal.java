@@ -0,0 +1,174 @@
+package searchengine.utils.frontier;
+
+import searchengine.logging.ApplicationLogger;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+public class FrontierJournal implements Closeable {
+
+    private final Path file;
+
+    private final FileOutputStream fileStream;
+
+    private final DataOutputStream out;
+
+    private final int syncBatchSize;
+
+    private final long syncInterval;
+
+    private int unsyncedRecords;
+
+    private long lastSync = System.currentTimeMillis();
+
+    private boolean broken;
+
+    private FrontierJournal(Path file, int syncBatchSize, long syncInterval) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.file = file;
+        this.fileStream = new FileOutputStream(file.toFile(), true);
+        this.out = new DataOutputStream(new BufferedOutputStream(fileStream));
+        this.syncBatchSize = syncBatchSize;
+        this.syncInterval = syncInterval;
+    }
+
+    public static FrontierJournal open(Path file, int syncBatchSize, long syncInterval) {
+        try {
+            return new FrontierJournal(file, syncBatchSize, syncInterval);
+        } catch (IOException e) {
+            ApplicationLogger.logError(e);
+            return null;
+        }
+    }
+
+    public static JournalState replay(Path file) {
+        JournalState state = new JournalState();
+        if (!Files.exists(file)) return state;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            RecordType[] types = RecordType.values();
+            while (true) {
+                int type = in.read();
+                if (type < 0 || type >= types.length) break;
+
+                int depth = in.readInt();
+                String path = in.readUTF();
+                state.apply(types[type], path, depth);
+            }
+        } catch (EOFException ignored) {
+        } catch (IOException e) {
+            ApplicationLogger.logError(e);
+        }
+
+        return state;
+    }
+
+    public static void compact(Path file, JournalState state) {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(compacted)))) {
+            for (String path : state.getVisited()) write(out, RecordType.COMPLETED, path, 0);
+            for (Map.Entry<String, Integer> e : state.getPending().entrySet()) {
+                write(out, RecordType.ENQUEUED, e.getKey(), e.getValue());
+            }
+            for (Map.Entry<String, Integer> e : state.getInterrupted().entrySet()) {
+                write(out, RecordType.CLAIMED, e.getKey(), e.getValue());
+            }
+        } catch (IOException e) {
+            ApplicationLogger.logError(e);
+            return;
+        }
+
+        try {
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            ApplicationLogger.logError(e);
+        }
+    }
+
+    public static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            ApplicationLogger.logError(e);
+        }
+    }
+
+    public void enqueued(String path, int depth) {
+        append(RecordType.ENQUEUED, path, depth);
+    }
+
+    public void dropped(String path) {
+        append(RecordType.DROPPED, path, 0);
+    }
+
+    public void claimed(String path, int depth) {
+        append(RecordType.CLAIMED, path, depth);
+    }
+
+    public void completed(String path) {
+        append(RecordType.COMPLETED, path, 0);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized void sync() {
+        if (broken || unsyncedRecords == 0) return;
+
+        try {
+            out.flush();
+            fileStream.getChannel().force(false);
+            unsyncedRecords = 0;
+            lastSync = System.currentTimeMillis();
+        } catch (IOException e) {
+            markBroken(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        sync();
+        try {
+            out.close();
+        } catch (IOException e) {
+            ApplicationLogger.logError(e);
+        }
+        broken = true;
+    }
+
+    private synchronized void append(RecordType type, String path, int depth) {
+        if (broken) return;
+
+        try {
+            write(out, type, path, depth);
+        } catch (IOException e) {
+            markBroken(e);
+            return;
+        }
+
+        if (++unsyncedRecords >= syncBatchSize || System.currentTimeMillis() - lastSync >= syncInterval) sync();
+    }
+
+    private void markBroken(IOException e) {
+        ApplicationLogger.logError(e);
+        broken = true;
+    }
+
+    private static void write(DataOutputStream out, RecordType type, String path, int depth) throws IOException {
+        out.write(type.ordinal());
+        out.writeInt(depth);
+        out.writeUTF(path);
+    }
+
+    enum RecordType {
+        ENQUEUED,
+        DROPPED,
+        CLAIMED,
+        COMPLETED
+    }
+}
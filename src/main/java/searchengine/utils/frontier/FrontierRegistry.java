@@ -0,0 +1,147 @@
+package searchengine.utils.frontier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.cache.PageCache;
+import searchengine.config.CrawlSettings;
+import searchengine.config.JournalSettings;
+import searchengine.config.SitesList;
+import searchengine.dto.metrics.FrontierMetrics;
+import searchengine.logging.ApplicationLogger;
+import searchengine.model.Site;
+import searchengine.utils.workers.UrlWorker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Component
+public class FrontierRegistry {
+
+    private static final String JOURNAL_EXTENSION = ".journal";
+
+    private final Map<Integer, CrawlFrontier> frontiers = new ConcurrentHashMap<>();
+
+    private final CrawlSettings settings;
+
+    private final SitesList configSites;
+
+    private final PageCache pageCache;
+
+    private final JournalSettings journalSettings;
+
+    @Autowired
+    public FrontierRegistry(CrawlSettings settings, SitesList configSites, PageCache pageCache,
+                            JournalSettings journalSettings) {
+        this.settings = settings;
+        this.configSites = configSites;
+        this.pageCache = pageCache;
+        this.journalSettings = journalSettings;
+    }
+
+    public CrawlFrontier create(Site site) {
+        FrontierJournal.delete(getJournalFile(site.getId()));
+
+        return register(site);
+    }
+
+    public CrawlFrontier createReplay(Site site, int pages) {
+        FrontierJournal.delete(getJournalFile(site.getId()));
+
+        return register(site, Math.max(settings.getFrontierCapacity(), pages), null);
+    }
+
+    public CrawlFrontier restore(Site site, JournalState state) {
+        state.requeueInterrupted();
+        FrontierJournal.compact(getJournalFile(site.getId()), state);
+
+        CrawlFrontier frontier = register(site);
+        frontier.restore(state);
+
+        return frontier;
+    }
+
+    public boolean hasJournal(int siteId) {
+        return journalSettings.isEnabled() && Files.exists(getJournalFile(siteId));
+    }
+
+    public JournalState readJournal(int siteId) {
+        return FrontierJournal.replay(getJournalFile(siteId));
+    }
+
+    public void remove(int siteId) {
+        CrawlFrontier frontier = frontiers.remove(siteId);
+        if (frontier != null) frontier.close();
+    }
+
+    public void complete(int siteId) {
+        remove(siteId);
+        FrontierJournal.delete(getJournalFile(siteId));
+    }
+
+    public void deleteJournals() {
+        Path directory = Paths.get(journalSettings.getDirectory());
+        if (!Files.isDirectory(directory)) return;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(JOURNAL_EXTENSION))
+                    .forEach(FrontierJournal::delete);
+        } catch (IOException e) {
+            ApplicationLogger.logError(e);
+        }
+    }
+
+    public void closeAll() {
+        frontiers.keySet().forEach(this::remove);
+    }
+
+    public List<FrontierMetrics> getMetrics() {
+        return frontiers.values().stream()
+                .map(frontier -> {
+                    FrontierMetrics metrics = new FrontierMetrics();
+                    metrics.setSiteId(frontier.getSiteId());
+                    metrics.setQueued(frontier.size());
+                    metrics.setInFlight(frontier.getInFlight());
+                    metrics.setClaimedPages(frontier.getClaimedPages());
+                    metrics.setDroppedLinks(frontier.getDroppedLinks());
+
+                    return metrics;
+                }).toList();
+    }
+
+    private CrawlFrontier register(Site site) {
+        FrontierJournal journal = journalSettings.isEnabled() ?
+                FrontierJournal.open(getJournalFile(site.getId()), journalSettings.getSyncBatchSize(),
+                        journalSettings.getSyncInterval()) :
+                null;
+
+        return register(site, settings.getFrontierCapacity(), journal);
+    }
+
+    private CrawlFrontier register(Site site, int capacity, FrontierJournal journal) {
+        searchengine.config.Site configSite = findConfigSite(site.getUrl());
+        CrawlFrontier frontier = new CrawlFrontier(site.getId(), pageCache, capacity,
+                configSite == null ? settings.getMaxDepth() : configSite.getMaxDepth(),
+                configSite == null ? settings.getMaxPages() : configSite.getMaxPages(), journal);
+        frontiers.put(site.getId(), frontier);
+
+        return frontier;
+    }
+
+    private Path getJournalFile(int siteId) {
+        return Paths.get(journalSettings.getDirectory(), "site-" + siteId + JOURNAL_EXTENSION);
+    }
+
+    private searchengine.config.Site findConfigSite(String siteUrl) {
+        String host = UrlWorker.getHost(siteUrl);
+
+        return configSites.getSites().stream()
+                .filter(s -> UrlWorker.getHost(s.getUrl()).equals(host))
+                .findFirst().orElse(null);
+    }
+}
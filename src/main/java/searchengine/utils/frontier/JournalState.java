@@ -0,0 +1,41 @@
+package searchengine.utils.frontier;
+
+import lombok.Getter;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+public class JournalState {
+
+    private final Map<String, Integer> pending = new LinkedHashMap<>();
+
+    private final Set<String> visited = new HashSet<>();
+
+    private final Map<String, Integer> interrupted = new LinkedHashMap<>();
+
+    void apply(FrontierJournal.RecordType type, String path, int depth) {
+        switch (type) {
+            case ENQUEUED -> {
+                if (!visited.contains(path) && !interrupted.containsKey(path)) pending.put(path, depth);
+            }
+            case DROPPED -> pending.remove(path);
+            case CLAIMED -> {
+                Integer pendingDepth = pending.remove(path);
+                interrupted.put(path, pendingDepth == null ? depth : pendingDepth);
+            }
+            case COMPLETED -> {
+                pending.remove(path);
+                interrupted.remove(path);
+                visited.add(path);
+            }
+        }
+    }
+
+    void requeueInterrupted() {
+        interrupted.forEach(pending::putIfAbsent);
+        interrupted.clear();
+    }
+}
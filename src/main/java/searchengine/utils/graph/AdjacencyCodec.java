@@ -0,0 +1,61 @@
+package searchengine.utils.graph;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class AdjacencyCodec {
+
+    public static byte[] encodeFingerprints(long[] fingerprints) {
+        ByteBuffer buffer = ByteBuffer.allocate(fingerprints.length * Long.BYTES);
+        for (long fingerprint : fingerprints) buffer.putLong(fingerprint);
+
+        return buffer.array();
+    }
+
+    public static long[] decodeFingerprints(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        long[] fingerprints = new long[data.length / Long.BYTES];
+        for (int i = 0; i < fingerprints.length; i++) fingerprints[i] = buffer.getLong();
+
+        return fingerprints;
+    }
+
+    public static byte[] encodeIds(int[] ids) {
+        int[] sorted = Arrays.stream(ids).sorted().distinct().toArray();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(sorted.length * 2);
+        int previous = 0;
+        for (int id : sorted) {
+            int delta = id - previous;
+            while ((delta & ~0x7F) != 0) {
+                out.write((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            out.write(delta);
+            previous = id;
+        }
+
+        return out.toByteArray();
+    }
+
+    public static int[] decodeIds(byte[] data) {
+        int[] ids = new int[data.length];
+        int count = 0;
+        int previous = 0;
+        int position = 0;
+        while (position < data.length) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0 && position < data.length);
+            previous += delta;
+            ids[count++] = previous;
+        }
+
+        return Arrays.copyOf(ids, count);
+    }
+}
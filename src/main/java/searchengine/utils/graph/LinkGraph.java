@@ -0,0 +1,86 @@
+package searchengine.utils.graph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public class LinkGraph {
+
+    private final int size;
+
+    private final int[] outDegree;
+
+    private final int[] inOffsets;
+
+    private final int[] inSources;
+
+    private int iterations;
+
+    public LinkGraph(int[][] adjacency) {
+        this.size = adjacency.length;
+        this.outDegree = new int[size];
+        this.inOffsets = new int[size + 1];
+
+        for (int source = 0; source < size; source++) {
+            for (int target : adjacency[source]) {
+                outDegree[source]++;
+                inOffsets[target + 1]++;
+            }
+        }
+        for (int node = 0; node < size; node++) inOffsets[node + 1] += inOffsets[node];
+
+        this.inSources = new int[inOffsets[size]];
+        int[] fill = new int[size];
+        for (int source = 0; source < size; source++) {
+            for (int target : adjacency[source]) inSources[inOffsets[target] + fill[target]++] = source;
+        }
+    }
+
+    public double[] pageRank(double damping, int maxIterations, double tolerance) {
+        double[] rank = new double[size];
+        if (size == 0) return rank;
+
+        double[] next = new double[size];
+        Arrays.fill(rank, 1.0 / size);
+        for (iterations = 1; iterations <= maxIterations; iterations++) {
+            double[] current = rank;
+            double dangling = IntStream.range(0, size).parallel()
+                    .filter(node -> outDegree[node] == 0)
+                    .mapToDouble(node -> current[node])
+                    .sum();
+            double base = (1 - damping) / size + damping * dangling / size;
+
+            double[] updated = next;
+            IntStream.range(0, size).parallel().forEach(node -> {
+                double incoming = 0;
+                for (int i = inOffsets[node]; i < inOffsets[node + 1]; i++) {
+                    int source = inSources[i];
+                    incoming += current[source] / outDegree[source];
+                }
+                updated[node] = base + damping * incoming;
+            });
+
+            double delta = IntStream.range(0, size).parallel()
+                    .mapToDouble(node -> Math.abs(updated[node] - current[node]))
+                    .sum();
+            next = rank;
+            rank = updated;
+            if (delta < tolerance) break;
+        }
+        iterations = Math.min(iterations, maxIterations);
+
+        for (int node = 0; node < size; node++) rank[node] *= size;
+        return rank;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getEdges() {
+        return inSources.length;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+}
@@ -0,0 +1,156 @@
+package searchengine.utils.graph;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.RankSettings;
+import searchengine.dto.metrics.LinkGraphMetrics;
+import searchengine.logging.ApplicationLogger;
+import searchengine.model.Site;
+import searchengine.repositories.IndexRepository;
+import searchengine.repositories.PageLinkRepository;
+import searchengine.repositories.PageRepository;
+import searchengine.utils.workers.UrlWorker;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+@Component
+public class PageRankJob {
+
+    private final RankSettings settings;
+
+    private final PageRepository pageRepository;
+
+    private final PageLinkRepository pageLinkRepository;
+
+    private final IndexRepository indexRepository;
+
+    private final Map<Integer, LinkGraphMetrics> metrics = new LinkedHashMap<>();
+
+    @Autowired
+    public PageRankJob(RankSettings settings, PageRepository pageRepository, PageLinkRepository pageLinkRepository,
+                       IndexRepository indexRepository) {
+        this.settings = settings;
+        this.pageRepository = pageRepository;
+        this.pageLinkRepository = pageLinkRepository;
+        this.indexRepository = indexRepository;
+    }
+
+    public void saveLinks(int pageId, long[] outlinks) {
+        if (settings.isEnabled() && outlinks != null) {
+            pageLinkRepository.save(pageId, AdjacencyCodec.encodeFingerprints(outlinks));
+        }
+    }
+
+    public void run(Site site) {
+        if (!settings.isEnabled()) return;
+
+        try {
+            rank(site);
+        } catch (RuntimeException e) {
+            ApplicationLogger.logError(e);
+        }
+    }
+
+    private void rank(Site site) {
+        long start = System.currentTimeMillis();
+
+        List<Object[]> pages = pageRepository.findIdsAndPathsBySiteId(site.getId());
+        int[] pageIds = new int[pages.size()];
+        Map<Integer, Integer> nodesById = new HashMap<>(pages.size() * 2);
+        Map<Long, Integer> nodesByFingerprint = new HashMap<>(pages.size() * 2);
+        for (int node = 0; node < pages.size(); node++) {
+            pageIds[node] = ((Number) pages.get(node)[0]).intValue();
+            nodesById.put(pageIds[node], node);
+            nodesByFingerprint.put(UrlWorker.getUrlFingerprint((String) pages.get(node)[1]), node);
+        }
+
+        int[][] adjacency = new int[pageIds.length][];
+        Arrays.fill(adjacency, new int[0]);
+        List<String> resolvedRows = new ArrayList<>();
+        for (Object[] row : pageLinkRepository.findBySiteId(site.getId())) {
+            Integer source = nodesById.get(((Number) row[0]).intValue());
+            if (source == null) continue;
+
+            boolean resolved = row[1] instanceof Boolean b ? b : ((Number) row[1]).intValue() != 0;
+            int[] resolvedNodes = resolved ?
+                    toNodes(AdjacencyCodec.decodeIds((byte[]) row[2]), nodesById, source) : new int[0];
+            long[] pending = resolved ?
+                    row[3] == null ? new long[0] : AdjacencyCodec.decodeFingerprints((byte[]) row[3]) :
+                    AdjacencyCodec.decodeFingerprints((byte[]) row[2]);
+            int[] matchedNodes = toNodes(pending, nodesByFingerprint, source);
+            adjacency[source] = IntStream.concat(Arrays.stream(resolvedNodes), Arrays.stream(matchedNodes))
+                    .distinct().toArray();
+            if (!resolved || matchedNodes.length > 0) {
+                resolvedRows.add(toResolvedRow(pageIds[source], adjacency[source], pageIds,
+                        unmatched(pending, nodesByFingerprint)));
+            }
+        }
+
+        LinkGraph graph = new LinkGraph(adjacency);
+        double[] ranks = graph.pageRank(settings.getDamping(), settings.getMaxIterations(), settings.getTolerance());
+        saveRanks(pageIds, ranks);
+        saveResolved(resolvedRows);
+
+        LinkGraphMetrics siteMetrics = new LinkGraphMetrics();
+        siteMetrics.setSiteId(site.getId());
+        siteMetrics.setPages(graph.size());
+        siteMetrics.setLinks(graph.getEdges());
+        siteMetrics.setIterations(graph.getIterations());
+        siteMetrics.setMillis(System.currentTimeMillis() - start);
+        synchronized (metrics) {
+            metrics.put(site.getId(), siteMetrics);
+        }
+    }
+
+    public List<LinkGraphMetrics> getMetrics() {
+        synchronized (metrics) {
+            return new ArrayList<>(metrics.values());
+        }
+    }
+
+    private void saveRanks(int[] pageIds, double[] ranks) {
+        for (int from = 0; from < pageIds.length; from += settings.getWriteBatchSize()) {
+            int to = Math.min(pageIds.length, from + settings.getWriteBatchSize());
+            StringJoiner rows = new StringJoiner(",", "[", "]");
+            for (int node = from; node < to; node++) {
+                rows.add("[" + pageIds[node] + "," + String.format(Locale.ROOT, "%.6f", ranks[node]) + "]");
+            }
+            pageRepository.updatePageRanks(rows.toString());
+            indexRepository.updatePageRanks(rows.toString());
+        }
+    }
+
+    private void saveResolved(List<String> resolvedRows) {
+        for (int from = 0; from < resolvedRows.size(); from += settings.getWriteBatchSize()) {
+            List<String> batch = resolvedRows.subList(from, Math.min(resolvedRows.size(), from + settings.getWriteBatchSize()));
+            pageLinkRepository.saveResolved("[" + String.join(",", batch) + "]");
+        }
+    }
+
+    private static String toResolvedRow(int pageId, int[] targets, int[] pageIds, long[] unresolved) {
+        int[] targetIds = Arrays.stream(targets).map(node -> pageIds[node]).toArray();
+        String unresolvedTargets = unresolved.length == 0 ? "" : ",\"unresolved\":\"" +
+                Base64.getEncoder().encodeToString(AdjacencyCodec.encodeFingerprints(unresolved)) + "\"";
+        return "{\"id\":" + pageId + ",\"targets\":\"" +
+                Base64.getEncoder().encodeToString(AdjacencyCodec.encodeIds(targetIds)) + "\"" +
+                unresolvedTargets + "}";
+    }
+
+    private static long[] unmatched(long[] fingerprints, Map<Long, Integer> nodesByFingerprint) {
+        return Arrays.stream(fingerprints).filter(fingerprint -> !nodesByFingerprint.containsKey(fingerprint))
+                .distinct().toArray();
+    }
+
+    private static int[] toNodes(int[] ids, Map<Integer, Integer> nodesById, int source) {
+        return Arrays.stream(ids).mapToObj(nodesById::get)
+                .filter(node -> node != null && node != source)
+                .mapToInt(Integer::intValue).distinct().toArray();
+    }
+
+    private static int[] toNodes(long[] fingerprints, Map<Long, Integer> nodesByFingerprint, int source) {
+        return Arrays.stream(fingerprints).mapToObj(nodesByFingerprint::get)
+                .filter(node -> node != null && node != source)
+                .mapToInt(Integer::intValue).distinct().toArray();
+    }
+}
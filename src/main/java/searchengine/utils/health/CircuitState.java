@@ -0,0 +1,7 @@
+package searchengine.utils.health;
+
+public enum CircuitState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+}
@@ -0,0 +1,105 @@
+package searchengine.utils.health;
+
+import searchengine.config.BreakerSettings;
+
+public class HostHealth {
+
+    public static final long REJECTED = -1;
+
+    private final String host;
+
+    private final BreakerSettings settings;
+
+    private CircuitState state = CircuitState.CLOSED;
+
+    private int consecutiveFailures;
+
+    private int trips;
+
+    private long openUntil;
+
+    private long failures;
+
+    private long rejected;
+
+    public HostHealth(String host, BreakerSettings settings) {
+        this.host = host;
+        this.settings = settings;
+    }
+
+    public synchronized long reserve(long now) {
+        switch (state) {
+            case OPEN -> {
+                if (now < openUntil) {
+                    if (!isExhausted()) return openUntil - now;
+
+                    rejected++;
+                    return REJECTED;
+                }
+
+                state = CircuitState.HALF_OPEN;
+                return 0;
+            }
+            case HALF_OPEN -> {
+                return settings.getProbeWait();
+            }
+            default -> {
+                return 0;
+            }
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == CircuitState.HALF_OPEN) {
+            state = CircuitState.CLOSED;
+            trips = 0;
+        }
+    }
+
+    public synchronized long onFailure(long now) {
+        failures++;
+        if (state == CircuitState.OPEN) return 0;
+        if (state == CircuitState.CLOSED && ++consecutiveFailures < settings.getFailureThreshold()) return 0;
+
+        trips++;
+        state = CircuitState.OPEN;
+        openUntil = now + getOpenDuration();
+
+        return isExhausted() ? 0 : openUntil;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    public synchronized int getTrips() {
+        return trips;
+    }
+
+    public synchronized long getOpenUntil() {
+        return openUntil;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    private boolean isExhausted() {
+        return trips >= settings.getMaxTrips();
+    }
+
+    private long getOpenDuration() {
+        long duration = settings.getOpenDuration() << Math.min(trips - 1, 20);
+
+        return Math.min(duration, settings.getMaxOpenDuration());
+    }
+}
@@ -0,0 +1,87 @@
+package searchengine.utils.health;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.BreakerSettings;
+import searchengine.dto.page.PageResponse;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class HostHealthRegistry {
+
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(408, 429, 500, 502, 503, 504);
+
+    private final Map<String, HostHealth> hosts = new ConcurrentHashMap<>();
+
+    private final Map<Integer, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    private final BreakerSettings settings;
+
+    @Autowired
+    public HostHealthRegistry(BreakerSettings settings) {
+        this.settings = settings;
+    }
+
+    public static boolean isTransient(PageResponse pageResponse) {
+        return pageResponse == null || TRANSIENT_STATUSES.contains(pageResponse.getStatusCode());
+    }
+
+    public long reserve(String host) {
+        if (!settings.isEnabled()) return 0;
+
+        return getHealth(host).reserve(System.currentTimeMillis());
+    }
+
+    public void onSuccess(String host) {
+        if (settings.isEnabled()) getHealth(host).onSuccess();
+    }
+
+    public long onFailure(String host) {
+        if (!settings.isEnabled()) return 0;
+
+        return getHealth(host).onFailure(System.currentTimeMillis());
+    }
+
+    public void resetBudget(int siteId) {
+        budgets.put(siteId, new RetryBudget(settings.getRetryBudgetRatio(), settings.getMinRetries()));
+    }
+
+    public void onRequest(int siteId) {
+        getBudget(siteId).onRequest();
+    }
+
+    public boolean tryRetry(int siteId, int attempt) {
+        return settings.isEnabled() && attempt < settings.getMaxRetries() && getBudget(siteId).tryAcquire();
+    }
+
+    public long getRetryDelay(int attempt) {
+        long delay = Math.min(settings.getMaxRetryBackoff(), settings.getRetryBackoff() << Math.min(attempt, 20));
+
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    public CircuitState getState(String host) {
+        HostHealth health = hosts.get(host);
+
+        return health == null ? CircuitState.CLOSED : health.getState();
+    }
+
+    public long getRemainingRetries(int siteId) {
+        RetryBudget budget = budgets.get(siteId);
+
+        return budget == null ? 0 : budget.getRemaining();
+    }
+
+    private HostHealth getHealth(String host) {
+        return hosts.computeIfAbsent(host, h -> new HostHealth(h, settings));
+    }
+
+    private RetryBudget getBudget(int siteId) {
+        return budgets.computeIfAbsent(siteId,
+                id -> new RetryBudget(settings.getRetryBudgetRatio(), settings.getMinRetries()));
+    }
+}
@@ -0,0 +1,40 @@
+package searchengine.utils.health;
+
+public class RetryBudget {
+
+    private final double ratio;
+
+    private final int minRetries;
+
+    private long requests;
+
+    private long retries;
+
+    public RetryBudget(double ratio, int minRetries) {
+        this.ratio = ratio;
+        this.minRetries = minRetries;
+    }
+
+    public synchronized void onRequest() {
+        requests++;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (retries >= getLimit()) return false;
+
+        retries++;
+        return true;
+    }
+
+    public synchronized long getRemaining() {
+        return Math.max(0, getLimit() - retries);
+    }
+
+    public synchronized long getRetries() {
+        return retries;
+    }
+
+    private long getLimit() {
+        return minRetries + (long) (requests * ratio);
+    }
+}
@@ -0,0 +1,84 @@
+package searchengine.utils.jobs;
+
+import searchengine.utils.executors.CrawlExecutor;
+import searchengine.utils.parsers.WebsiteParser;
+import searchengine.utils.pipeline.IndexingPipeline;
+
+public class CrawlJob {
+
+    private final String siteUrl;
+
+    private final IndexingPipeline pipeline;
+
+    private final long startedAt = System.currentTimeMillis();
+
+    private WebsiteParser parser;
+
+    private CrawlExecutor executor;
+
+    private CrawlJobState state = CrawlJobState.PREPARING;
+
+    private boolean leased;
+
+    CrawlJob(String siteUrl, IndexingPipeline pipeline) {
+        this.siteUrl = siteUrl;
+        this.pipeline = pipeline;
+    }
+
+    public synchronized boolean attach(WebsiteParser parser, CrawlExecutor executor) {
+        if (state == CrawlJobState.CANCELLED) return false;
+
+        this.parser = parser;
+        this.executor = executor;
+        this.state = CrawlJobState.RUNNING;
+
+        return true;
+    }
+
+    public synchronized void cancel() {
+        if (state == CrawlJobState.CANCELLED) return;
+
+        state = CrawlJobState.CANCELLED;
+        if (parser == null) return;
+
+        parser.cancel();
+        executor.shutdown();
+        pipeline.discard(parser);
+    }
+
+    public synchronized boolean isCancelled() {
+        return state == CrawlJobState.CANCELLED;
+    }
+
+    public synchronized CrawlJobState getState() {
+        return state;
+    }
+
+    public synchronized WebsiteParser getParser() {
+        return parser;
+    }
+
+    public synchronized CrawlExecutor getExecutor() {
+        return executor;
+    }
+
+    public synchronized Integer getSiteId() {
+        return parser == null ? null : parser.getSite().getId();
+    }
+
+    public synchronized boolean isLeased() {
+        return leased;
+    }
+
+    public synchronized void setLeased(boolean leased) {
+        this.leased = leased;
+    }
+
+    public String getSiteUrl() {
+        return siteUrl;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+}
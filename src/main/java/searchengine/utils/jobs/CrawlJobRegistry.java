@@ -0,0 +1,101 @@
+package searchengine.utils.jobs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.dto.metrics.CrawlJobMetrics;
+import searchengine.utils.executors.CrawlThroughput;
+import searchengine.utils.pipeline.IndexingPipeline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class CrawlJobRegistry {
+
+    private final Map<String, CrawlJob> jobs = new HashMap<>();
+
+    private final IndexingPipeline pipeline;
+
+    private final CrawlThroughput throughput;
+
+    @Autowired
+    public CrawlJobRegistry(IndexingPipeline pipeline, CrawlThroughput throughput) {
+        this.pipeline = pipeline;
+        this.throughput = throughput;
+    }
+
+    public synchronized CrawlJob reserve(String siteUrl) {
+        if (jobs.containsKey(siteUrl)) return null;
+        if (jobs.isEmpty()) {
+            throughput.start();
+            pipeline.resetMetrics();
+        }
+
+        CrawlJob job = new CrawlJob(siteUrl, pipeline);
+        jobs.put(siteUrl, job);
+
+        return job;
+    }
+
+    public synchronized List<CrawlJob> reserveAll(List<String> siteUrls) {
+        if (siteUrls.stream().anyMatch(jobs::containsKey)) return null;
+
+        return siteUrls.stream().map(this::reserve).toList();
+    }
+
+    public synchronized void finish(CrawlJob job) {
+        if (!jobs.remove(job.getSiteUrl(), job)) return;
+        if (jobs.isEmpty()) throughput.stop();
+    }
+
+    public synchronized boolean isRunning(String siteUrl) {
+        return jobs.containsKey(siteUrl);
+    }
+
+    public synchronized boolean isIdle() {
+        return jobs.isEmpty();
+    }
+
+    public synchronized boolean cancel(String siteUrl) {
+        CrawlJob job = jobs.get(siteUrl);
+        if (job == null || job.isCancelled()) return false;
+
+        job.cancel();
+        return true;
+    }
+
+    public synchronized void cancelBySiteId(int siteId) {
+        jobs.values().stream()
+                .filter(job -> Integer.valueOf(siteId).equals(job.getSiteId()))
+                .forEach(CrawlJob::cancel);
+    }
+
+    public synchronized boolean cancelAll() {
+        List<CrawlJob> running = jobs.values().stream().filter(job -> !job.isCancelled()).toList();
+        running.forEach(CrawlJob::cancel);
+
+        return !running.isEmpty();
+    }
+
+    public synchronized void cancelLeased() {
+        jobs.values().stream().filter(CrawlJob::isLeased).forEach(CrawlJob::cancel);
+    }
+
+    public synchronized List<CrawlJobMetrics> getMetrics() {
+        long now = System.currentTimeMillis();
+        List<CrawlJobMetrics> metrics = new ArrayList<>();
+        for (CrawlJob job : jobs.values()) {
+            CrawlJobMetrics jobMetrics = new CrawlJobMetrics();
+            jobMetrics.setSiteUrl(job.getSiteUrl());
+            jobMetrics.setSiteId(job.getSiteId());
+            jobMetrics.setState(job.getState());
+            jobMetrics.setLeased(job.isLeased());
+            jobMetrics.setRunningMillis(now - job.getStartedAt());
+            metrics.add(jobMetrics);
+        }
+
+        return metrics;
+    }
+}
@@ -0,0 +1,7 @@
+package searchengine.utils.jobs;
+
+public enum CrawlJobState {
+    PREPARING,
+    RUNNING,
+    CANCELLED,
+}
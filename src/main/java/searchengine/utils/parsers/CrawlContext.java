@@ -0,0 +1,45 @@
+package searchengine.utils.parsers;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import searchengine.cache.DuplicateCache;
+import searchengine.cache.PageCache;
+import searchengine.cache.TemplateCache;
+import searchengine.services.indexing.IndexingService;
+import searchengine.utils.archive.CrawlArchive;
+import searchengine.utils.executors.CrawlThroughput;
+import searchengine.utils.fetchers.PageFetcher;
+import searchengine.utils.frontier.FrontierRegistry;
+import searchengine.utils.health.HostHealthRegistry;
+import searchengine.utils.politeness.PolitenessScheduler;
+import searchengine.utils.robots.RobotsRegistry;
+import searchengine.utils.sitemaps.SitemapLoader;
+
+@Getter
+@RequiredArgsConstructor
+public class CrawlContext {
+
+    private final IndexingService indexingService;
+
+    private final PageCache pageCache;
+
+    private final PolitenessScheduler politenessScheduler;
+
+    private final HostHealthRegistry hostHealth;
+
+    private final CrawlThroughput throughput;
+
+    private final FrontierRegistry frontierRegistry;
+
+    private final PageFetcher fetcher;
+
+    private final RobotsRegistry robotsRegistry;
+
+    private final SitemapLoader sitemapLoader;
+
+    private final DuplicateCache duplicateCache;
+
+    private final CrawlArchive archive;
+
+    private final TemplateCache templateCache;
+}
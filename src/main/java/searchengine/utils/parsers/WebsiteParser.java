@@ -1,93 +1,404 @@
 package searchengine.utils.parsers;
 
 import org.jsoup.nodes.Document;
-import searchengine.cache.PageCache;
+import org.jsoup.nodes.Element;
+import searchengine.cache.SimHashIndex;
 import searchengine.dto.indexing.IndexingStatusResponse;
 import searchengine.dto.page.PageResponse;
 import searchengine.logging.ApplicationLogger;
 import searchengine.model.Page;
 import searchengine.model.Site;
-import searchengine.services.indexing.IndexingService;
-import searchengine.utils.handlers.ParsingTaskResultHandler;
+import searchengine.utils.archive.ArchiveSnapshot;
+import searchengine.utils.frontier.CrawlFrontier;
+import searchengine.utils.frontier.JournalState;
+import searchengine.utils.health.HostHealthRegistry;
 import searchengine.utils.lemmas.Lemmatizator;
+import searchengine.utils.pipeline.PageTask;
+import searchengine.utils.recrawl.RevisitOutcome;
+import searchengine.utils.politeness.PolitenessScheduler;
 import searchengine.utils.responsegenerators.IndexingResponseGenerator;
+import searchengine.utils.robots.RobotsRules;
+import searchengine.utils.sitemaps.SitemapEntry;
+import searchengine.utils.urls.UrlCanonicalizer;
+import searchengine.utils.workers.HashWorker;
 import searchengine.utils.workers.HtmlWorker;
 import searchengine.utils.workers.UrlWorker;
 
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.RecursiveTask;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-public class WebsiteParser extends RecursiveTask<IndexingStatusResponse> {
+public class WebsiteParser {
 
-    private static final int DELAY = 500;
+    private static final long HOST_CHECK_MILLIS = 1_000;
 
-    private static final AtomicBoolean parsingStopped;
-
-    private final IndexingService indexingService;
+    private final CrawlContext context;
 
     private final Site site;
 
-    private String pageUrl;
+    private final String pageUrl;
 
-    static {
-        parsingStopped = new AtomicBoolean(true);
-    }
+    private final UrlCanonicalizer canonicalizer;
+
+    private JournalState resumeState;
+
+    private List<String> knownPaths;
+
+    private ArchiveSnapshot snapshot;
+
+    private CrawlFrontier frontier;
+
+    private RobotsRules robotsRules = RobotsRules.allowAll();
+
+    private final Set<String> errors = ConcurrentHashMap.newKeySet();
 
-    public WebsiteParser(IndexingService indexingService, Site site, String pageUrl) {
-        this.indexingService = indexingService;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    private volatile Long leaseToken;
+
+    public WebsiteParser(CrawlContext context, Site site, String pageUrl) {
+        this.context = context;
         this.site = site;
-        this.pageUrl = pageUrl;
+        this.canonicalizer = new UrlCanonicalizer(site.getUrl());
+        this.pageUrl = pageUrl.startsWith("/") ? pageUrl : canonicalizer.canonicalize(pageUrl);
     }
 
-    public static boolean isParsingStopped() {
-        return parsingStopped.get();
+    public boolean isCancelled() {
+        return cancelled.get();
     }
 
-    public static void setParsingStopped(boolean toggle) {
-        WebsiteParser.parsingStopped.set(toggle);
+    public void cancel() {
+        cancelled.set(true);
+        if (frontier != null) frontier.close();
     }
 
     public Site getSite() {
         return site;
     }
 
-    @Override
-    protected IndexingStatusResponse compute() {
-        if (parsingStopped.get()) return IndexingResponseGenerator.userStoppedIndexing();
+    public CrawlFrontier getFrontier() {
+        return frontier;
+    }
 
-        pageUrl = UrlWorker.removeDomainFromUrl(site.getUrl(), pageUrl);
-        if (PageCache.pageIndexed(site.getId(), pageUrl)) return IndexingResponseGenerator.successResponse();
+    public void resumeFrom(JournalState state) {
+        this.resumeState = state;
+    }
 
-        executeDelay();
+    public void recrawl(List<String> knownPaths) {
+        this.knownPaths = knownPaths;
+    }
 
-        Document doc = savePageInfoAndGetDocument();
-        if (doc == null) return IndexingResponseGenerator.contentUnavailable(pageUrl);
+    public boolean isIncremental() {
+        return knownPaths != null;
+    }
 
-        return new ParsingTaskResultHandler(new ArrayList<>(createSubtasks(doc))).handleTasksResult();
+    public void replayFrom(ArchiveSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public boolean isReplay() {
+        return snapshot != null;
+    }
+
+    public void initFrontier() {
+        if (isReplay()) {
+            frontier = context.getFrontierRegistry().createReplay(site, snapshot.size());
+            snapshot.getPaths().forEach(path -> frontier.offer(path, 0));
+            return;
+        }
+
+        robotsRules = context.getRobotsRegistry().getRules(site.getUrl());
+        context.getHostHealth().resetBudget(site.getId());
+        if (resumeState != null) {
+            frontier = context.getFrontierRegistry().restore(site, resumeState);
+            return;
+        }
+
+        frontier = context.getFrontierRegistry().create(site);
+        offer(pageUrl, 0);
+        for (SitemapEntry entry : context.getSitemapLoader().load(site.getUrl(), robotsRules.getSitemaps())) {
+            String path = canonicalizer.canonicalize(entry.getLocation());
+            if (path != null) offer(path, 1);
+        }
+        if (isIncremental()) knownPaths.forEach(path -> offer(path, 1));
     }
 
     public IndexingStatusResponse indexPage() {
-        Document doc = savePageInfoAndGetDocument();
-        if (doc == null) return IndexingResponseGenerator.contentUnavailable(pageUrl);
+        PageTask task = new PageTask(this, null, pageUrl, fetchPage(pageUrl));
+        if (isUnavailable(task)) return IndexingResponseGenerator.contentUnavailable(pageUrl);
+
+        if (parse(task)) {
+            lemmatize(task);
+            persist(task);
+        }
 
         return IndexingResponseGenerator.successResponse();
     }
 
-    protected Document savePageInfoAndGetDocument() {
-        PageResponse pageResponse = HtmlWorker.getResponse(site.getUrl().concat(pageUrl));
-        if (pageResponse == null || (pageResponse.getStatusCode() >= 400 && pageUrl.equals("/"))) return null;
-        pageResponse.setPath(pageUrl);
+    public RevisitOutcome refreshPage() {
+        knownPaths = List.of(pageUrl);
+        PageTask task = new PageTask(this, null, pageUrl, fetchPage(pageUrl));
+        if (isUnavailable(task)) return RevisitOutcome.FAILED;
+
+        if (parse(task)) {
+            lemmatize(task);
+            persist(task);
+        }
+
+        PageResponse pageResponse = task.getPageResponse();
+        if (pageResponse.isRejected()) return RevisitOutcome.FAILED;
+        if (pageResponse.getStatusCode() >= 400) return RevisitOutcome.REMOVED;
+
+        return pageResponse.isUnchanged() ? RevisitOutcome.UNCHANGED : RevisitOutcome.CHANGED;
+    }
+
+    public boolean parse(PageTask task) {
+        if (isCancelled()) return false;
+        if (isUnavailable(task)) {
+            errors.add(IndexingResponseGenerator.contentUnavailable(task.getPath()).getError());
+            return false;
+        }
+
+        PageResponse pageResponse = task.getPageResponse();
+        if (!resolveFinalPath(task.getPath(), pageResponse)) pageResponse.setRejected(true);
+        if (pageResponse.isRejected()) {
+            context.getThroughput().recordRejected();
+            return false;
+        }
+        if (pageResponse.isUnchanged()) {
+            context.getThroughput().recordUnchanged();
+            return false;
+        }
 
         Page page = createPage(pageResponse);
-        Document doc = HtmlWorker.parsePage(pageResponse.getResponse());
-        Map<String, Integer> lemmasAndFrequencies = Lemmatizator.getLemmas(doc);
+        Page storedPage = pageResponse.getStoredPage();
+        if (storedPage != null && page.getContentHash().equals(storedPage.getContentHash())) {
+            pageResponse.setUnchanged(true);
+            context.getThroughput().recordUnchanged();
+            return false;
+        }
+        task.setPage(page);
+
+        Document doc = HtmlWorker.parsePage(pageResponse);
+        task.setDocument(doc);
+        if (isCanonicalDuplicate(pageResponse, doc)) {
+            context.getThroughput().recordRejected();
+            if (task.getEntry() != null && !isReplay()) {
+                offer(pageResponse.getCanonicalPath(), task.getEntry().getDepth());
+            }
+            return false;
+        }
+        Set<String> links = extractLinks(doc);
+        if (pageResponse.getStatusCode() < 400) {
+            page.setOutlinks(links.stream().mapToLong(UrlWorker::getUrlFingerprint).toArray());
+        }
+        if (task.getEntry() != null && !isReplay()) links.forEach(link -> offer(link, task.getEntry().getDepth() + 1));
+
+        return pageResponse.getStatusCode() < 400 || storedPage != null;
+    }
+
+    public void lemmatize(PageTask task) {
+        if (task.getPageResponse().getStatusCode() >= 400) return;
+
+        task.setLemmas(Lemmatizator.getLemmas(
+                context.getTemplateCache().extractMainText(site.getId(), task.getDocument())));
+        task.getPage().setSimHash(context.getDuplicateCache().fingerprint(task.getLemmas()));
+    }
+
+    public void persist(PageTask task) {
+        if (!isCancelled()) write(task);
+    }
+
+    public void setLeaseToken(long leaseToken) {
+        this.leaseToken = leaseToken;
+    }
+
+    public void write(PageTask task) {
+        if (leaseToken == null) {
+            store(task);
+        } else {
+            context.getIndexingService().writeLeased(site, leaseToken, () -> store(task));
+        }
+    }
+
+    private void store(PageTask task) {
+        PageResponse pageResponse = task.getPageResponse();
+        Page storedPage = pageResponse.getStoredPage();
+
+        if (pageResponse.getStatusCode() >= 400) {
+            context.getIndexingService().removeIndexedPage(site, pageResponse.getPath());
+        } else if (storedPage == null) {
+            if (isNearDuplicate(task)) return;
+            sendDataToIndexingService(site, task.getPage(), task.getLemmas());
+        } else {
+            context.getIndexingService().reindexParsedData(site, storedPage, task.getPage(), task.getLemmas());
+        }
+    }
+
+    public void complete(PageTask task) {
+        if (task.getEntry() != null) frontier.complete(task.getEntry());
+    }
+
+    public void abandon(PageTask task) {
+        if (task.getEntry() != null) frontier.abandon(task.getEntry());
+    }
+
+    public void fail(PageTask task, Exception e) {
+        ApplicationLogger.logError(e);
+        errors.add(IndexingResponseGenerator.failedToCompleteIndexingTasks().getError());
+    }
+
+    public void recordError(String error) {
+        errors.add(error);
+    }
+
+    public IndexingStatusResponse getResult() {
+        if (isCancelled()) return IndexingResponseGenerator.userStoppedIndexing();
+        if (errors.isEmpty()) return IndexingResponseGenerator.successResponse();
 
-        if (pageResponse.getStatusCode() < 400) sendDataToIndexingService(site, page, lemmasAndFrequencies);
+        StringJoiner errorsList = new StringJoiner(";\t");
+        errors.forEach(errorsList::add);
+
+        return IndexingResponseGenerator.createFailureResponse(errorsList.toString());
+    }
 
-        return doc;
+    public PageResponse fetchPage(String path) {
+        return fetchPageAsync(path).join();
+    }
+
+    public CompletableFuture<PageResponse> fetchPageAsync(String path) {
+        if (isReplay()) {
+            PageResponse pageResponse = snapshot.load(path);
+            if (pageResponse != null) context.getThroughput().recordFetch();
+
+            return CompletableFuture.completedFuture(pageResponse);
+        }
+
+        String host = UrlWorker.getHost(site.getUrl());
+        Page storedPage = isIncremental() ? context.getIndexingService().findStoredPage(site, path) : null;
+        context.getHostHealth().onRequest(site.getId());
+
+        return fetchWithRetries(host, path, storedPage, 0).thenApply(pageResponse -> {
+            if (pageResponse == null) return null;
+
+            context.getThroughput().recordFetch();
+            pageResponse.setStoredPage(storedPage);
+            context.getArchive().record(site, path, pageResponse);
+
+            return pageResponse;
+        });
+    }
+
+    private CompletableFuture<PageResponse> fetchWithRetries(String host, String path, Page storedPage, int attempt) {
+        HostHealthRegistry hostHealth = context.getHostHealth();
+
+        return awaitHost(host).thenCompose(available -> {
+            if (!available) return CompletableFuture.completedFuture(null);
+
+            return fetchOnce(host, path, storedPage).thenCompose(pageResponse -> {
+                if (!HostHealthRegistry.isTransient(pageResponse)) {
+                    hostHealth.onSuccess(host);
+                    return CompletableFuture.completedFuture(pageResponse);
+                }
+
+                long parkedUntil = hostHealth.onFailure(host);
+                if (parkedUntil > 0 && frontier != null) frontier.park(parkedUntil);
+                if (isCancelled() || !hostHealth.tryRetry(site.getId(), attempt)) {
+                    return CompletableFuture.completedFuture(pageResponse);
+                }
+
+                return delay(hostHealth.getRetryDelay(attempt))
+                        .thenCompose(v -> fetchWithRetries(host, path, storedPage, attempt + 1));
+            });
+        });
+    }
+
+    private CompletableFuture<Boolean> awaitHost(String host) {
+        long waitMillis = context.getHostHealth().reserve(host);
+        if (waitMillis == 0) return CompletableFuture.completedFuture(true);
+        if (waitMillis < 0 || isCancelled()) return CompletableFuture.completedFuture(false);
+
+        return delay(Math.min(waitMillis, HOST_CHECK_MILLIS)).thenCompose(v -> awaitHost(host));
+    }
+
+    private CompletableFuture<PageResponse> fetchOnce(String host, String path, Page storedPage) {
+        PolitenessScheduler politenessScheduler = context.getPolitenessScheduler();
+        String etag = storedPage == null ? null : storedPage.getEtag();
+        String lastModified = storedPage == null ? null : storedPage.getLastModified();
+
+        return politenessScheduler.acquire(host).thenCompose(permit -> {
+            long start = System.currentTimeMillis();
+
+            return context.getFetcher().fetchAsync(site.getUrl().concat(path), etag, lastModified)
+                    .thenApply(pageResponse -> {
+                        if (pageResponse == null) {
+                            politenessScheduler.onFailure(host);
+                            return null;
+                        }
+
+                        politenessScheduler.onResponse(host, pageResponse.getStatusCode(),
+                                System.currentTimeMillis() - start);
+
+                        return pageResponse;
+                    });
+        });
+    }
+
+    private static CompletableFuture<Void> delay(long millis) {
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+    }
+
+    private boolean resolveFinalPath(String path, PageResponse pageResponse) {
+        String finalPath = pageResponse.getUrl() == null ? path : canonicalizer.canonicalize(pageResponse.getUrl());
+        if (finalPath == null) return false;
+        if (finalPath.equals(path) || frontier == null) {
+            pageResponse.setPath(path);
+            return true;
+        }
+        if (!context.getPageCache().claimPage(site.getId(), finalPath)) return false;
+
+        pageResponse.setPath(finalPath);
+        if (isIncremental()) pageResponse.setStoredPage(context.getIndexingService().findStoredPage(site, finalPath));
+
+        return true;
+    }
+
+    private boolean isCanonicalDuplicate(PageResponse pageResponse, Document doc) {
+        if (frontier == null || pageResponse.getStatusCode() >= 400) return false;
+
+        Element link = doc.selectFirst("link[rel=canonical][href]");
+        String canonicalPath = link == null ? null : canonicalizer.canonicalize(link.absUrl("href"));
+        if (canonicalPath == null || canonicalPath.equals(pageResponse.getPath())) return false;
+
+        pageResponse.setCanonicalPath(canonicalPath);
+        return true;
+    }
+
+    private boolean isNearDuplicate(PageTask task) {
+        Long simHash = task.getPage().getSimHash();
+        if (simHash == null || frontier == null) return false;
+
+        SimHashIndex.Entry original = context.getDuplicateCache().claim(site.getId(), task.getPath(), simHash);
+        if (original == null || original.getPath().equals(task.getPath())) return false;
+
+        context.getThroughput().recordDuplicate();
+        context.getIndexingService().recordAlias(site, task.getPath(), original.getPath(),
+                SimHashIndex.distance(original.getSimHash(), simHash));
+
+        return true;
+    }
+
+    private boolean isUnavailable(PageTask task) {
+        PageResponse pageResponse = task.getPageResponse();
+
+        return pageResponse == null || (pageResponse.getStatusCode() >= 400 && task.getPath().equals("/"));
     }
 
     private Page createPage(PageResponse pageResponse) {
@@ -96,32 +407,34 @@ public class WebsiteParser extends RecursiveTask<IndexingStatusResponse> {
         page.setPath(pageResponse.getPath());
         page.setCode(pageResponse.getStatusCode());
         page.setContent(page.getCode() >= 400 ? "" : pageResponse.getResponseBody());
+        page.setContentHash(HashWorker.hash64(page.getContent()));
+        page.setEtag(pageResponse.getEtag());
+        page.setLastModified(pageResponse.getLastModified());
 
         return page;
     }
 
-    protected List<WebsiteParser> createSubtasks(Document doc) {
+    private Set<String> extractLinks(Document doc) {
+        Set<String> links = new LinkedHashSet<>();
 
-        List<WebsiteParser> subtasks = new ArrayList<>();
-
-        for (String u : doc.select("a").eachAttr("abs:href")) {
-            if (UrlWorker.isUrlValid(site.getUrl(), u)) {
-                subtasks.add(new WebsiteParser(indexingService, site, UrlWorker.appendSlashToUrlEnd(u)));
-            }
+        for (Element a : doc.select("a[href]")) {
+            String link = canonicalizer.canonicalize(a.absUrl("href"));
+            if (link != null) links.add(link);
         }
 
-        return subtasks;
+        return links;
     }
 
-    protected void sendDataToIndexingService(Site site, Page page, Map<String, Integer> lemmasAndFrequencies) {
-        indexingService.indexParsedData(site, page, lemmasAndFrequencies);
+    private void offer(String path, int depth) {
+        if (!robotsRules.isAllowed(path)) {
+            context.getThroughput().recordDisallowed();
+            return;
+        }
+
+        frontier.offer(path, depth);
     }
 
-    protected void executeDelay() {
-        try {
-            Thread.sleep(DELAY);
-        } catch (InterruptedException e) {
-            ApplicationLogger.logError(e);
-        }
+    protected void sendDataToIndexingService(Site site, Page page, Map<String, Integer> lemmasAndFrequencies) {
+        context.getIndexingService().indexParsedData(site, page, lemmasAndFrequencies);
     }
 }
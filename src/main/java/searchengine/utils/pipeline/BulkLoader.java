@@ -0,0 +1,184 @@
+package searchengine.utils.pipeline;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.cache.LemmaCache;
+import searchengine.cache.LemmaDictionary;
+import searchengine.config.BulkLoadSettings;
+import searchengine.dto.metrics.BulkLoadMetrics;
+import searchengine.logging.ApplicationLogger;
+import searchengine.repositories.IndexRepository;
+import searchengine.repositories.LemmaRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class BulkLoader {
+
+    private final Set<Integer> loadingSites = ConcurrentHashMap.newKeySet();
+
+    private final LemmaRepository lemmaRepository;
+
+    private final IndexRepository indexRepository;
+
+    private final LemmaCache lemmaCache;
+
+    private final BulkLoadSettings settings;
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder failedLoads = new LongAdder();
+
+    private final LongAdder lemmas = new LongAdder();
+
+    private final LongAdder foldedLemmas = new LongAdder();
+
+    private final LongAdder stagedRows = new LongAdder();
+
+    private final LongAdder mergedRows = new LongAdder();
+
+    private final LongAdder chunks = new LongAdder();
+
+    private final LongAdder mergeNanos = new LongAdder();
+
+    @Autowired
+    public BulkLoader(LemmaRepository lemmaRepository, IndexRepository indexRepository, LemmaCache lemmaCache,
+                      BulkLoadSettings settings) {
+        this.lemmaRepository = lemmaRepository;
+        this.indexRepository = indexRepository;
+        this.lemmaCache = lemmaCache;
+        this.settings = settings;
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    public void begin(Collection<Integer> siteIds) {
+        loadingSites.addAll(siteIds);
+    }
+
+    public boolean isLoading(int siteId) {
+        return loadingSites.contains(siteId);
+    }
+
+    public void open(int siteId) {
+        lemmaCache.openBulk(siteId);
+    }
+
+    public void cancel(int siteId) {
+        if (!loadingSites.remove(siteId)) return;
+
+        lemmaCache.discard(siteId);
+        discardInterruptedLoad(siteId);
+    }
+
+    public boolean hasInterruptedLoad(int siteId) {
+        return !loadingSites.contains(siteId) && countStaged(siteId) > 0;
+    }
+
+    public void discardInterruptedLoad(int siteId) {
+        indexRepository.deleteStagedBySiteId(siteId);
+        lemmaRepository.deleteStagedIdsBySiteId(siteId);
+    }
+
+    public boolean finish(int siteId) {
+        LemmaDictionary dictionary = lemmaCache.getDictionary(siteId);
+        long start = System.nanoTime();
+        try {
+            if (dictionary != null && dictionary.isBulk()) loadLemmas(siteId, dictionary);
+            stagedRows.add(countStaged(siteId));
+            mergeStaged(siteId);
+            lemmaRepository.setFrequenciesFromStaging(siteId);
+            lemmaRepository.deleteUnusedBySiteId(siteId);
+            mergedRows.add(indexRepository.countBySiteId(siteId));
+
+            if (isConsistent(siteId)) return true;
+        } catch (RuntimeException e) {
+            ApplicationLogger.logError(e);
+        } finally {
+            discardInterruptedLoad(siteId);
+            lemmaCache.discard(siteId);
+            loadingSites.remove(siteId);
+            loads.increment();
+            mergeNanos.add(System.nanoTime() - start);
+        }
+
+        failedLoads.increment();
+        return false;
+    }
+
+    public BulkLoadMetrics getMetrics() {
+        BulkLoadMetrics metrics = new BulkLoadMetrics();
+        metrics.setEnabled(settings.isEnabled());
+        metrics.setLoadingSites(loadingSites.size());
+        metrics.setLoads(loads.sum());
+        metrics.setFailedLoads(failedLoads.sum());
+        metrics.setLemmas(lemmas.sum());
+        metrics.setFoldedLemmas(foldedLemmas.sum());
+        metrics.setStagedRows(stagedRows.sum());
+        metrics.setMergedRows(mergedRows.sum());
+        metrics.setDroppedRows(Math.max(0, metrics.getStagedRows() - metrics.getMergedRows()));
+        metrics.setChunks(chunks.sum());
+        metrics.setMergeMillis(TimeUnit.NANOSECONDS.toMillis(mergeNanos.sum()));
+
+        return metrics;
+    }
+
+    private void loadLemmas(int siteId, LemmaDictionary dictionary) {
+        List<String> lemmaRows = new ArrayList<>();
+        List<String> idRows = new ArrayList<>();
+        dictionary.forEach((lemma, entry) -> {
+            if (entry.getPending() <= 0) return;
+
+            lemmaRows.add(IndexWriter.toJsonString(lemma));
+            idRows.add("[" + entry.getId() + "," + IndexWriter.toJsonString(lemma) + "]");
+        });
+
+        int chunkSize = Math.max(1, settings.getChunkSize());
+        for (int from = 0; from < lemmaRows.size(); from += chunkSize) {
+            int to = Math.min(lemmaRows.size(), from + chunkSize);
+            lemmaRepository.loadAll(siteId, "[" + String.join(",", lemmaRows.subList(from, to)) + "]");
+            lemmaRepository.mapStagedIds(siteId, "[" + String.join(",", idRows.subList(from, to)) + "]");
+        }
+        lemmas.add(lemmaRows.size());
+        foldedLemmas.add(lemmaRows.size() - lemmaRepository.countBySiteId(siteId));
+    }
+
+    private void mergeStaged(int siteId) {
+        Object[] range = indexRepository.findStagedRange(siteId).get(0);
+        if (range[0] == null) return;
+
+        int firstPageId = ((Number) range[0]).intValue();
+        int lastPageId = ((Number) range[1]).intValue();
+        long rows = ((Number) range[2]).longValue();
+        long pageSpan = (long) lastPageId - firstPageId + 1;
+        int pagesPerChunk = (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+                Math.max(1, settings.getChunkSize()) * pageSpan / Math.max(1, rows)));
+
+        for (long fromPageId = firstPageId; fromPageId <= lastPageId; fromPageId += pagesPerChunk) {
+            int toPageId = (int) Math.min(lastPageId, fromPageId + pagesPerChunk - 1);
+            indexRepository.mergeStagedWithDeferredChecks(siteId, (int) fromPageId, toPageId);
+            chunks.increment();
+        }
+    }
+
+    private long countStaged(int siteId) {
+        Object[] range = indexRepository.findStagedRange(siteId).get(0);
+
+        return ((Number) range[2]).longValue();
+    }
+
+    private boolean isConsistent(int siteId) {
+        return indexRepository.countUnmappedStaged(siteId) == 0
+                && indexRepository.countDuplicatesBySiteId(siteId) == 0
+                && indexRepository.countForeignLemmasBySiteId(siteId) == 0
+                && lemmaRepository.countFrequencyMismatches(siteId) == 0;
+    }
+}
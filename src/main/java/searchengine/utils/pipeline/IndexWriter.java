@@ -0,0 +1,248 @@
+package searchengine.utils.pipeline;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.cache.LemmaCache;
+import searchengine.cache.LemmaDictionary;
+import searchengine.config.PipelineSettings;
+import searchengine.dto.metrics.IndexWriteMetrics;
+import searchengine.model.Page;
+import searchengine.repositories.IndexRepository;
+import searchengine.repositories.LemmaRepository;
+import searchengine.repositories.PageRepository;
+import searchengine.utils.workers.TransactionWorker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class IndexWriter {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final LemmaRepository lemmaRepository;
+
+    private final IndexRepository indexRepository;
+
+    private final PageRepository pageRepository;
+
+    private final LemmaCache lemmaCache;
+
+    private final PipelineSettings settings;
+
+    private final LongAdder pages = new LongAdder();
+
+    private final LongAdder rows = new LongAdder();
+
+    private final LongAdder statements = new LongAdder();
+
+    private final LongAdder nanos = new LongAdder();
+
+    private final LongAdder pageInserts = new LongAdder();
+
+    private final LongAdder pageConflicts = new LongAdder();
+
+    private final LongAdder pageInsertNanos = new LongAdder();
+
+    private final AtomicInteger concurrentPageInserts = new AtomicInteger();
+
+    private final AtomicInteger maxConcurrentPageInserts = new AtomicInteger();
+
+    @Autowired
+    public IndexWriter(LemmaRepository lemmaRepository, IndexRepository indexRepository,
+                       PageRepository pageRepository, LemmaCache lemmaCache, PipelineSettings settings) {
+        this.lemmaRepository = lemmaRepository;
+        this.indexRepository = indexRepository;
+        this.pageRepository = pageRepository;
+        this.lemmaCache = lemmaCache;
+        this.settings = settings;
+    }
+
+    public boolean insertPage(Page page) {
+        int concurrent = concurrentPageInserts.incrementAndGet();
+        maxConcurrentPageInserts.accumulateAndGet(concurrent, Math::max);
+        long start = System.nanoTime();
+        try {
+            if (!pageRepository.insertIfAbsent(page)) {
+                pageConflicts.increment();
+                return false;
+            }
+
+            pageInserts.increment();
+            return true;
+        } finally {
+            pageInsertNanos.add(System.nanoTime() - start);
+            concurrentPageInserts.decrementAndGet();
+        }
+    }
+
+    public void write(int siteId, int pageId, String pagePath, Map<String, Integer> lemmasAndFrequencies) {
+        if (lemmasAndFrequencies.isEmpty()) return;
+
+        long start = System.nanoTime();
+        LemmaDictionary dictionary = lemmaCache.getDictionary(siteId);
+        if (dictionary != null && dictionary.isBulk()) {
+            writeStaged(dictionary, siteId, pageId, new TreeMap<>(lemmasAndFrequencies));
+        } else if (settings.isBatchedWrites() && dictionary != null) {
+            writeWithDictionary(dictionary, siteId, pageId, new TreeMap<>(lemmasAndFrequencies));
+        } else if (settings.isBatchedWrites()) {
+            writeBatched(siteId, pageId, new TreeMap<>(lemmasAndFrequencies));
+        } else {
+            lemmasAndFrequencies.forEach((l, f) -> {
+                lemmaRepository.save(siteId, l);
+                indexRepository.save(siteId, pagePath, l, f);
+            });
+            statements.add(2L * lemmasAndFrequencies.size());
+        }
+
+        pages.increment();
+        rows.add(2L * lemmasAndFrequencies.size());
+        nanos.add(System.nanoTime() - start);
+    }
+
+    public IndexWriteMetrics getMetrics() {
+        IndexWriteMetrics metrics = new IndexWriteMetrics();
+        metrics.setBatched(settings.isBatchedWrites());
+        metrics.setPages(pages.sum());
+        metrics.setRows(rows.sum());
+        metrics.setStatements(statements.sum());
+        metrics.setMillis(TimeUnit.NANOSECONDS.toMillis(nanos.sum()));
+        metrics.setRowsPerSecond(metrics.getMillis() == 0 ? 0 : metrics.getRows() * 1000.0 / metrics.getMillis());
+        metrics.setPageInserts(pageInserts.sum());
+        metrics.setPageConflicts(pageConflicts.sum());
+        metrics.setPageInsertMillis(TimeUnit.NANOSECONDS.toMillis(pageInsertNanos.sum()));
+        metrics.setConcurrentPageInserts(concurrentPageInserts.get());
+        metrics.setMaxConcurrentPageInserts(maxConcurrentPageInserts.get());
+
+        return metrics;
+    }
+
+    private void writeBatched(int siteId, int pageId, TreeMap<String, Integer> sortedLemmas) {
+        List<String> lemmas = new ArrayList<>(sortedLemmas.keySet());
+        int batchSize = Math.max(1, settings.getWriteBatchSize());
+
+        for (int from = 0; from < lemmas.size(); from += batchSize) {
+            List<String> batch = lemmas.subList(from, Math.min(lemmas.size(), from + batchSize));
+            StringJoiner lemmaRows = new StringJoiner(",", "[", "]");
+            batch.forEach(lemma -> lemmaRows.add(toJsonString(lemma)));
+            lemmaRepository.saveAll(siteId, lemmaRows.toString());
+            statements.increment();
+
+            List<String> indexRows = new ArrayList<>();
+            Map<String, Integer> lemmaIds = findLemmaIds(siteId, batch);
+            for (String lemma : batch) {
+                indexRows.add("[" + requireLemmaId(lemmaIds, lemma) + "," + sortedLemmas.get(lemma) + "]");
+            }
+            saveIndexRows(pageId, indexRows);
+        }
+    }
+
+    private void writeWithDictionary(LemmaDictionary dictionary, int siteId, int pageId,
+                                     TreeMap<String, Integer> sortedLemmas) {
+        Map<String, LemmaDictionary.Entry> entries = new LinkedHashMap<>();
+        Map<String, LemmaDictionary.Entry> newLemmas = new LinkedHashMap<>();
+        List<LemmaDictionary.Entry> incremented = new ArrayList<>();
+        List<LemmaDictionary.Entry> persisted = new ArrayList<>();
+        List<String> indexRows = new ArrayList<>();
+        TransactionWorker.onRollback(() -> {
+            incremented.forEach(entry -> dictionary.add(entry, -1));
+            persisted.forEach(LemmaDictionary.Entry::unpersist);
+        });
+
+        sortedLemmas.forEach((lemma, rank) -> {
+            LemmaDictionary.Entry entry = dictionary.resolve(lemma);
+            entries.put(lemma, entry);
+            if (!entry.isPersisted()) newLemmas.put(lemma, entry);
+        });
+
+        List<String> lemmas = new ArrayList<>(newLemmas.keySet());
+        int batchSize = Math.max(1, settings.getWriteBatchSize());
+        for (int from = 0; from < lemmas.size(); from += batchSize) {
+            List<String> batch = lemmas.subList(from, Math.min(lemmas.size(), from + batchSize));
+            StringJoiner idRows = new StringJoiner(",", "[", "]");
+            batch.forEach(lemma -> idRows.add("[" + newLemmas.get(lemma).getId() + "," + toJsonString(lemma) + "]"));
+            int created = lemmaRepository.createAllWithIds(siteId, idRows.toString());
+            statements.increment();
+
+            Map<String, Integer> lemmaIds = created == batch.size() ? Map.of() : findLemmaIds(siteId, batch);
+            for (String lemma : batch) {
+                LemmaDictionary.Entry entry = newLemmas.get(lemma);
+                if (entry.isPersisted()) continue;
+
+                entry.persist(created == batch.size() ? entry.getId() : requireLemmaId(lemmaIds, lemma));
+                persisted.add(entry);
+            }
+        }
+
+        entries.forEach((lemma, entry) -> {
+            dictionary.increment(entry);
+            incremented.add(entry);
+            indexRows.add("[" + entry.getId() + "," + sortedLemmas.get(lemma) + "]");
+        });
+        saveIndexRows(pageId, indexRows);
+    }
+
+    private void writeStaged(LemmaDictionary dictionary, int siteId, int pageId,
+                             TreeMap<String, Integer> sortedLemmas) {
+        List<LemmaDictionary.Entry> incremented = new ArrayList<>();
+        List<String> indexRows = new ArrayList<>();
+        TransactionWorker.onRollback(() -> incremented.forEach(entry -> dictionary.add(entry, -1)));
+
+        sortedLemmas.forEach((lemma, rank) -> {
+            LemmaDictionary.Entry entry = dictionary.resolve(lemma);
+            dictionary.increment(entry);
+            incremented.add(entry);
+            indexRows.add("[" + entry.getId() + "," + rank + "]");
+        });
+
+        int batchSize = Math.max(1, settings.getWriteBatchSize());
+        for (int from = 0; from < indexRows.size(); from += batchSize) {
+            List<String> batch = indexRows.subList(from, Math.min(indexRows.size(), from + batchSize));
+            indexRepository.stageAll(siteId, pageId, "[" + String.join(",", batch) + "]");
+            statements.increment();
+        }
+    }
+
+    private Map<String, Integer> findLemmaIds(int siteId, List<String> lemmas) {
+        Map<String, Integer> lemmaIds = new HashMap<>();
+        lemmaRepository.findIdsBySiteIdAndLemmas(siteId, lemmas)
+                .forEach(row -> lemmaIds.put((String) row[1], ((Number) row[0]).intValue()));
+        statements.increment();
+
+        return lemmaIds;
+    }
+
+    private static int requireLemmaId(Map<String, Integer> lemmaIds, String lemma) {
+        Integer lemmaId = lemmaIds.get(lemma);
+        if (lemmaId == null) throw new IllegalStateException("Lemma \"" + lemma + "\" was not stored");
+
+        return lemmaId;
+    }
+
+    private void saveIndexRows(int pageId, List<String> indexRows) {
+        int batchSize = Math.max(1, settings.getWriteBatchSize());
+        for (int from = 0; from < indexRows.size(); from += batchSize) {
+            List<String> batch = indexRows.subList(from, Math.min(indexRows.size(), from + batchSize));
+            indexRepository.saveAll(pageId, "[" + String.join(",", batch) + "]");
+            statements.increment();
+        }
+    }
+
+    static String toJsonString(String value) {
+        try {
+            return JSON.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to encode " + value, e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package searchengine.utils.pipeline;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.PipelineSettings;
+import searchengine.dto.metrics.PipelineStageMetrics;
+import searchengine.utils.parsers.WebsiteParser;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+
+@Component
+public class IndexingPipeline {
+
+    private final PipelineStage<PageTask> parseStage;
+
+    private final PipelineStage<PageTask> lemmatizeStage;
+
+    private final PipelineStage<PageTask> persistStage;
+
+    private final WriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    public IndexingPipeline(PipelineSettings settings, WriteBehindBuffer writeBehindBuffer) {
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.persistStage = new PipelineStage<>("persist", settings.getPersistParallelism(),
+                settings.getQueueCapacity(), this::persist, this::fail);
+        this.lemmatizeStage = new PipelineStage<>("lemmatize", settings.getLemmatizeParallelism(),
+                settings.getQueueCapacity(), this::lemmatize, this::fail);
+        this.parseStage = new PipelineStage<>("parse", settings.getParseParallelism(),
+                settings.getQueueCapacity(), this::parse, this::fail);
+    }
+
+    public void submit(PageTask task) throws InterruptedException {
+        parseStage.submit(task);
+    }
+
+    public void resetMetrics() {
+        getStages().forEach(PipelineStage::resetMetrics);
+    }
+
+    public void discard(WebsiteParser parser) {
+        getStages().forEach(stage -> stage.discard(task -> task.getParser() == parser));
+    }
+
+    public List<PipelineStageMetrics> getMetrics() {
+        return getStages().stream().map(PipelineStage::getMetrics).toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        getStages().forEach(PipelineStage::shutdown);
+    }
+
+    private void parse(PageTask task) throws InterruptedException {
+        if (task.getParser().parse(task)) {
+            lemmatizeStage.submit(task);
+        } else {
+            task.getParser().complete(task);
+        }
+    }
+
+    private void lemmatize(PageTask task) throws InterruptedException {
+        task.getParser().lemmatize(task);
+        persistStage.submit(task);
+    }
+
+    private void persist(PageTask task) throws InterruptedException {
+        if (writeBehindBuffer.isEnabled() && !task.getParser().isCancelled()) {
+            writeBehindBuffer.submit(task);
+            return;
+        }
+
+        task.getParser().persist(task);
+        task.getParser().complete(task);
+    }
+
+    private void fail(PageTask task, Exception e) {
+        task.getParser().fail(task, e);
+        task.getParser().abandon(task);
+    }
+
+    private List<PipelineStage<PageTask>> getStages() {
+        return List.of(parseStage, lemmatizeStage, persistStage);
+    }
+}
@@ -0,0 +1,32 @@
+package searchengine.utils.pipeline;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.jsoup.nodes.Document;
+import searchengine.dto.page.PageResponse;
+import searchengine.model.Page;
+import searchengine.utils.frontier.FrontierEntry;
+import searchengine.utils.parsers.WebsiteParser;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@RequiredArgsConstructor
+public class PageTask {
+
+    private final WebsiteParser parser;
+
+    private final FrontierEntry entry;
+
+    private final String path;
+
+    private final PageResponse pageResponse;
+
+    private Page page;
+
+    private Document document;
+
+    private Map<String, Integer> lemmas;
+}
@@ -0,0 +1,126 @@
+package searchengine.utils.pipeline;
+
+import searchengine.dto.metrics.PipelineStageMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+public class PipelineStage<T> {
+
+    private final String name;
+
+    private final int parallelism;
+
+    private final BlockingQueue<T> queue;
+
+    private final Handler<T> handler;
+
+    private final FailureHandler<T> failureHandler;
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+
+    private final AtomicLong processed = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong busyNanos = new AtomicLong();
+
+    private volatile long startNanos = System.nanoTime();
+
+    public PipelineStage(String name, int parallelism, int capacity, Handler<T> handler,
+                         FailureHandler<T> failureHandler) {
+        this.name = name;
+        this.parallelism = Math.max(1, parallelism);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.handler = handler;
+        this.failureHandler = failureHandler;
+
+        for (int i = 0; i < this.parallelism; i++) {
+            Thread worker = new Thread(this::work, "pipeline-" + name + "-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    public void submit(T item) throws InterruptedException {
+        queue.put(item);
+    }
+
+    public void discard(Predicate<T> filter) {
+        queue.removeIf(filter);
+    }
+
+    public void resetMetrics() {
+        processed.set(0);
+        failed.set(0);
+        busyNanos.set(0);
+        startNanos = System.nanoTime();
+    }
+
+    public void shutdown() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    public PipelineStageMetrics getMetrics() {
+        long done = processed.get();
+        double seconds = (double) (System.nanoTime() - startNanos) / TimeUnit.SECONDS.toNanos(1);
+
+        PipelineStageMetrics metrics = new PipelineStageMetrics();
+        metrics.setStage(name);
+        metrics.setParallelism(parallelism);
+        metrics.setBusyWorkers(busyWorkers.get());
+        metrics.setQueued(queue.size());
+        metrics.setCapacity(queue.size() + queue.remainingCapacity());
+        metrics.setProcessed(done);
+        metrics.setFailed(failed.get());
+        metrics.setItemsPerSecond(seconds <= 0 ? 0 : done / seconds);
+        metrics.setAverageLatency(done == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMillis(busyNanos.get()) / done);
+
+        return metrics;
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            T item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            busyWorkers.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                handler.handle(item);
+                processed.incrementAndGet();
+            } catch (InterruptedException e) {
+                failureHandler.onFailure(item, e);
+                failed.incrementAndGet();
+                return;
+            } catch (RuntimeException e) {
+                failureHandler.onFailure(item, e);
+                failed.incrementAndGet();
+            } finally {
+                busyNanos.addAndGet(System.nanoTime() - start);
+                busyWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    public interface Handler<T> {
+        void handle(T item) throws InterruptedException;
+    }
+
+    public interface FailureHandler<T> {
+        void onFailure(T item, Exception e);
+    }
+}
@@ -0,0 +1,239 @@
+package searchengine.utils.pipeline;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import searchengine.cache.LemmaCache;
+import searchengine.config.WriteBehindSettings;
+import searchengine.dto.metrics.WriteBehindMetrics;
+import searchengine.logging.ApplicationLogger;
+import searchengine.repositories.SiteRepository;
+import searchengine.utils.parsers.WebsiteParser;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class WriteBehindBuffer {
+
+    private static final long POLL_MILLIS = 200;
+
+    private final WriteBehindSettings settings;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SiteRepository siteRepository;
+
+    private final LemmaCache lemmaCache;
+
+    private final List<Writer> writers = new ArrayList<>();
+
+    private final Map<WebsiteParser, Integer> pending = new HashMap<>();
+
+    private final ThreadLocal<Set<Integer>> heartbeats = new ThreadLocal<>();
+
+    private final AtomicLong flushes = new AtomicLong();
+
+    private final AtomicLong flushedPages = new AtomicLong();
+
+    private final AtomicLong rollbacks = new AtomicLong();
+
+    private final AtomicLong failedPages = new AtomicLong();
+
+    private final AtomicLong flushNanos = new AtomicLong();
+
+    private volatile boolean closed;
+
+    @Autowired
+    public WriteBehindBuffer(WriteBehindSettings settings, TransactionTemplate transactionTemplate,
+                             SiteRepository siteRepository, LemmaCache lemmaCache) {
+        this.settings = settings;
+        this.transactionTemplate = transactionTemplate;
+        this.siteRepository = siteRepository;
+        this.lemmaCache = lemmaCache;
+
+        if (!settings.isEnabled()) return;
+        int count = Math.max(1, settings.getWriters());
+        for (int i = 0; i < count; i++) {
+            writers.add(new Writer("write-behind-" + (i + 1), Math.max(1, settings.getCapacity() / count)));
+        }
+    }
+
+    public boolean isEnabled() {
+        return !writers.isEmpty() && !closed;
+    }
+
+    public void submit(PageTask task) throws InterruptedException {
+        synchronized (pending) {
+            pending.merge(task.getParser(), 1, Integer::sum);
+        }
+
+        int siteId = task.getParser().getSite().getId();
+        writers.get(Math.floorMod(siteId, writers.size())).queue.put(task);
+    }
+
+    public boolean deferHeartbeat(int siteId) {
+        Set<Integer> sites = heartbeats.get();
+        if (sites == null) return false;
+
+        sites.add(siteId);
+        return true;
+    }
+
+    public void awaitIdle(WebsiteParser parser) {
+        synchronized (pending) {
+            try {
+                while (pending.containsKey(parser)) pending.wait(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public WriteBehindMetrics getMetrics() {
+        WriteBehindMetrics metrics = new WriteBehindMetrics();
+        metrics.setEnabled(isEnabled());
+        metrics.setBuffered(writers.stream().mapToInt(writer -> writer.queue.size()).sum());
+        metrics.setCapacity(settings.getCapacity());
+        metrics.setFlushes(flushes.get());
+        metrics.setFlushedPages(flushedPages.get());
+        metrics.setAverageBatchSize(flushes.get() == 0 ? 0 : (double) flushedPages.get() / flushes.get());
+        metrics.setRollbacks(rollbacks.get());
+        metrics.setFailedPages(failedPages.get());
+        metrics.setFlushMillis(TimeUnit.NANOSECONDS.toMillis(flushNanos.get()));
+
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        long deadline = System.currentTimeMillis() + settings.getShutdownTimeout();
+        for (Writer writer : writers) {
+            try {
+                writer.thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<PageTask> batch) {
+        long start = System.nanoTime();
+        Set<Integer> sites = new HashSet<>();
+        Set<PageTask> failed = new HashSet<>();
+        heartbeats.set(sites);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                batch.forEach(this::write);
+                flushLemmas(batch);
+            });
+        } catch (RuntimeException e) {
+            rollbacks.incrementAndGet();
+            batch.stream().filter(task -> !writeAlone(task)).forEach(failed::add);
+        } finally {
+            heartbeats.remove();
+        }
+
+        try {
+            sites.forEach(siteRepository::updateStatusTime);
+        } catch (RuntimeException e) {
+            ApplicationLogger.logError(e);
+        }
+
+        batch.forEach(task -> finish(task, !failed.contains(task)));
+        flushes.incrementAndGet();
+        flushedPages.addAndGet(batch.size());
+        flushNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    private void write(PageTask task) {
+        task.getParser().write(task);
+    }
+
+    private boolean writeAlone(PageTask task) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                write(task);
+                flushLemmas(List.of(task));
+            });
+            return true;
+        } catch (RuntimeException e) {
+            failedPages.incrementAndGet();
+            task.getParser().fail(task, e);
+            return false;
+        }
+    }
+
+    private void flushLemmas(List<PageTask> tasks) {
+        tasks.stream().map(task -> task.getParser().getSite().getId()).distinct().forEach(lemmaCache::flush);
+    }
+
+    private void finish(PageTask task, boolean written) {
+        if (written) {
+            task.getParser().complete(task);
+        } else {
+            task.getParser().abandon(task);
+        }
+        synchronized (pending) {
+            if (pending.merge(task.getParser(), -1, Integer::sum) <= 0) pending.remove(task.getParser());
+            pending.notifyAll();
+        }
+    }
+
+    private class Writer {
+
+        private final BlockingQueue<PageTask> queue;
+
+        private final Thread thread;
+
+        private Writer(String name, int capacity) {
+            this.queue = new LinkedBlockingQueue<>(capacity);
+            this.thread = new Thread(this::work, name);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        private void work() {
+            List<PageTask> batch = new ArrayList<>();
+            while (!closed || !queue.isEmpty()) {
+                try {
+                    collect(batch);
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                if (batch.isEmpty()) continue;
+
+                flush(batch);
+                batch.clear();
+            }
+        }
+
+        private void collect(List<PageTask> batch) throws InterruptedException {
+            PageTask first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (first == null) return;
+
+            batch.add(first);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getFlushInterval());
+            while (batch.size() < settings.getBatchSize()) {
+                queue.drainTo(batch, settings.getBatchSize() - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= settings.getBatchSize() || remaining <= 0 || closed) return;
+
+                PageTask next = queue.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS)),
+                        TimeUnit.NANOSECONDS);
+                if (next != null) batch.add(next);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package searchengine.utils.politeness;
+
+import java.util.concurrent.TimeUnit;
+
+public class HostRateLimiter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final String host;
+
+    private double maxRate;
+
+    private double minRate;
+
+    private int burst;
+
+    private double rate;
+
+    private long theoreticalArrivalNanos;
+
+    private long throttledResponses;
+
+    public HostRateLimiter(String host, int minDelayMillis, int maxDelayMillis, int burst) {
+        this.host = host;
+        this.maxRate = 1000.0 / Math.max(minDelayMillis, 1);
+        this.minRate = Math.min(maxRate, 1000.0 / Math.max(maxDelayMillis, 1));
+        this.burst = Math.max(burst, 1);
+        this.rate = maxRate;
+        this.theoreticalArrivalNanos = System.nanoTime();
+    }
+
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        long interval = getIntervalNanos();
+        long arrival = Math.max(theoreticalArrivalNanos, now);
+        long wait = Math.max(0, arrival - (burst - 1) * interval - now);
+        theoreticalArrivalNanos = arrival + interval;
+
+        return wait;
+    }
+
+    public synchronized void increase(double step) {
+        rate = Math.min(maxRate, rate + step);
+    }
+
+    public synchronized void decrease(double factor) {
+        rate = Math.max(minRate, rate * factor);
+        throttledResponses++;
+    }
+
+    public synchronized void limitDelay(long minDelayMillis) {
+        maxRate = Math.min(maxRate, 1000.0 / Math.max(minDelayMillis, 1));
+        minRate = Math.min(minRate, maxRate);
+        rate = Math.min(rate, maxRate);
+        burst = 1;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    public synchronized double getMaxRate() {
+        return maxRate;
+    }
+
+    public synchronized long getThrottledResponses() {
+        return throttledResponses;
+    }
+
+    public synchronized long getIntervalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(getIntervalNanos());
+    }
+
+    private long getIntervalNanos() {
+        return (long) (NANOS_PER_SECOND / rate);
+    }
+}
@@ -0,0 +1,99 @@
+package searchengine.utils.politeness;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.PolitenessSettings;
+import searchengine.config.SitesList;
+import searchengine.dto.metrics.HostRateMetrics;
+import searchengine.utils.workers.UrlWorker;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+
+@Component
+public class PolitenessScheduler {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final Map<String, HostRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "politeness-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PolitenessSettings settings;
+
+    private final SitesList configSites;
+
+    @Autowired
+    public PolitenessScheduler(PolitenessSettings settings, SitesList configSites) {
+        this.settings = settings;
+        this.configSites = configSites;
+    }
+
+    public CompletableFuture<Void> acquire(String host) {
+        long waitNanos = getLimiter(host).reserve();
+        if (waitNanos == 0) return CompletableFuture.completedFuture(null);
+
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        timer.schedule(() -> permit.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+
+        return permit;
+    }
+
+    public void onResponse(String host, int statusCode, long latencyMillis) {
+        HostRateLimiter limiter = getLimiter(host);
+
+        if (statusCode == TOO_MANY_REQUESTS || statusCode == SERVICE_UNAVAILABLE
+                || latencyMillis > settings.getSlowResponseThreshold()) {
+            limiter.decrease(settings.getRateDecreaseFactor());
+        } else {
+            limiter.increase(settings.getRateIncrease());
+        }
+    }
+
+    public void onFailure(String host) {
+        getLimiter(host).decrease(settings.getRateDecreaseFactor());
+    }
+
+    public void applyCrawlDelay(String host, long delayMillis) {
+        getLimiter(host).limitDelay(Math.min(delayMillis, settings.getMaxDelay()));
+    }
+
+    public double getCurrentRate(String host) {
+        return getLimiter(host).getRate();
+    }
+
+    public List<HostRateMetrics> getMetrics() {
+        return limiters.values().stream()
+                .map(limiter -> {
+                    HostRateMetrics metrics = new HostRateMetrics();
+                    metrics.setHost(limiter.getHost());
+                    metrics.setRate(limiter.getRate());
+                    metrics.setMaxRate(limiter.getMaxRate());
+                    metrics.setDelay(limiter.getIntervalMillis());
+                    metrics.setThrottledResponses(limiter.getThrottledResponses());
+
+                    return metrics;
+                }).toList();
+    }
+
+    private HostRateLimiter getLimiter(String host) {
+        return limiters.computeIfAbsent(host, h ->
+                new HostRateLimiter(h, getConfiguredDelay(h), settings.getMaxDelay(), settings.getBurst()));
+    }
+
+    private int getConfiguredDelay(String host) {
+        return configSites.getSites().stream()
+                .filter(s -> UrlWorker.getHost(s.getUrl()).equals(host))
+                .map(searchengine.config.Site::getDelay)
+                .filter(Objects::nonNull)
+                .findFirst().orElse(settings.getDefaultDelay());
+    }
+}
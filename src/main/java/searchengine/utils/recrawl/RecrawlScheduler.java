@@ -0,0 +1,204 @@
+package searchengine.utils.recrawl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.RecrawlSettings;
+import searchengine.config.SitesList;
+import searchengine.dto.metrics.RecrawlMetrics;
+import searchengine.logging.ApplicationLogger;
+import searchengine.model.Site;
+import searchengine.model.SiteStatus;
+import searchengine.repositories.PageRepository;
+import searchengine.repositories.SiteRepository;
+import searchengine.services.indexing.IndexingService;
+import searchengine.utils.executors.VirtualThreads;
+import searchengine.utils.jobs.CrawlJobRegistry;
+import searchengine.utils.robots.RobotsRegistry;
+import searchengine.utils.sitemaps.SitemapEntry;
+import searchengine.utils.sitemaps.SitemapLoader;
+import searchengine.utils.urls.UrlCanonicalizer;
+import searchengine.utils.workers.UrlWorker;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+public class RecrawlScheduler {
+
+    private final RecrawlSettings settings;
+
+    private final SitesList configSites;
+
+    private final SiteRepository siteRepository;
+
+    private final PageRepository pageRepository;
+
+    private final IndexingService indexingService;
+
+    private final CrawlJobRegistry crawlJobRegistry;
+
+    private final RobotsRegistry robotsRegistry;
+
+    private final SitemapLoader sitemapLoader;
+
+    private final RevisitPolicy policy;
+
+    private final Set<Integer> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Map<Integer, Long> sitemapChecks = new ConcurrentHashMap<>();
+
+    private final Map<Integer, AtomicLongArray> outcomes = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService timer;
+
+    private ExecutorService workers;
+
+    @Autowired
+    public RecrawlScheduler(RecrawlSettings settings, SitesList configSites, SiteRepository siteRepository,
+                            PageRepository pageRepository, IndexingService indexingService,
+                            CrawlJobRegistry crawlJobRegistry, RobotsRegistry robotsRegistry,
+                            SitemapLoader sitemapLoader) {
+        this.settings = settings;
+        this.configSites = configSites;
+        this.siteRepository = siteRepository;
+        this.pageRepository = pageRepository;
+        this.indexingService = indexingService;
+        this.crawlJobRegistry = crawlJobRegistry;
+        this.robotsRegistry = robotsRegistry;
+        this.sitemapLoader = sitemapLoader;
+        this.policy = new RevisitPolicy(settings);
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    public synchronized void start() {
+        if (!settings.isEnabled() || timer != null) return;
+
+        workers = VirtualThreads.newPerTaskExecutor();
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "recrawl-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(() -> {
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                ApplicationLogger.logError(e);
+            }
+        }, settings.getTickInterval(), settings.getTickInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    public List<RecrawlMetrics> getMetrics() {
+        return outcomes.entrySet().stream()
+                .map(e -> {
+                    AtomicLongArray counts = e.getValue();
+                    RecrawlMetrics metrics = new RecrawlMetrics();
+                    metrics.setSiteId(e.getKey());
+                    metrics.setDuePages(pageRepository.countDuePages(e.getKey()));
+                    metrics.setChangedPages(counts.get(RevisitOutcome.CHANGED.ordinal()));
+                    metrics.setUnchangedPages(counts.get(RevisitOutcome.UNCHANGED.ordinal()));
+                    metrics.setRemovedPages(counts.get(RevisitOutcome.REMOVED.ordinal()));
+                    metrics.setFailedPages(counts.get(RevisitOutcome.FAILED.ordinal()));
+                    metrics.setCheckedPages(metrics.getChangedPages() + metrics.getUnchangedPages() +
+                            metrics.getRemovedPages() + metrics.getFailedPages());
+                    metrics.setChangeRatio(metrics.getCheckedPages() == 0 ? 0 :
+                            (double) metrics.getChangedPages() / metrics.getCheckedPages());
+
+                    return metrics;
+                }).toList();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (timer == null) return;
+
+        timer.shutdownNow();
+        workers.shutdownNow();
+        timer = null;
+    }
+
+    private void tick() {
+        for (Site site : siteRepository.findAll()) {
+            if (!isRefreshable(site) || !refreshing.add(site.getId())) continue;
+
+            workers.execute(() -> {
+                try {
+                    refreshSite(site);
+                } catch (RuntimeException e) {
+                    ApplicationLogger.logError(e);
+                } finally {
+                    refreshing.remove(site.getId());
+                }
+            });
+        }
+    }
+
+    private boolean isRefreshable(Site site) {
+        return site.getStatus() != SiteStatus.INDEXING && !crawlJobRegistry.isRunning(site.getUrl());
+    }
+
+    private void refreshSite(Site site) {
+        int quota = policy.getQuota(findRecrawlBudget(site.getUrl()));
+        if (quota == 0) return;
+
+        pageRepository.scheduleUnvisited(site.getId(), toSeconds(settings.getInitialInterval()));
+        applySitemapChanges(site);
+
+        for (Object[] row : pageRepository.findDuePages(site.getId(), quota)) {
+            if (Thread.currentThread().isInterrupted() || crawlJobRegistry.isRunning(site.getUrl())) return;
+
+            String path = (String) row[0];
+            Long interval = row[1] == null ? null : ((Number) row[1]).longValue() * 1000;
+            RevisitOutcome outcome = indexingService.refreshPage(site, path);
+            outcomes.computeIfAbsent(site.getId(), id -> new AtomicLongArray(RevisitOutcome.values().length))
+                    .incrementAndGet(outcome.ordinal());
+
+            switch (outcome) {
+                case CHANGED, UNCHANGED -> pageRepository.updateSchedule(site.getId(), path,
+                        toSeconds(policy.nextInterval(interval, outcome)), outcome == RevisitOutcome.CHANGED);
+                case FAILED -> pageRepository.postponeVisit(site.getId(), path, toSeconds(settings.getMinInterval()));
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void applySitemapChanges(Site site) {
+        long now = System.currentTimeMillis();
+        Long lastCheck = sitemapChecks.get(site.getId());
+        if (lastCheck != null && now - lastCheck < settings.getSitemapRefreshInterval()) return;
+        sitemapChecks.put(site.getId(), now);
+
+        UrlCanonicalizer canonicalizer = new UrlCanonicalizer(site.getUrl());
+        List<String> declaredSitemaps = robotsRegistry.getRules(site.getUrl()).getSitemaps();
+        for (SitemapEntry entry : sitemapLoader.load(site.getUrl(), declaredSitemaps)) {
+            if (entry.getLastModified() <= (lastCheck == null ? 0 : lastCheck)) continue;
+
+            String path = canonicalizer.canonicalize(entry.getLocation());
+            if (path != null) pageRepository.markDue(site.getId(), path, new Timestamp(entry.getLastModified()));
+        }
+    }
+
+    private Integer findRecrawlBudget(String siteUrl) {
+        return configSites.getSites().stream()
+                .filter(s -> UrlWorker.removeWwwFromUrl(s.getUrl()).equals(siteUrl))
+                .map(searchengine.config.Site::getRecrawlBudget)
+                .findFirst().orElse(null);
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1, millis / 1000);
+    }
+}
@@ -0,0 +1,8 @@
+package searchengine.utils.recrawl;
+
+public enum RevisitOutcome {
+    CHANGED,
+    UNCHANGED,
+    REMOVED,
+    FAILED
+}
@@ -0,0 +1,30 @@
+package searchengine.utils.recrawl;
+
+import searchengine.config.RecrawlSettings;
+
+public class RevisitPolicy {
+
+    private final RecrawlSettings settings;
+
+    public RevisitPolicy(RecrawlSettings settings) {
+        this.settings = settings;
+    }
+
+    public long nextInterval(Long currentInterval, RevisitOutcome outcome) {
+        long interval = currentInterval == null || currentInterval <= 0 ? settings.getInitialInterval() : currentInterval;
+        long next = switch (outcome) {
+            case CHANGED -> Math.round(interval * settings.getChangedFactor());
+            case UNCHANGED -> Math.round(interval * settings.getUnchangedFactor());
+            default -> interval;
+        };
+
+        return Math.max(settings.getMinInterval(), Math.min(settings.getMaxInterval(), next));
+    }
+
+    public int getQuota(Integer siteBudget) {
+        int budget = siteBudget == null ? settings.getFetchBudget() : siteBudget;
+        if (budget <= 0) return 0;
+
+        return (int) Math.max(1, Math.round(budget * settings.getTickInterval() / 3_600_000.0));
+    }
+}
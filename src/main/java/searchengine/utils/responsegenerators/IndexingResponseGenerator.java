@@ -16,6 +16,10 @@ public class IndexingResponseGenerator {
         return createFailureResponse("This website was not added to the site list");
     }
 
+    public static IndexingStatusResponse siteAlreadyAdded() {
+        return createFailureResponse("This website is already in the site list");
+    }
+
     public static IndexingStatusResponse contentUnavailable(String fullUrl) {
         return createFailureResponse("Failed to index page with url: " + fullUrl + ", content unavailable");
     }
@@ -28,6 +32,14 @@ public class IndexingResponseGenerator {
         return createFailureResponse("Indexing already started");
     }
 
+    public static IndexingStatusResponse nothingToResume() {
+        return createFailureResponse("There is no interrupted indexing to resume");
+    }
+
+    public static IndexingStatusResponse nothingToReplay() {
+        return createFailureResponse("There are no crawl archives to replay");
+    }
+
     public static IndexingStatusResponse userStoppedIndexing() {
         return createFailureResponse("User stopped indexing");
     }
@@ -39,4 +51,8 @@ public class IndexingResponseGenerator {
     public static IndexingStatusResponse failedToGetIndexingTasksResult() {
         return createFailureResponse("Failed to get indexing tasks result");
     }
+
+    public static IndexingStatusResponse bulkLoadFailed() {
+        return createFailureResponse("Bulk load consistency check failed");
+    }
 }
@@ -0,0 +1,75 @@
+package searchengine.utils.robots;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.RobotsSettings;
+import searchengine.utils.fetchers.PageFetcherProvider;
+import searchengine.utils.politeness.PolitenessScheduler;
+import searchengine.utils.workers.UrlWorker;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class RobotsRegistry {
+
+    private final Map<String, CachedRules> vault = new ConcurrentHashMap<>();
+
+    private final RobotsSettings settings;
+
+    private final PageFetcherProvider pageFetcherProvider;
+
+    private final PolitenessScheduler politenessScheduler;
+
+    @Autowired
+    public RobotsRegistry(RobotsSettings settings, PageFetcherProvider pageFetcherProvider,
+                          PolitenessScheduler politenessScheduler) {
+        this.settings = settings;
+        this.pageFetcherProvider = pageFetcherProvider;
+        this.politenessScheduler = politenessScheduler;
+    }
+
+    public RobotsRules getRules(String siteUrl) {
+        if (!settings.isEnabled()) return RobotsRules.allowAll();
+
+        String host = UrlWorker.getHost(siteUrl);
+        CachedRules cached = vault.get(host);
+        if (cached != null && System.currentTimeMillis() - cached.fetchedAt < settings.getCacheTtl()) {
+            return cached.rules;
+        }
+
+        RobotsRules rules = fetchRules(siteUrl, host);
+        vault.put(host, new CachedRules(rules, System.currentTimeMillis()));
+        if (rules.getCrawlDelay() > 0) politenessScheduler.applyCrawlDelay(host, rules.getCrawlDelay());
+
+        return rules;
+    }
+
+    public void clearCache() {
+        vault.clear();
+    }
+
+    private RobotsRules fetchRules(String siteUrl, String host) {
+        politenessScheduler.acquire(host).join();
+        byte[] body = pageFetcherProvider.getFetcher()
+                .fetchBytesAsync(UrlWorker.getBaseUrl(siteUrl) + "/robots.txt", settings.getMaxSize().toBytes())
+                .join();
+
+        return body == null ?
+                RobotsRules.allowAll() :
+                RobotsRules.parse(new String(body, StandardCharsets.UTF_8), settings.getAgent());
+    }
+
+    private static class CachedRules {
+
+        private final RobotsRules rules;
+
+        private final long fetchedAt;
+
+        private CachedRules(RobotsRules rules, long fetchedAt) {
+            this.rules = rules;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
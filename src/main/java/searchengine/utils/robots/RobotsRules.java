@@ -0,0 +1,138 @@
+package searchengine.utils.robots;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+public class RobotsRules {
+
+    private static final RobotsRules ALLOW_ALL = new RobotsRules(List.of(), 0, List.of());
+
+    private static final String ANY_AGENT = "*";
+
+    private final List<Rule> rules;
+
+    private final long crawlDelay;
+
+    private final List<String> sitemaps;
+
+    private RobotsRules(List<Rule> rules, long crawlDelay, List<String> sitemaps) {
+        this.rules = rules;
+        this.crawlDelay = crawlDelay;
+        this.sitemaps = sitemaps;
+    }
+
+    public static RobotsRules allowAll() {
+        return ALLOW_ALL;
+    }
+
+    public static RobotsRules parse(String text, String agent) {
+        Map<String, List<Rule>> groupRules = new HashMap<>();
+        Map<String, Long> groupDelays = new HashMap<>();
+        List<String> sitemaps = new ArrayList<>();
+        List<String> groupAgents = new ArrayList<>();
+        boolean readingAgents = false;
+
+        for (String line : text.split("\r\n|\r|\n")) {
+            int comment = line.indexOf('#');
+            if (comment >= 0) line = line.substring(0, comment);
+            int colon = line.indexOf(':');
+            if (colon < 0) continue;
+
+            String key = line.substring(0, colon).trim().toLowerCase();
+            String value = line.substring(colon + 1).trim();
+            if (key.equals("user-agent")) {
+                if (!readingAgents) groupAgents.clear();
+                groupAgents.add(value.toLowerCase());
+                readingAgents = true;
+                continue;
+            }
+
+            readingAgents = false;
+            switch (key) {
+                case "allow", "disallow" -> {
+                    if (value.isEmpty()) continue;
+                    Rule rule = new Rule(value, key.equals("allow"));
+                    groupAgents.forEach(a -> groupRules.computeIfAbsent(a, k -> new ArrayList<>()).add(rule));
+                }
+                case "crawl-delay" -> {
+                    long delay = parseDelay(value);
+                    if (delay > 0) groupAgents.forEach(a -> groupDelays.put(a, delay));
+                }
+                case "sitemap" -> {
+                    if (!value.isEmpty()) sitemaps.add(value);
+                }
+                default -> {
+                }
+            }
+        }
+
+        String group = groupRules.containsKey(agent.toLowerCase()) || groupDelays.containsKey(agent.toLowerCase()) ?
+                agent.toLowerCase() : ANY_AGENT;
+        List<Rule> rules = new ArrayList<>(groupRules.getOrDefault(group, List.of()));
+        rules.sort(Rule.PRECEDENCE);
+
+        return new RobotsRules(rules, groupDelays.getOrDefault(group, 0L), sitemaps);
+    }
+
+    public boolean isAllowed(String path) {
+        String trimmedPath = path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : null;
+        for (Rule rule : rules) {
+            if (rule.matches(path) || (trimmedPath != null && rule.matches(trimmedPath))) return rule.allow;
+        }
+
+        return true;
+    }
+
+    public long getCrawlDelay() {
+        return crawlDelay;
+    }
+
+    public List<String> getSitemaps() {
+        return sitemaps;
+    }
+
+    private static long parseDelay(String value) {
+        try {
+            return (long) (Double.parseDouble(value) * 1000);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static class Rule {
+
+        private static final Comparator<Rule> PRECEDENCE = Comparator
+                .comparingInt((Rule r) -> r.length).reversed()
+                .thenComparing(r -> !r.allow);
+
+        private final String prefix;
+
+        private final Pattern pattern;
+
+        private final int length;
+
+        private final boolean allow;
+
+        private Rule(String value, boolean allow) {
+            this.allow = allow;
+            this.length = value.length();
+            if (value.indexOf('*') < 0 && !value.endsWith("$")) {
+                this.prefix = value;
+                this.pattern = null;
+                return;
+            }
+
+            boolean anchored = value.endsWith("$");
+            StringJoiner regex = new StringJoiner(".*", "", anchored ? "$" : "");
+            for (String literal : value.substring(0, anchored ? value.length() - 1 : value.length()).split("\\*", -1)) {
+                regex.add(literal.isEmpty() ? "" : Pattern.quote(literal));
+            }
+            this.prefix = null;
+            this.pattern = Pattern.compile(regex.toString());
+        }
+
+        private boolean matches(String path) {
+            return prefix != null ? path.startsWith(prefix) : pattern.matcher(path).lookingAt();
+        }
+    }
+}
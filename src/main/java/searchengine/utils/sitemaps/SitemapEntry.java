@@ -0,0 +1,21 @@
+package searchengine.utils.sitemaps;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Comparator;
+
+@Getter
+@RequiredArgsConstructor
+public class SitemapEntry {
+
+    public static final Comparator<SitemapEntry> PRIORITY = Comparator
+            .comparingDouble(SitemapEntry::getPriority).reversed()
+            .thenComparing(Comparator.comparingLong(SitemapEntry::getLastModified).reversed());
+
+    private final String location;
+
+    private final long lastModified;
+
+    private final double priority;
+}
@@ -0,0 +1,62 @@
+package searchengine.utils.sitemaps;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import searchengine.config.SitemapSettings;
+import searchengine.utils.fetchers.PageFetcherProvider;
+import searchengine.utils.politeness.PolitenessScheduler;
+import searchengine.utils.workers.UrlWorker;
+
+import java.util.*;
+
+@Component
+public class SitemapLoader {
+
+    private static final String DEFAULT_SITEMAP = "/sitemap.xml";
+
+    private final SitemapSettings settings;
+
+    private final PageFetcherProvider pageFetcherProvider;
+
+    private final PolitenessScheduler politenessScheduler;
+
+    @Autowired
+    public SitemapLoader(SitemapSettings settings, PageFetcherProvider pageFetcherProvider,
+                         PolitenessScheduler politenessScheduler) {
+        this.settings = settings;
+        this.pageFetcherProvider = pageFetcherProvider;
+        this.politenessScheduler = politenessScheduler;
+    }
+
+    public List<SitemapEntry> load(String siteUrl, List<String> declaredSitemaps) {
+        if (!settings.isEnabled()) return List.of();
+
+        Deque<String> pending = new ArrayDeque<>(declaredSitemaps.isEmpty() ?
+                List.of(UrlWorker.getBaseUrl(siteUrl) + DEFAULT_SITEMAP) :
+                declaredSitemaps);
+        Set<String> visited = new HashSet<>();
+        List<SitemapEntry> entries = new ArrayList<>();
+
+        while (!pending.isEmpty() && visited.size() < settings.getMaxFiles() && entries.size() < settings.getMaxUrls()) {
+            String sitemapUrl = pending.poll();
+            if (!visited.add(sitemapUrl)) continue;
+
+            byte[] body = fetch(sitemapUrl);
+            if (body == null) continue;
+
+            SitemapParser sitemap = SitemapParser.parse(body, settings.getMaxSize().toBytes(),
+                    settings.getMaxUrls() - entries.size());
+            entries.addAll(sitemap.getUrls());
+            pending.addAll(sitemap.getSitemaps());
+        }
+
+        entries.sort(SitemapEntry.PRIORITY);
+        return entries;
+    }
+
+    private byte[] fetch(String sitemapUrl) {
+        politenessScheduler.acquire(UrlWorker.getHost(sitemapUrl)).join();
+
+        return pageFetcherProvider.getFetcher().fetchBytesAsync(sitemapUrl, settings.getMaxSize().toBytes()).join();
+    }
+}
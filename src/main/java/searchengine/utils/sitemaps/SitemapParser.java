@@ -0,0 +1,129 @@
+package searchengine.utils.sitemaps;
+
+import searchengine.logging.ApplicationLogger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+public class SitemapParser {
+
+    private static final double DEFAULT_PRIORITY = 0.5;
+
+    private static final XMLInputFactory FACTORY = XMLInputFactory.newFactory();
+
+    static {
+        FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        FACTORY.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+    }
+
+    private final List<SitemapEntry> urls = new ArrayList<>();
+
+    private final List<String> sitemaps = new ArrayList<>();
+
+    private SitemapParser() {
+    }
+
+    public static SitemapParser parse(byte[] body, long maxSize, int maxUrls) {
+        SitemapParser parser = new SitemapParser();
+
+        try (InputStream in = open(body, maxSize)) {
+            parser.read(FACTORY.createXMLStreamReader(in), maxUrls);
+        } catch (IOException | XMLStreamException e) {
+            ApplicationLogger.logError(e);
+        }
+
+        return parser;
+    }
+
+    public List<SitemapEntry> getUrls() {
+        return urls;
+    }
+
+    public List<String> getSitemaps() {
+        return sitemaps;
+    }
+
+    private void read(XMLStreamReader reader, int maxUrls) throws XMLStreamException {
+        String location = null;
+        String lastModified = null;
+        String priority = null;
+
+        try {
+            while (reader.hasNext() && urls.size() < maxUrls) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "loc" -> location = reader.getElementText().trim();
+                        case "lastmod" -> lastModified = reader.getElementText().trim();
+                        case "priority" -> priority = reader.getElementText().trim();
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && location != null) {
+                    switch (reader.getLocalName()) {
+                        case "url" -> urls.add(new SitemapEntry(location, parseDate(lastModified),
+                                parsePriority(priority)));
+                        case "sitemap" -> sitemaps.add(location);
+                        default -> {
+                            continue;
+                        }
+                    }
+                    location = null;
+                    lastModified = null;
+                    priority = null;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static InputStream open(byte[] body, long maxSize) throws IOException {
+        boolean gzipped = body.length > 1 && (body[0] & 0xff) == 0x1f && (body[1] & 0xff) == 0x8b;
+        if (!gzipped) return new ByteArrayInputStream(body);
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            byte[] decoded = in.readNBytes((int) Math.min(maxSize, Integer.MAX_VALUE - 8));
+
+            return new ByteArrayInputStream(decoded);
+        }
+    }
+
+    private static long parseDate(String value) {
+        if (value == null || value.isEmpty()) return 0;
+
+        try {
+            return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(value.substring(0, Math.min(value.length(), 10)))
+                        .atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    private static double parsePriority(String value) {
+        if (value == null || value.isEmpty()) return DEFAULT_PRIORITY;
+
+        try {
+            return Math.max(0, Math.min(1, Double.parseDouble(value)));
+        } catch (NumberFormatException e) {
+            return DEFAULT_PRIORITY;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package searchengine.utils.urls;
+
+import searchengine.utils.workers.HashWorker;
+
+import java.util.Arrays;
+
+public class UrlCanonicalizer {
+
+    private static final String[] NOT_HTML_FORMATS = {
+            ".jpg", ".jpeg", ".png", ".gif", ".svg", ".webp", ".pdf", ".txt",
+            ".doc", ".docx", ".mp3", ".mp4", ".zip"
+    };
+
+    private static final String WWW = "www.";
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String host;
+
+    private final int port;
+
+    private final boolean defaultPort;
+
+    public UrlCanonicalizer(String siteUrl) {
+        String url = siteUrl.trim();
+        int schemeEnd = url.indexOf("://");
+        boolean https = url.regionMatches(true, 0, "https", 0, schemeEnd);
+        int authorityStart = schemeEnd + 3;
+        int authorityEnd = findAuthorityEnd(url, authorityStart, url.length());
+        int portStart = url.indexOf(':', authorityStart);
+        int hostEnd = portStart < 0 || portStart > authorityEnd ? authorityEnd : portStart;
+        int hostStart = url.regionMatches(true, authorityStart, WWW, 0, WWW.length()) ?
+                authorityStart + WWW.length() : authorityStart;
+
+        this.host = url.substring(hostStart, hostEnd).toLowerCase();
+        this.port = hostEnd == authorityEnd ?
+                getDefaultPort(https) : Integer.parseInt(url.substring(hostEnd + 1, authorityEnd));
+        this.defaultPort = port == getDefaultPort(https);
+    }
+
+    public static long fingerprint(String path) {
+        return HashWorker.hash64(path);
+    }
+
+    public String canonicalize(String url) {
+        if (url == null) return null;
+
+        int start = 0;
+        int end = url.length();
+        while (start < end && url.charAt(start) <= ' ') start++;
+        while (end > start && url.charAt(end - 1) <= ' ') end--;
+
+        int schemeEnd = url.indexOf("://", start);
+        if (schemeEnd < 0 || schemeEnd >= end) return null;
+
+        boolean https;
+        if (isScheme(url, start, schemeEnd, "https")) {
+            https = true;
+        } else if (isScheme(url, start, schemeEnd, "http")) {
+            https = false;
+        } else {
+            return null;
+        }
+
+        int authorityStart = schemeEnd + 3;
+        int authorityEnd = findAuthorityEnd(url, authorityStart, end);
+        if (!matchesAuthority(url, authorityStart, authorityEnd, https)) return null;
+
+        return normalizePath(url, authorityEnd, end);
+    }
+
+    private boolean matchesAuthority(String url, int start, int end, boolean https) {
+        int hostEnd = end;
+        int linkPort = getDefaultPort(https);
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+            if (c == '@') return false;
+            if (c == ':') {
+                hostEnd = i;
+                linkPort = parsePort(url, i + 1, end);
+                if (linkPort < 0) return false;
+                break;
+            }
+        }
+
+        boolean linkDefaultPort = linkPort == getDefaultPort(https);
+        if (linkPort != port && !(linkDefaultPort && defaultPort)) return false;
+
+        if (hostEnd > start && url.charAt(hostEnd - 1) == '.') hostEnd--;
+        int hostStart = url.regionMatches(true, start, WWW, 0, WWW.length()) ? start + WWW.length() : start;
+
+        return hostEnd - hostStart == host.length() && url.regionMatches(true, hostStart, host, 0, host.length());
+    }
+
+    private static String normalizePath(String url, int start, int end) {
+        StringBuilder path = new StringBuilder(end - start + 1).append('/');
+        int[] segments = new int[16];
+        int depth = 0;
+
+        int i = start;
+        while (i < end) {
+            char c = url.charAt(i);
+            if (c == '#') break;
+            if (c == '?') return null;
+            if (c == '/') {
+                i++;
+                continue;
+            }
+
+            int segmentEnd = i;
+            while (segmentEnd < end && (c = url.charAt(segmentEnd)) != '/' && c != '?' && c != '#') segmentEnd++;
+
+            int length = segmentEnd - i;
+            if (length == 2 && url.charAt(i) == '.' && url.charAt(i + 1) == '.') {
+                if (depth > 0) path.setLength(segments[--depth]);
+            } else if (length != 1 || url.charAt(i) != '.') {
+                if (depth == segments.length) segments = Arrays.copyOf(segments, depth * 2);
+                segments[depth++] = path.length();
+                appendSegment(path, url, i, segmentEnd);
+                path.append('/');
+            }
+            i = segmentEnd;
+        }
+
+        if (depth > 0 && hasNotHtmlExtension(path, segments[depth - 1], path.length() - 1)) return null;
+
+        return path.toString();
+    }
+
+    private static void appendSegment(StringBuilder path, String url, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+            if (c == '%') {
+                int high = i + 2 < end ? Character.digit(url.charAt(i + 1), 16) : -1;
+                int low = high < 0 ? -1 : Character.digit(url.charAt(i + 2), 16);
+                if (low < 0) {
+                    path.append("%25");
+                    continue;
+                }
+
+                char decoded = (char) (high << 4 | low);
+                if (isUnreserved(decoded)) {
+                    path.append(decoded);
+                } else {
+                    appendEscaped(path, decoded);
+                }
+                i += 2;
+            } else if (isUnreserved(c) || isSubDelimiter(c) || c == ':' || c == '@') {
+                path.append(c);
+            } else if (c < 0x80) {
+                appendEscaped(path, c);
+            } else {
+                int codePoint = url.codePointAt(i);
+                appendEscapedUtf8(path, codePoint);
+                i += Character.charCount(codePoint) - 1;
+            }
+        }
+    }
+
+    private static void appendEscaped(StringBuilder path, int b) {
+        path.append('%').append(HEX[b >> 4]).append(HEX[b & 0xf]);
+    }
+
+    private static void appendEscapedUtf8(StringBuilder path, int codePoint) {
+        if (codePoint < 0x800) {
+            appendEscaped(path, 0xc0 | codePoint >> 6);
+        } else if (codePoint < 0x10000) {
+            appendEscaped(path, 0xe0 | codePoint >> 12);
+            appendEscaped(path, 0x80 | codePoint >> 6 & 0x3f);
+        } else {
+            appendEscaped(path, 0xf0 | codePoint >> 18);
+            appendEscaped(path, 0x80 | codePoint >> 12 & 0x3f);
+            appendEscaped(path, 0x80 | codePoint >> 6 & 0x3f);
+        }
+        appendEscaped(path, 0x80 | codePoint & 0x3f);
+    }
+
+    private static boolean hasNotHtmlExtension(StringBuilder path, int start, int end) {
+        for (String format : NOT_HTML_FORMATS) {
+            int offset = end - format.length();
+            if (offset < start) continue;
+
+            boolean matches = true;
+            for (int i = 0; i < format.length() && matches; i++) {
+                matches = Character.toLowerCase(path.charAt(offset + i)) == format.charAt(i);
+            }
+            if (matches) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean isScheme(String url, int start, int end, String scheme) {
+        return end - start == scheme.length() && url.regionMatches(true, start, scheme, 0, scheme.length());
+    }
+
+    private static int findAuthorityEnd(String url, int start, int end) {
+        int i = start;
+        while (i < end) {
+            char c = url.charAt(i);
+            if (c == '/' || c == '?' || c == '#') break;
+            i++;
+        }
+
+        return i;
+    }
+
+    private static int parsePort(String url, int start, int end) {
+        if (start == end || end - start > 5) return -1;
+
+        int port = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(url.charAt(i), 10);
+            if (digit < 0) return -1;
+            port = port * 10 + digit;
+        }
+
+        return port;
+    }
+
+    private static int getDefaultPort(boolean https) {
+        return https ? 443 : 80;
+    }
+
+    private static boolean isUnreserved(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static boolean isSubDelimiter(char c) {
+        return "!$&'()*+,;=".indexOf(c) >= 0;
+    }
+}
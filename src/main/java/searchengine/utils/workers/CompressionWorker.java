@@ -0,0 +1,56 @@
+package searchengine.utils.workers;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class CompressionWorker {
+
+    private static final int LENGTH_PREFIX = Integer.BYTES;
+
+    public static byte[] compress(byte[] data, int level) {
+        if (data.length == 0) return data;
+
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + LENGTH_PREFIX + 16);
+            out.writeBytes(ByteBuffer.allocate(LENGTH_PREFIX).order(ByteOrder.LITTLE_ENDIAN).putInt(data.length).array());
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) out.write(buffer, 0, deflater.deflate(buffer));
+
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static byte[] decompress(byte[] data) {
+        if (data == null || data.length < LENGTH_PREFIX) return new byte[0];
+
+        int length = ByteBuffer.wrap(data, 0, LENGTH_PREFIX).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, LENGTH_PREFIX, data.length - LENGTH_PREFIX);
+            byte[] result = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(result, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                read += n;
+            }
+
+            if (read < length) throw new IllegalStateException("Truncated page content");
+            return result;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -1,67 +1,75 @@
 package searchengine.utils.workers;
 
-import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
-import org.springframework.web.client.HttpStatusCodeException;
 import searchengine.dto.page.PageResponse;
-import searchengine.logging.ApplicationLogger;
 
-import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class HtmlWorker {
 
-    public static PageResponse getResponse(String url) {
-        PageResponse pageResponse;
+    public static final int NOT_MODIFIED = 304;
 
-        try {
-            Connection.Response response = Jsoup
-                    .connect(url)
-                    .userAgent("Mozilla/5.0 (Windows; U; WindowsNT 5.1; en-US; rv1.8.1.6) " +
-                            "Gecko/20070725 Firefox/2.0.0.6")
-                    .referrer("https://www.google.com")
-                    .ignoreContentType(true)
-                    .ignoreHttpErrors(true)
-                    .execute();
-
-            pageResponse = configurePageResponse(response);
-        } catch (HttpStatusCodeException e) {
-            pageResponse = configurePageResponse(e);
-        } catch (Throwable e) {
-            return null;
+    public static final int SNIFF_LENGTH = 5120;
+
+    private static final Pattern CHARSET = Pattern.compile("charset=\"?([^\";\\s]+)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern META_CHARSET = Pattern.compile(
+            "<meta[^>]+charset\\s*=\\s*[\"']?([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+
+    public static String getCharset(String contentType) {
+        if (contentType == null) return null;
+        Matcher matcher = CHARSET.matcher(contentType);
+
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    public static String detectCharset(byte[] body) {
+        if (body.length >= 3 && (body[0] & 0xFF) == 0xEF && (body[1] & 0xFF) == 0xBB && (body[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8.name();
+        }
+        if (body.length >= 2 && (body[0] & 0xFF) == 0xFE && (body[1] & 0xFF) == 0xFF) {
+            return StandardCharsets.UTF_16BE.name();
+        }
+        if (body.length >= 2 && (body[0] & 0xFF) == 0xFF && (body[1] & 0xFF) == 0xFE) {
+            return StandardCharsets.UTF_16LE.name();
         }
 
-        return pageResponse;
+        String head = new String(body, 0, Math.min(body.length, SNIFF_LENGTH), StandardCharsets.ISO_8859_1);
+        Matcher matcher = META_CHARSET.matcher(head);
+        if (!matcher.find()) return StandardCharsets.UTF_8.name();
+
+        try {
+            return Charset.forName(matcher.group(1)).name();
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8.name();
+        }
     }
 
-    private static PageResponse configurePageResponse(Connection.Response response) {
-        PageResponse pageResponse = new PageResponse();
-        pageResponse.setStatusCode(response.statusCode());
-        pageResponse.setResponseBody(response.body());
-        pageResponse.setResponse(response);
+    public static boolean isHtml(String contentType) {
+        if (contentType == null) return true;
+        String mimeType = contentType.toLowerCase();
 
-        return pageResponse;
+        return mimeType.startsWith("text/html") || mimeType.startsWith("application/xhtml+xml");
     }
 
-    private static PageResponse configurePageResponse(HttpStatusCodeException e) {
-        PageResponse pageResponse = new PageResponse();
-        pageResponse.setStatusCode(e.getStatusCode().value());
-        pageResponse.setResponseBody(e.getResponseBodyAsString());
-        pageResponse.setCauseOfError(e.getStatusText());
-        pageResponse.setResponse(null);
+    public static boolean looksBinary(byte[] body, int length) {
+        for (int i = 0; i < Math.min(length, SNIFF_LENGTH); i++) {
+            if (body[i] == 0) return true;
+        }
 
-        return pageResponse;
+        return false;
     }
 
-    public static Document parsePage(Connection.Response response) {
-        Document doc = null;
-        try {
-            doc = response.parse();
-        } catch (IOException e) {
-            ApplicationLogger.logError(e);
+    public static Document parsePage(PageResponse pageResponse) {
+        if (pageResponse.getDocument() == null) {
+            pageResponse.setDocument(Jsoup.parse(pageResponse.getResponseBody(), pageResponse.getUrl()));
         }
 
-        return doc;
+        return pageResponse.getDocument();
     }
 
     public static String clearFromHtml(String text) {
@@ -1,27 +1,9 @@
 package searchengine.utils.workers;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.regex.Pattern;
+import searchengine.utils.urls.UrlCanonicalizer;
 
 public class UrlWorker {
 
-    private static final Set<String> NOT_HTML_FORMATS;
-
-    static {
-        NOT_HTML_FORMATS = new HashSet<>();
-        NOT_HTML_FORMATS.add(".jpg");
-        NOT_HTML_FORMATS.add(".png");
-        NOT_HTML_FORMATS.add(".gif");
-        NOT_HTML_FORMATS.add(".svg");
-        NOT_HTML_FORMATS.add(".pdf");
-        NOT_HTML_FORMATS.add(".txt");
-        NOT_HTML_FORMATS.add(".doc");
-        NOT_HTML_FORMATS.add(".docx");
-        NOT_HTML_FORMATS.add(".mp3");
-        NOT_HTML_FORMATS.add(".mp4");
-    }
-
     public static String removeWwwFromUrl(String url) {
         return url.replace("://www.", "://");
     }
@@ -46,13 +28,13 @@ public class UrlWorker {
         return url.substring(0, url.indexOf("/", url.indexOf("://") + 3));
     }
 
-    public static boolean isUrlValid(String siteUrl, String pageUrl) {
-        final String loweCasePageUrl = pageUrl.toLowerCase();
-        Pattern sitePattern = Pattern.compile(siteUrl);
+    public static String getHost(String url) {
+        String baseUrl = removeWwwFromUrl(getBaseUrl(url));
+
+        return baseUrl.substring(baseUrl.indexOf("://") + 3).toLowerCase();
+    }
 
-        return sitePattern.matcher(UrlWorker.removeWwwFromUrl(pageUrl)).find()
-                && !pageUrl.contains("#")
-                && !pageUrl.contains("?")
-                && NOT_HTML_FORMATS.stream().noneMatch(loweCasePageUrl::contains);
+    public static long getUrlFingerprint(String url) {
+        return UrlCanonicalizer.fingerprint(url);
     }
 }
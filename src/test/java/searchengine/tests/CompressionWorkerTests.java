@@ -0,0 +1,37 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.utils.workers.CompressionWorker;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressionWorkerTests {
+
+    @Test
+    public void testRoundTripShrinksRepetitiveHtml() {
+        byte[] html = "<html><body>Каталог товаров</body></html>".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+        byte[] compressed = CompressionWorker.compress(html, Deflater.DEFAULT_COMPRESSION);
+
+        assertTrue(compressed.length < html.length / 10);
+        assertArrayEquals(html, CompressionWorker.decompress(compressed));
+    }
+
+    @Test
+    public void testLengthPrefixMatchesMysqlCompressFormat() {
+        byte[] compressed = CompressionWorker.compress("abc".getBytes(StandardCharsets.UTF_8), 6);
+
+        assertEquals(3, compressed[0]);
+        assertEquals(0, compressed[1] | compressed[2] | compressed[3]);
+        assertEquals(0x78, compressed[4] & 0xff);
+    }
+
+    @Test
+    public void testEmptyBodyStaysEmpty() {
+        assertEquals(0, CompressionWorker.compress(new byte[0], 6).length);
+        assertEquals(0, CompressionWorker.decompress(new byte[0]).length);
+    }
+}
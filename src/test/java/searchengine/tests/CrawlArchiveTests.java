@@ -0,0 +1,76 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.config.ArchiveSettings;
+import searchengine.dto.page.PageResponse;
+import searchengine.model.Site;
+import searchengine.utils.archive.ArchiveSnapshot;
+import searchengine.utils.archive.CrawlArchive;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrawlArchiveTests {
+
+    @Test
+    public void testRecordedResponsesAreReplayed() throws IOException {
+        CrawlArchive archive = createArchive();
+        Site site = createSite();
+
+        archive.record(site, "/", createResponse(200, "<html><body>Привет, мир</body></html>"));
+        archive.record(site, "/missing/", createResponse(404, null));
+        archive.close(site.getId());
+
+        ArchiveSnapshot snapshot = archive.openSnapshot(site.getUrl());
+        PageResponse root = snapshot.load("/");
+
+        assertEquals(2, snapshot.size());
+        assertEquals(200, root.getStatusCode());
+        assertEquals("\"v1\"", root.getEtag());
+        assertEquals("text/html; charset=utf-8", root.getContentType());
+        assertEquals("<html><body>Привет, мир</body></html>", root.getResponseBody());
+        assertEquals(404, snapshot.load("/missing/").getStatusCode());
+        assertNull(snapshot.load("/unknown/"));
+    }
+
+    @Test
+    public void testLatestRecordWinsAcrossSegments() throws IOException {
+        CrawlArchive archive = createArchive();
+        Site site = createSite();
+
+        archive.record(site, "/", createResponse(200, "old"));
+        archive.close(site.getId());
+        archive.record(site, "/", createResponse(200, "new"));
+        archive.close(site.getId());
+
+        assertEquals("new", archive.openSnapshot(site.getUrl()).load("/").getResponseBody());
+    }
+
+    private CrawlArchive createArchive() throws IOException {
+        ArchiveSettings settings = new ArchiveSettings();
+        settings.setEnabled(true);
+        settings.setDirectory(Files.createTempDirectory("archive").toString());
+
+        return new CrawlArchive(settings);
+    }
+
+    private Site createSite() {
+        Site site = new Site();
+        site.setId(1);
+        site.setUrl("https://example.com");
+
+        return site;
+    }
+
+    private PageResponse createResponse(int statusCode, String body) {
+        PageResponse pageResponse = new PageResponse();
+        pageResponse.setStatusCode(statusCode);
+        pageResponse.setContentType("text/html; charset=windows-1251");
+        pageResponse.setEtag("\"v1\"");
+        pageResponse.setResponseBody(body);
+
+        return pageResponse;
+    }
+}
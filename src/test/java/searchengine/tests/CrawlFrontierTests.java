@@ -0,0 +1,62 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.cache.PageCache;
+import searchengine.config.VisitedCacheSettings;
+import searchengine.utils.frontier.CrawlFrontier;
+import searchengine.utils.frontier.FrontierEntry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrawlFrontierTests {
+
+    private static final int SITE_ID = 1;
+
+    @Test
+    public void testEntriesOrderedByDepthAndInlinks() throws InterruptedException {
+        CrawlFrontier frontier = new CrawlFrontier(SITE_ID, new PageCache(new VisitedCacheSettings()), 100, 10, 100);
+        frontier.offer("/deep/", 2);
+        frontier.offer("/a/", 1);
+        frontier.offer("/b/", 1);
+        frontier.offer("/b/", 1);
+
+        assertEquals(3, frontier.size());
+        assertEquals("/b/", take(frontier).getPath());
+        assertEquals("/a/", take(frontier).getPath());
+        assertEquals("/deep/", take(frontier).getPath());
+        assertNull(frontier.take());
+    }
+
+    @Test
+    public void testVisitedPagesAreNotQueuedAgain() throws InterruptedException {
+        CrawlFrontier frontier = new CrawlFrontier(SITE_ID, new PageCache(new VisitedCacheSettings()), 100, 10, 100);
+        frontier.offer("/", 0);
+        FrontierEntry root = frontier.take();
+
+        assertFalse(frontier.offer("/", 1));
+        frontier.complete(root);
+        assertNull(frontier.take());
+    }
+
+    @Test
+    public void testLimitsAreApplied() throws InterruptedException {
+        CrawlFrontier frontier = new CrawlFrontier(SITE_ID, new PageCache(new VisitedCacheSettings()), 2, 1, 1);
+
+        assertFalse(frontier.offer("/too/deep/", 2));
+        frontier.offer("/second/", 1);
+        frontier.offer("/third/", 1);
+        frontier.offer("/", 0);
+
+        assertEquals(2, frontier.size());
+        assertEquals(1, frontier.getDroppedLinks());
+        assertEquals("/", take(frontier).getPath());
+        assertNull(frontier.take());
+    }
+
+    private FrontierEntry take(CrawlFrontier frontier) throws InterruptedException {
+        FrontierEntry entry = frontier.take();
+        frontier.complete(entry);
+
+        return entry;
+    }
+}
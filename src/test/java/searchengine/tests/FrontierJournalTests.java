@@ -0,0 +1,57 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.cache.PageCache;
+import searchengine.config.VisitedCacheSettings;
+import searchengine.utils.frontier.CrawlFrontier;
+import searchengine.utils.frontier.FrontierEntry;
+import searchengine.utils.frontier.FrontierJournal;
+import searchengine.utils.frontier.JournalState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrontierJournalTests {
+
+    @Test
+    public void testInterruptedCrawlIsReplayed() throws IOException, InterruptedException {
+        Path file = Files.createTempDirectory("journal").resolve("site-1.journal");
+        FrontierJournal journal = FrontierJournal.open(file, 1, 0);
+        CrawlFrontier frontier = new CrawlFrontier(1, new PageCache(new VisitedCacheSettings()), 100, 10, 100, journal);
+
+        frontier.offer("/", 0);
+        FrontierEntry root = frontier.take();
+        frontier.offer("/a/", 1);
+        frontier.offer("/b/", 1);
+        frontier.complete(root);
+        frontier.take();
+        frontier.close();
+
+        JournalState state = FrontierJournal.replay(file);
+
+        assertTrue(state.getVisited().contains("/"));
+        assertEquals(1, state.getPending().size());
+        assertEquals(1, state.getInterrupted().size());
+    }
+
+    @Test
+    public void testRestoredFrontierSkipsVisitedPages() throws IOException, InterruptedException {
+        Path file = Files.createTempDirectory("journal").resolve("site-2.journal");
+        FrontierJournal journal = FrontierJournal.open(file, 1, 0);
+        CrawlFrontier frontier = new CrawlFrontier(2, new PageCache(new VisitedCacheSettings()), 100, 10, 100, journal);
+        frontier.offer("/", 0);
+        FrontierEntry root = frontier.take();
+        frontier.offer("/next/", 1);
+        frontier.complete(root);
+        frontier.close();
+
+        CrawlFrontier restored = new CrawlFrontier(2, new PageCache(new VisitedCacheSettings()), 100, 10, 100);
+        restored.restore(FrontierJournal.replay(file));
+
+        assertFalse(restored.offer("/", 1));
+        assertEquals("/next/", restored.take().getPath());
+    }
+}
@@ -0,0 +1,75 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.config.BreakerSettings;
+import searchengine.utils.health.CircuitState;
+import searchengine.utils.health.HostHealth;
+import searchengine.utils.health.RetryBudget;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HostHealthTests {
+
+    private final BreakerSettings settings = new BreakerSettings();
+
+    @Test
+    public void testBreakerOpensAfterConsecutiveFailures() {
+        HostHealth health = new HostHealth("example.com", settings);
+        for (int i = 1; i < settings.getFailureThreshold(); i++) assertEquals(0, health.onFailure(0));
+        assertEquals(CircuitState.CLOSED, health.getState());
+
+        assertEquals(settings.getOpenDuration(), health.onFailure(0));
+        assertEquals(CircuitState.OPEN, health.getState());
+        assertEquals(settings.getOpenDuration() - 100, health.reserve(100));
+    }
+
+    @Test
+    public void testSuccessfulProbeClosesBreaker() {
+        HostHealth health = new HostHealth("example.com", settings);
+        for (int i = 0; i < settings.getFailureThreshold(); i++) health.onFailure(0);
+
+        assertEquals(0, health.reserve(settings.getOpenDuration()));
+        assertEquals(CircuitState.HALF_OPEN, health.getState());
+        assertEquals(settings.getProbeWait(), health.reserve(settings.getOpenDuration()));
+
+        health.onSuccess();
+        assertEquals(CircuitState.CLOSED, health.getState());
+        assertEquals(0, health.getTrips());
+    }
+
+    @Test
+    public void testFailedProbesBackOffAndGiveUp() {
+        HostHealth health = new HostHealth("example.com", settings);
+        long now = 0;
+        for (int i = 0; i < settings.getFailureThreshold(); i++) health.onFailure(now);
+
+        for (int trip = 2; trip <= settings.getMaxTrips(); trip++) {
+            now = health.getOpenUntil();
+            assertEquals(0, health.reserve(now));
+            long parkedUntil = health.onFailure(now);
+            assertEquals(trip, health.getTrips());
+            if (trip < settings.getMaxTrips()) {
+                assertEquals(Math.min(settings.getOpenDuration() << (trip - 1), settings.getMaxOpenDuration()),
+                        parkedUntil - now);
+            } else {
+                assertEquals(0, parkedUntil);
+            }
+        }
+
+        assertEquals(HostHealth.REJECTED, health.reserve(now));
+        assertEquals(1, health.getRejected());
+    }
+
+    @Test
+    public void testRetryBudgetGrowsWithRequests() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+
+        for (int i = 0; i < 10; i++) budget.onRequest();
+        assertEquals(1, budget.getRemaining());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+}
@@ -0,0 +1,81 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.utils.politeness.HostRateLimiter;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HostRateLimiterTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testReservationsAreSpacedByInterval() {
+        HostRateLimiter limiter = new HostRateLimiter("example.com", 1000, 30_000, 1);
+
+        assertEquals(0, limiter.reserve());
+        long second = limiter.reserve();
+        long third = limiter.reserve();
+
+        assertTrue(second > SECOND * 9 / 10 && second <= SECOND);
+        assertTrue(third > SECOND * 19 / 10 && third <= 2 * SECOND);
+    }
+
+    @Test
+    public void testBurstAllowsImmediateRequests() {
+        HostRateLimiter limiter = new HostRateLimiter("example.com", 1000, 30_000, 3);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertTrue(limiter.reserve() > SECOND * 9 / 10);
+    }
+
+    @Test
+    public void testRateStaysWithinBounds() {
+        HostRateLimiter limiter = new HostRateLimiter("example.com", 500, 4000, 1);
+        assertEquals(2.0, limiter.getRate(), 1e-9);
+
+        limiter.decrease(0.5);
+        assertEquals(1.0, limiter.getRate(), 1e-9);
+        limiter.decrease(0.1);
+        limiter.decrease(0.1);
+        assertEquals(0.25, limiter.getRate(), 1e-9);
+        assertEquals(3, limiter.getThrottledResponses());
+
+        limiter.increase(0.5);
+        assertEquals(0.75, limiter.getRate(), 1e-9);
+        limiter.increase(10);
+        assertEquals(2.0, limiter.getRate(), 1e-9);
+        assertEquals(500, limiter.getIntervalMillis());
+    }
+
+    @Test
+    public void testCrawlDelayOnlyLowersTheRate() {
+        HostRateLimiter limiter = new HostRateLimiter("example.com", 100, 1000, 1);
+
+        limiter.limitDelay(2000);
+        assertEquals(0.5, limiter.getMaxRate(), 1e-9);
+        assertEquals(2000, limiter.getIntervalMillis());
+
+        limiter.limitDelay(200);
+        assertEquals(0.5, limiter.getMaxRate(), 1e-9);
+
+        limiter.decrease(0.5);
+        assertEquals(0.5, limiter.getRate(), 1e-9);
+        limiter.increase(1);
+        assertEquals(0.5, limiter.getRate(), 1e-9);
+    }
+
+    @Test
+    public void testCrawlDelayDisablesBurst() {
+        HostRateLimiter limiter = new HostRateLimiter("example.com", 100, 30_000, 5);
+
+        limiter.limitDelay(1000);
+
+        assertEquals(0, limiter.reserve());
+        assertTrue(limiter.reserve() > SECOND * 9 / 10);
+    }
+}
@@ -0,0 +1,33 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.utils.workers.HtmlWorker;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HtmlWorkerTests {
+
+    @Test
+    public void testCharsetIsReadFromMetaTags() {
+        assertEquals("windows-1251", HtmlWorker.detectCharset(
+                "<html><head><meta charset=\"windows-1251\"></head></html>".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals("KOI8-R", HtmlWorker.detectCharset(("<html><head><meta http-equiv=\"Content-Type\" " +
+                "content=\"text/html; charset=koi8-r\"></head></html>").getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void testByteOrderMarkWins() {
+        byte[] body = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF, '<', 'p', '>'};
+
+        assertEquals("UTF-8", HtmlWorker.detectCharset(body));
+    }
+
+    @Test
+    public void testUnknownCharsetFallsBackToUtf8() {
+        assertEquals("UTF-8", HtmlWorker.detectCharset(
+                "<meta charset=\"no-such-charset\">".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals("UTF-8", HtmlWorker.detectCharset("<p>plain</p>".getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,147 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.config.PipelineSettings;
+import searchengine.config.WriteBehindSettings;
+import searchengine.dto.metrics.PipelineStageMetrics;
+import searchengine.model.Site;
+import searchengine.utils.parsers.WebsiteParser;
+import searchengine.utils.pipeline.IndexingPipeline;
+import searchengine.utils.pipeline.PageTask;
+import searchengine.utils.pipeline.WriteBehindBuffer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexingPipelineTests {
+
+    @Test
+    public void testPagesPassThroughAllStages() throws InterruptedException {
+        RecordingParser parser = new RecordingParser(Set.of(), Set.of(), 2);
+        IndexingPipeline pipeline = createPipeline();
+
+        pipeline.submit(new PageTask(parser, null, "/a", null));
+        pipeline.submit(new PageTask(parser, null, "/b", null));
+        assertTrue(parser.finished.await(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of("/a", "/b"), parser.persisted.stream().sorted().toList());
+        assertEquals(List.of("/a", "/b"), parser.completed.stream().sorted().toList());
+        assertTrue(parser.abandoned.isEmpty());
+        assertEquals(List.of("parse", "lemmatize", "persist"),
+                pipeline.getMetrics().stream().map(PipelineStageMetrics::getStage).toList());
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void testSkippedPageIsCompletedWithoutPersisting() throws InterruptedException {
+        RecordingParser parser = new RecordingParser(Set.of("/skipped"), Set.of(), 1);
+        IndexingPipeline pipeline = createPipeline();
+
+        pipeline.submit(new PageTask(parser, null, "/skipped", null));
+        assertTrue(parser.finished.await(5, TimeUnit.SECONDS));
+
+        assertTrue(parser.persisted.isEmpty());
+        assertEquals(List.of("/skipped"), parser.completed);
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void testFailedStageAbandonsPage() throws InterruptedException {
+        RecordingParser parser = new RecordingParser(Set.of(), Set.of("/broken"), 2);
+        IndexingPipeline pipeline = createPipeline();
+
+        pipeline.submit(new PageTask(parser, null, "/broken", null));
+        pipeline.submit(new PageTask(parser, null, "/ok", null));
+        assertTrue(parser.finished.await(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of("/ok"), parser.completed);
+        assertEquals(List.of("/broken"), parser.abandoned);
+        assertEquals(List.of("/broken"), parser.failed);
+        assertEquals(1, pipeline.getMetrics().stream().mapToLong(PipelineStageMetrics::getFailed).sum());
+        pipeline.shutdown();
+    }
+
+    private IndexingPipeline createPipeline() {
+        PipelineSettings settings = new PipelineSettings();
+        settings.setParseParallelism(1);
+        settings.setLemmatizeParallelism(1);
+        settings.setPersistParallelism(1);
+        settings.setQueueCapacity(4);
+        WriteBehindSettings writeBehindSettings = new WriteBehindSettings();
+        writeBehindSettings.setEnabled(false);
+
+        return new IndexingPipeline(settings, new WriteBehindBuffer(writeBehindSettings, null, null, null));
+    }
+
+    private static Site createSite() {
+        Site site = new Site();
+        site.setId(1);
+        site.setUrl("https://example.com");
+
+        return site;
+    }
+
+    private static class RecordingParser extends WebsiteParser {
+
+        private final Set<String> skippedPaths;
+
+        private final Set<String> failingPaths;
+
+        private final CountDownLatch finished;
+
+        private final List<String> persisted = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<String> completed = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<String> abandoned = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<String> failed = Collections.synchronizedList(new ArrayList<>());
+
+        private RecordingParser(Set<String> skippedPaths, Set<String> failingPaths, int pages) {
+            super(null, createSite(), "/");
+            this.skippedPaths = skippedPaths;
+            this.failingPaths = failingPaths;
+            this.finished = new CountDownLatch(pages);
+        }
+
+        @Override
+        public boolean parse(PageTask task) {
+            return !skippedPaths.contains(task.getPath());
+        }
+
+        @Override
+        public void lemmatize(PageTask task) {
+            if (failingPaths.contains(task.getPath())) {
+                throw new IllegalStateException("Failed to lemmatize " + task.getPath());
+            }
+        }
+
+        @Override
+        public void persist(PageTask task) {
+            persisted.add(task.getPath());
+        }
+
+        @Override
+        public void complete(PageTask task) {
+            completed.add(task.getPath());
+            finished.countDown();
+        }
+
+        @Override
+        public void abandon(PageTask task) {
+            abandoned.add(task.getPath());
+            finished.countDown();
+        }
+
+        @Override
+        public void fail(PageTask task, Exception e) {
+            failed.add(task.getPath());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.cache.LemmaDictionary;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LemmaDictionaryTests {
+
+    @Test
+    public void testNewLemmasTakeIdsFromBlocks() {
+        AtomicInteger nextBlock = new AtomicInteger(100);
+        LemmaDictionary dictionary = new LemmaDictionary(size -> nextBlock.getAndAdd(size), 2);
+        dictionary.load(7, "дом");
+
+        assertEquals(7, dictionary.resolve("дом").getId());
+        assertEquals(100, dictionary.resolve("кот").getId());
+        assertEquals(101, dictionary.resolve("пес").getId());
+        assertEquals(102, dictionary.resolve("лес").getId());
+        assertEquals(100, dictionary.resolve("кот").getId());
+        assertEquals(2, dictionary.getAllocatedBlocks());
+        assertEquals(2, dictionary.getHits());
+        assertEquals(3, dictionary.getMisses());
+    }
+
+    @Test
+    public void testPendingFrequenciesAreDrainedOnce() {
+        LemmaDictionary dictionary = new LemmaDictionary(size -> 1, 10);
+        dictionary.load(7, "дом");
+        LemmaDictionary.Entry entry = dictionary.resolve("дом");
+        dictionary.increment(entry);
+        dictionary.increment(entry);
+
+        assertEquals(2, dictionary.getPendingUpdates());
+        assertEquals(Map.of(7, 2), dictionary.drainPending());
+        assertTrue(dictionary.drainPending().isEmpty());
+        assertEquals(0, dictionary.getPendingUpdates());
+
+        dictionary.increment(entry);
+        assertEquals(Map.of(7, 1), dictionary.drainPending());
+    }
+
+    @Test
+    public void testOnlyPersistedLemmasAreVisible() {
+        LemmaDictionary dictionary = new LemmaDictionary(size -> 50, 10);
+        LemmaDictionary.Entry entry = dictionary.resolve("кот");
+        assertFalse(entry.isPersisted());
+        assertNull(dictionary.getId("кот"));
+
+        entry.persist(42);
+        assertEquals(Integer.valueOf(42), dictionary.getId("кот"));
+
+        dictionary.evict(List.of("кот"));
+        assertNull(dictionary.getId("кот"));
+        assertEquals(0, dictionary.size());
+    }
+
+    @Test
+    public void testBulkLemmasArePersistedWithoutDraining() {
+        LemmaDictionary dictionary = new LemmaDictionary(size -> 200, 10, true);
+        LemmaDictionary.Entry entry = dictionary.resolve("кот");
+        dictionary.increment(entry);
+        dictionary.increment(dictionary.resolve("кот"));
+
+        assertTrue(entry.isPersisted());
+        assertEquals(Integer.valueOf(200), dictionary.getId("кот"));
+
+        Map<String, Integer> pending = new HashMap<>();
+        dictionary.forEach((lemma, e) -> pending.put(lemma, e.getPending()));
+        assertEquals(Map.of("кот", 2), pending);
+    }
+}
@@ -0,0 +1,39 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.utils.graph.AdjacencyCodec;
+import searchengine.utils.graph.LinkGraph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinkGraphTests {
+
+    @Test
+    public void testLinkedPagesRankHigher() {
+        int[][] adjacency = {
+                {1, 2},
+                {0},
+                {0},
+                {0},
+                {}
+        };
+
+        double[] ranks = new LinkGraph(adjacency).pageRank(0.85, 100, 1e-9);
+
+        assertTrue(ranks[0] > ranks[1]);
+        assertEquals(ranks[1], ranks[2], 1e-9);
+        assertTrue(ranks[1] > ranks[3]);
+        assertEquals(ranks.length, ranks[0] + ranks[1] + ranks[2] + ranks[3] + ranks[4], 1e-6);
+    }
+
+    @Test
+    public void testAdjacencyListsRoundTrip() {
+        int[] ids = {70_000, 3, 129, 3, 1};
+        long[] fingerprints = {Long.MIN_VALUE, -1L, 42L};
+
+        assertArrayEquals(new int[]{1, 3, 129, 70_000}, AdjacencyCodec.decodeIds(AdjacencyCodec.encodeIds(ids)));
+        assertArrayEquals(fingerprints,
+                AdjacencyCodec.decodeFingerprints(AdjacencyCodec.encodeFingerprints(fingerprints)));
+        assertTrue(AdjacencyCodec.encodeIds(ids).length < ids.length * Integer.BYTES);
+    }
+}
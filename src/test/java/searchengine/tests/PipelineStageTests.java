@@ -0,0 +1,132 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.dto.metrics.PipelineStageMetrics;
+import searchengine.utils.pipeline.PipelineStage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelineStageTests {
+
+    @Test
+    public void testSubmitBlocksWhileQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        PipelineStage<Integer> stage = new PipelineStage<>("test", 1, 1, item -> {
+            started.countDown();
+            release.await();
+            handled.add(item);
+        }, (item, e) -> fail(e));
+
+        stage.submit(1);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        stage.submit(2);
+
+        CountDownLatch submitted = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                stage.submit(3);
+                submitted.countDown();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        producer.start();
+
+        assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        awaitProcessed(stage, 3);
+
+        assertEquals(List.of(1, 2, 3), handled);
+        stage.shutdown();
+    }
+
+    @Test
+    public void testMetricsReportQueueDepthAndBusyWorkers() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PipelineStage<Integer> stage = new PipelineStage<>("test", 1, 4, item -> {
+            started.countDown();
+            release.await();
+        }, (item, e) -> fail(e));
+
+        stage.submit(1);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        stage.submit(2);
+        stage.submit(3);
+
+        PipelineStageMetrics metrics = stage.getMetrics();
+        assertEquals("test", metrics.getStage());
+        assertEquals(1, metrics.getParallelism());
+        assertEquals(1, metrics.getBusyWorkers());
+        assertEquals(2, metrics.getQueued());
+        assertEquals(4, metrics.getCapacity());
+        assertEquals(0, metrics.getProcessed());
+
+        release.countDown();
+        awaitProcessed(stage, 3);
+
+        metrics = stage.getMetrics();
+        assertEquals(0, metrics.getQueued());
+        assertEquals(3, metrics.getProcessed());
+        assertTrue(metrics.getItemsPerSecond() > 0);
+        stage.shutdown();
+    }
+
+    @Test
+    public void testFailuresAreHandedToFailureHandler() throws InterruptedException {
+        List<Integer> failed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(4);
+        PipelineStage<Integer> stage = new PipelineStage<>("test", 2, 8, item -> {
+            done.countDown();
+            if (item % 2 == 0) throw new IllegalStateException("Failed to handle " + item);
+        }, (item, e) -> failed.add(item));
+
+        for (int i = 1; i <= 4; i++) stage.submit(i);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        awaitProcessed(stage, 4);
+
+        PipelineStageMetrics metrics = stage.getMetrics();
+        assertEquals(2, metrics.getProcessed());
+        assertEquals(2, metrics.getFailed());
+        assertEquals(List.of(2, 4), failed.stream().sorted().toList());
+        stage.shutdown();
+    }
+
+    @Test
+    public void testDiscardDropsQueuedItems() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        PipelineStage<Integer> stage = new PipelineStage<>("test", 1, 8, item -> {
+            started.countDown();
+            release.await();
+            handled.add(item);
+        }, (item, e) -> fail(e));
+
+        stage.submit(1);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 2; i <= 5; i++) stage.submit(i);
+        stage.discard(item -> item % 2 == 0);
+        release.countDown();
+        awaitProcessed(stage, 3);
+
+        assertEquals(List.of(1, 3, 5), handled);
+        stage.shutdown();
+    }
+
+    private static void awaitProcessed(PipelineStage<?> stage, long items) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (stage.getMetrics().getProcessed() + stage.getMetrics().getFailed() < items) {
+            assertTrue(System.currentTimeMillis() < deadline, "Stage did not finish in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.config.RecrawlSettings;
+import searchengine.utils.recrawl.RevisitOutcome;
+import searchengine.utils.recrawl.RevisitPolicy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RevisitPolicyTests {
+
+    private final RecrawlSettings settings = new RecrawlSettings();
+
+    private final RevisitPolicy policy = new RevisitPolicy(settings);
+
+    @Test
+    public void testChangingPagesAreRevisitedSooner() {
+        long interval = settings.getInitialInterval();
+
+        assertTrue(policy.nextInterval(interval, RevisitOutcome.CHANGED) < interval);
+        assertTrue(policy.nextInterval(interval, RevisitOutcome.UNCHANGED) > interval);
+        assertEquals(interval, policy.nextInterval(null, RevisitOutcome.FAILED));
+    }
+
+    @Test
+    public void testIntervalStaysWithinBounds() {
+        long interval = settings.getInitialInterval();
+        for (int i = 0; i < 50; i++) interval = policy.nextInterval(interval, RevisitOutcome.CHANGED);
+        assertEquals(settings.getMinInterval(), interval);
+
+        for (int i = 0; i < 50; i++) interval = policy.nextInterval(interval, RevisitOutcome.UNCHANGED);
+        assertEquals(settings.getMaxInterval(), interval);
+    }
+
+    @Test
+    public void testQuotaFollowsHourlyBudget() {
+        assertEquals(10, policy.getQuota(null));
+        assertEquals(1, policy.getQuota(1));
+        assertEquals(0, policy.getQuota(0));
+    }
+}
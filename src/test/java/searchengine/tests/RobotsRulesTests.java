@@ -0,0 +1,47 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.utils.robots.RobotsRules;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RobotsRulesTests {
+
+    private static final String ROBOTS = """
+            User-agent: Googlebot
+            Disallow: /
+
+            User-agent: *
+            Disallow: /admin
+            Disallow: /*.php$
+            Allow: /admin/public
+            Crawl-delay: 2.5 # seconds
+
+            Sitemap: https://playback.ru/sitemap.xml
+            """;
+
+    @Test
+    public void testLongestMatchingRuleWins() {
+        RobotsRules rules = RobotsRules.parse(ROBOTS, "SearchEngine");
+
+        assertTrue(rules.isAllowed("/catalog/"));
+        assertFalse(rules.isAllowed("/admin/"));
+        assertFalse(rules.isAllowed("/admin/users/"));
+        assertTrue(rules.isAllowed("/admin/public/"));
+        assertFalse(rules.isAllowed("/index.php/"));
+        assertTrue(rules.isAllowed("/index.php/news/"));
+    }
+
+    @Test
+    public void testAgentGroupDelayAndSitemapsAreRead() {
+        RobotsRules rules = RobotsRules.parse(ROBOTS, "SearchEngine");
+        RobotsRules googlebot = RobotsRules.parse(ROBOTS, "googlebot");
+
+        assertEquals(2500, rules.getCrawlDelay());
+        assertEquals(List.of("https://playback.ru/sitemap.xml"), rules.getSitemaps());
+        assertFalse(googlebot.isAllowed("/catalog/"));
+        assertEquals(0, googlebot.getCrawlDelay());
+    }
+}
@@ -0,0 +1,51 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.cache.SimHashIndex;
+import searchengine.utils.workers.HashWorker;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimHashIndexTests {
+
+    @Test
+    public void testNearDuplicateIsMatchedToOriginal() {
+        SimHashIndex index = new SimHashIndex(3);
+        long original = 0x5a5a_1234_9876_f0f0L;
+
+        assertNull(index.claim("/catalog/", original));
+        SimHashIndex.Entry match = index.claim("/catalog/?print", original ^ 0b1001L);
+
+        assertNotNull(match);
+        assertEquals("/catalog/", match.getPath());
+        assertEquals(2, SimHashIndex.distance(original, original ^ 0b1001L));
+        assertEquals(1, index.size());
+        assertEquals(1, index.getDuplicates());
+    }
+
+    @Test
+    public void testDistantFingerprintIsNotMatched() {
+        SimHashIndex index = new SimHashIndex(3);
+        long original = 0x0f0f_0f0f_0f0f_0f0fL;
+
+        assertNull(index.claim("/a/", original));
+        assertNull(index.claim("/b/", original ^ 0x1111_0000_0000_0000L));
+        assertEquals(2, index.size());
+        assertEquals(0, index.getDuplicates());
+    }
+
+    @Test
+    public void testSimilarLemmaSetsProduceCloseFingerprints() {
+        Map<String, Integer> lemmas = new HashMap<>();
+        for (int i = 0; i < 200; i++) lemmas.put("лемма" + i, 1 + i % 5);
+        Map<String, Integer> mirror = new HashMap<>(lemmas);
+        mirror.put("печать", 1);
+
+        int distance = SimHashIndex.distance(HashWorker.simHash(lemmas), HashWorker.simHash(mirror));
+
+        assertTrue(distance <= 3);
+    }
+}
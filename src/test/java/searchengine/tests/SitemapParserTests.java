@@ -0,0 +1,62 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.utils.sitemaps.SitemapEntry;
+import searchengine.utils.sitemaps.SitemapParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SitemapParserTests {
+
+    private static final String URLSET = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <urlset xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+              <url><loc>https://playback.ru/old/</loc><lastmod>2020-01-01</lastmod></url>
+              <url><loc>https://playback.ru/new/</loc><lastmod>2024-05-01T10:00:00+03:00</lastmod></url>
+              <url><loc>https://playback.ru/catalog/</loc><priority>0.9</priority></url>
+            </urlset>
+            """;
+
+    private static final String INDEX = """
+            <sitemapindex xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+              <sitemap><loc>https://playback.ru/sitemap-1.xml.gz</loc></sitemap>
+            </sitemapindex>
+            """;
+
+    @Test
+    public void testGzippedUrlsetIsOrderedByPriorityAndLastmod() throws IOException {
+        SitemapParser sitemap = SitemapParser.parse(gzip(URLSET), 1 << 20, 100);
+        List<SitemapEntry> entries = new ArrayList<>(sitemap.getUrls());
+        entries.sort(SitemapEntry.PRIORITY);
+
+        assertEquals(3, entries.size());
+        assertEquals("https://playback.ru/catalog/", entries.get(0).getLocation());
+        assertEquals("https://playback.ru/new/", entries.get(1).getLocation());
+        assertEquals("https://playback.ru/old/", entries.get(2).getLocation());
+        assertTrue(sitemap.getSitemaps().isEmpty());
+    }
+
+    @Test
+    public void testSitemapIndexIsRead() {
+        SitemapParser sitemap = SitemapParser.parse(INDEX.getBytes(StandardCharsets.UTF_8), 1 << 20, 100);
+
+        assertEquals(List.of("https://playback.ru/sitemap-1.xml.gz"), sitemap.getSitemaps());
+        assertTrue(sitemap.getUrls().isEmpty());
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return out.toByteArray();
+    }
+}
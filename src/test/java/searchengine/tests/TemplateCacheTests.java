@@ -0,0 +1,44 @@
+package searchengine.tests;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+import searchengine.cache.TemplateCache;
+import searchengine.config.BoilerplateSettings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TemplateCacheTests {
+
+    @Test
+    public void testRepeatedBlocksAreRemovedAfterWarmup() {
+        TemplateCache cache = new TemplateCache(new BoilerplateSettings());
+        for (int i = 0; i < 25; i++) cache.extractMainText(1, createPage("Статья номер " + i));
+
+        String text = cache.extractMainText(1, createPage("Уникальный текст о кофейных зёрнах"));
+
+        assertTrue(text.contains("Уникальный текст о кофейных зёрнах"));
+        assertFalse(text.contains("Подписывайтесь на рассылку"));
+        assertFalse(text.contains("Каталог"));
+    }
+
+    @Test
+    public void testSemanticAndLinkHeavyBlocksAreRemovedImmediately() {
+        TemplateCache cache = new TemplateCache(new BoilerplateSettings());
+
+        String text = cache.extractMainText(1, createPage("Первая страница сайта"));
+
+        assertTrue(text.contains("Первая страница сайта"));
+        assertTrue(text.contains("Подписывайтесь на рассылку"));
+        assertFalse(text.contains("Каталог"));
+        assertFalse(text.contains("Все права защищены"));
+    }
+
+    private Document createPage(String article) {
+        return Jsoup.parse("<html><head><title>Магазин</title></head><body>" +
+                "<div class=menu><a href=/catalog>Каталог</a> <a href=/delivery>Доставка</a></div>" +
+                "<article><h1>" + article + "</h1><p>" + article + " и подробности.</p></article>" +
+                "<div class=subscribe>Подписывайтесь на рассылку, скидки каждую неделю</div>" +
+                "<footer>Все права защищены 2024</footer></body></html>");
+    }
+}
@@ -0,0 +1,37 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.utils.urls.UrlCanonicalizer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UrlCanonicalizerTests {
+
+    private final UrlCanonicalizer canonicalizer = new UrlCanonicalizer("https://www.playback.ru");
+
+    @Test
+    public void testHostSchemeAndPortAreNormalized() {
+        assertEquals("/catalog/", canonicalizer.canonicalize("HTTPS://PlayBack.ru:443/catalog"));
+        assertEquals("/catalog/", canonicalizer.canonicalize("http://www.playback.ru/catalog/"));
+        assertEquals("/", canonicalizer.canonicalize("https://playback.ru"));
+        assertNull(canonicalizer.canonicalize("https://playback.ru:8443/catalog/"));
+        assertNull(canonicalizer.canonicalize("https://shop.playback.ru/catalog/"));
+        assertNull(canonicalizer.canonicalize("mailto:info@playback.ru"));
+    }
+
+    @Test
+    public void testPathIsNormalized() {
+        assertEquals("/a/c/", canonicalizer.canonicalize("https://playback.ru/a/./b/../c"));
+        assertEquals("/a/b/", canonicalizer.canonicalize("https://playback.ru//a///b#reviews"));
+        assertEquals("/~user/a%2Fb/", canonicalizer.canonicalize("https://playback.ru/%7euser/a%2fb"));
+        assertEquals("/%D0%BA%D0%B0%D1%82%D0%B0%D0%BB%D0%BE%D0%B3/",
+                canonicalizer.canonicalize("https://playback.ru/каталог"));
+    }
+
+    @Test
+    public void testQueriesAndFilesAreRejected() {
+        assertNull(canonicalizer.canonicalize("https://playback.ru/search?q=phone"));
+        assertNull(canonicalizer.canonicalize("https://playback.ru/img/Photo.JPG"));
+        assertEquals("/news.html/", canonicalizer.canonicalize("https://playback.ru/news.html"));
+    }
+}
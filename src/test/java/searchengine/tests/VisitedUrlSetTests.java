@@ -0,0 +1,81 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import searchengine.cache.MemoryBudget;
+import searchengine.cache.VisitedUrlSet;
+import searchengine.utils.workers.UrlWorker;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VisitedUrlSetTests {
+
+    @Test
+    public void testPageClaimedOnlyOnce() {
+        VisitedUrlSet visited = new VisitedUrlSet(1000, 0.01, new MemoryBudget(1024 * 1024));
+        long fingerprint = UrlWorker.getUrlFingerprint("/catalog/");
+
+        assertTrue(visited.claim(fingerprint));
+        assertFalse(visited.claim(fingerprint));
+        assertTrue(visited.contains(fingerprint));
+        assertEquals(1, visited.getHits());
+        assertEquals(1, visited.getMisses());
+        assertEquals(1, visited.size());
+    }
+
+    @Test
+    public void testConcurrentClaimsOfSamePage() throws InterruptedException {
+        VisitedUrlSet visited = new VisitedUrlSet(1000, 0.01, new MemoryBudget(1024 * 1024));
+        long fingerprint = UrlWorker.getUrlFingerprint("/news/");
+        AtomicInteger claims = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 64; i++) {
+            executor.submit(() -> {
+                if (visited.claim(fingerprint)) claims.incrementAndGet();
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(1, claims.get());
+    }
+
+    @Test
+    public void testConcurrentApproximateClaimsOfSamePage() throws InterruptedException {
+        VisitedUrlSet visited = new VisitedUrlSet(1000, 0.01, new MemoryBudget(1024));
+        AtomicInteger claims = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int page = 0; page < 256; page++) {
+            long fingerprint = UrlWorker.getUrlFingerprint("/news/" + page + "/");
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    if (visited.claim(fingerprint)) claims.incrementAndGet();
+                });
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertTrue(visited.isSaturated());
+        assertTrue(claims.get() <= 256);
+        assertEquals(claims.get(), visited.size());
+    }
+
+    @Test
+    public void testMemoryBudgetIsRespected() {
+        MemoryBudget budget = new MemoryBudget(256 * 1024);
+        VisitedUrlSet visited = new VisitedUrlSet(1000, 0.01, budget);
+
+        for (int i = 0; i < 100_000; i++) visited.claim(UrlWorker.getUrlFingerprint("/page/" + i + "/"));
+
+        assertTrue(visited.isSaturated());
+        assertTrue(budget.getUsedBytes() <= budget.getLimitBytes());
+        assertFalse(visited.claim(UrlWorker.getUrlFingerprint("/page/1/")));
+    }
+}
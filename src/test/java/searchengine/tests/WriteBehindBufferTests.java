@@ -0,0 +1,157 @@
+package searchengine.tests;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import searchengine.cache.LemmaCache;
+import searchengine.config.DictionarySettings;
+import searchengine.config.PipelineSettings;
+import searchengine.config.WriteBehindSettings;
+import searchengine.dto.metrics.WriteBehindMetrics;
+import searchengine.model.Site;
+import searchengine.repositories.SiteRepository;
+import searchengine.utils.parsers.WebsiteParser;
+import searchengine.utils.pipeline.PageTask;
+import searchengine.utils.pipeline.WriteBehindBuffer;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteBehindBufferTests {
+
+    private final List<String> committed = Collections.synchronizedList(new ArrayList<>());
+
+    private final ThreadLocal<List<String>> pendingWrites = new ThreadLocal<>();
+
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    @Test
+    public void testBatchIsWrittenInOneTransaction() throws InterruptedException {
+        RecordingParser parser = new RecordingParser(Set.of());
+        WriteBehindBuffer buffer = createBuffer(3, 60_000);
+
+        for (String path : List.of("/a", "/b", "/c")) buffer.submit(new PageTask(parser, null, path, null));
+        buffer.awaitIdle(parser);
+
+        assertEquals(1, transactions.get());
+        assertEquals(List.of("/a", "/b", "/c"), committed);
+        assertEquals(List.of("/a", "/b", "/c"), parser.completed);
+        assertTrue(parser.abandoned.isEmpty());
+        buffer.shutdown();
+    }
+
+    @Test
+    public void testFailedBatchIsRetriedPageByPage() throws InterruptedException {
+        RecordingParser parser = new RecordingParser(Set.of("/b"));
+        WriteBehindBuffer buffer = createBuffer(3, 60_000);
+
+        for (String path : List.of("/a", "/b", "/c")) buffer.submit(new PageTask(parser, null, path, null));
+        buffer.awaitIdle(parser);
+
+        WriteBehindMetrics metrics = buffer.getMetrics();
+        assertEquals(4, transactions.get());
+        assertEquals(List.of("/a", "/c"), committed);
+        assertEquals(List.of("/a", "/c"), parser.completed);
+        assertEquals(List.of("/b"), parser.abandoned);
+        assertEquals(1, parser.failures.get());
+        assertEquals(1, metrics.getRollbacks());
+        assertEquals(1, metrics.getFailedPages());
+        buffer.shutdown();
+    }
+
+    @Test
+    public void testShutdownDrainsQueuedPages() throws InterruptedException {
+        RecordingParser parser = new RecordingParser(Set.of());
+        WriteBehindBuffer buffer = createBuffer(100, 60_000);
+
+        for (String path : List.of("/a", "/b", "/c", "/d")) buffer.submit(new PageTask(parser, null, path, null));
+        buffer.shutdown();
+
+        assertEquals(List.of("/a", "/b", "/c", "/d"), committed);
+        assertEquals(List.of("/a", "/b", "/c", "/d"), parser.completed);
+        assertFalse(buffer.isEnabled());
+    }
+
+    private WriteBehindBuffer createBuffer(int batchSize, long flushInterval) {
+        WriteBehindSettings settings = new WriteBehindSettings();
+        settings.setWriters(1);
+        settings.setBatchSize(batchSize);
+        settings.setFlushInterval(flushInterval);
+        settings.setShutdownTimeout(5_000);
+        LemmaCache lemmaCache = new LemmaCache(null, new DictionarySettings(), new PipelineSettings());
+
+        return new WriteBehindBuffer(settings, new RecordingTransactionTemplate(), createSiteRepository(), lemmaCache);
+    }
+
+    private SiteRepository createSiteRepository() {
+        return (SiteRepository) Proxy.newProxyInstance(SiteRepository.class.getClassLoader(),
+                new Class<?>[]{SiteRepository.class}, (proxy, method, args) -> null);
+    }
+
+    private static Site createSite() {
+        Site site = new Site();
+        site.setId(1);
+        site.setUrl("https://example.com");
+
+        return site;
+    }
+
+    private class RecordingTransactionTemplate extends TransactionTemplate {
+
+        @Override
+        public void executeWithoutResult(Consumer<TransactionStatus> action) {
+            transactions.incrementAndGet();
+            pendingWrites.set(new ArrayList<>());
+            try {
+                action.accept(null);
+                committed.addAll(pendingWrites.get());
+            } finally {
+                pendingWrites.remove();
+            }
+        }
+    }
+
+    private class RecordingParser extends WebsiteParser {
+
+        private final Set<String> failingPaths;
+
+        private final List<String> completed = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<String> abandoned = Collections.synchronizedList(new ArrayList<>());
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private RecordingParser(Set<String> failingPaths) {
+            super(null, createSite(), "/");
+            this.failingPaths = failingPaths;
+        }
+
+        @Override
+        public void write(PageTask task) {
+            if (failingPaths.contains(task.getPath())) throw new IllegalStateException("Failed to write " + task.getPath());
+            pendingWrites.get().add(task.getPath());
+        }
+
+        @Override
+        public void complete(PageTask task) {
+            completed.add(task.getPath());
+        }
+
+        @Override
+        public void abandon(PageTask task) {
+            abandoned.add(task.getPath());
+        }
+
+        @Override
+        public void fail(PageTask task, Exception e) {
+            failures.incrementAndGet();
+        }
+    }
+}